@@ -0,0 +1,146 @@
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.imageio.ImageIO;
+
+/**
+ * Shared image cache for the games.
+ *
+ * Images are decoded on a background thread and stored already scaled to the size they are
+ * drawn at, in the screen's native pixel format, so painting them is a straight copy. The
+ * cache is least-recently-used and bounded by pixel memory rather than entry count.
+ *
+ * getImage never blocks: if an image is not ready yet it returns null and starts loading it,
+ * so callers draw a placeholder for the first frame or two.
+ */
+public final class AssetManager {
+    private static final long MAX_BYTES = 16L << 20;
+
+    private static final Map<String, BufferedImage> CACHE = new LinkedHashMap<>(16, 0.75f, true);
+    private static final Set<String> PENDING = new HashSet<>();
+    private static final Set<String> MISSING = new HashSet<>();
+    private static long cachedBytes;
+
+    private static final ExecutorService LOADER = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "asset-loader");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    private AssetManager() {
+    }
+
+    /**
+     * Start loading an image at the given draw size in the background.
+     */
+    public static void preload(String name, int width, int height) {
+        String key = key(name, width, height);
+        synchronized (AssetManager.class) {
+            if (CACHE.containsKey(key) || MISSING.contains(key) || !PENDING.add(key)) return;
+        }
+        LOADER.execute(() -> load(name, width, height, key));
+    }
+
+    /**
+     * The image scaled to width x height, or null while it is still loading or if it does not exist.
+     */
+    public static BufferedImage getImage(String name, int width, int height) {
+        String key = key(name, width, height);
+        synchronized (AssetManager.class) {
+            BufferedImage image = CACHE.get(key);
+            if (image != null || MISSING.contains(key)) return image;
+        }
+        preload(name, width, height);
+        return null;
+    }
+
+    private static String key(String name, int width, int height) {
+        return name + '@' + width + 'x' + height;
+    }
+
+    private static void load(String name, int width, int height, String key) {
+        BufferedImage image = null;
+        try {
+            BufferedImage source = read(name);
+            if (source != null) {
+                image = scaleToCompatible(source, width, height);
+            } else {
+                System.err.println("Could not find image " + name);
+            }
+        } catch (IOException e) {
+            System.err.println("Error loading image " + name + ": " + e.getMessage());
+        }
+
+        synchronized (AssetManager.class) {
+            PENDING.remove(key);
+            if (image == null) {
+                MISSING.add(key);
+                return;
+            }
+            CACHE.put(key, image);
+            cachedBytes += bytes(image);
+            evict();
+        }
+    }
+
+    /**
+     * Read from the classpath first, then the working directory
+     */
+    private static BufferedImage read(String name) throws IOException {
+        URL resource = AssetManager.class.getResource("/" + name);
+        if (resource != null) {
+            return ImageIO.read(resource);
+        }
+        File file = new File(name);
+        if (file.exists()) {
+            return ImageIO.read(file);
+        }
+        return null;
+    }
+
+    private static BufferedImage scaleToCompatible(BufferedImage source, int width, int height) {
+        BufferedImage target;
+        if (GraphicsEnvironment.isHeadless()) {
+            target = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        } else {
+            GraphicsConfiguration config = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDefaultConfiguration();
+            target = config.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        }
+        Graphics2D g = target.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.drawImage(source, 0, 0, width, height, null);
+        g.dispose();
+        return target;
+    }
+
+    private static long bytes(BufferedImage image) {
+        return (long) image.getWidth() * image.getHeight() * 4;
+    }
+
+    /**
+     * Drop least recently used images until the cache fits, always keeping the newest one
+     */
+    private static void evict() {
+        Iterator<BufferedImage> it = CACHE.values().iterator();
+        while (cachedBytes > MAX_BYTES && CACHE.size() > 1) {
+            cachedBytes -= bytes(it.next());
+            it.remove();
+        }
+    }
+}
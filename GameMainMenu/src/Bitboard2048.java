@@ -0,0 +1,164 @@
+import java.util.SplittableRandom;
+
+/**
+ * Headless 4x4 2048 rules on a packed board.
+ *
+ * The board is a single long holding sixteen 4-bit exponents (0 = empty, 1 = 2, 2 = 4, ...).
+ * Cell (row, col) lives in nibble row * 4 + col, counted from the least significant bit.
+ * Row moves go through precomputed lookup tables, so a move never allocates.
+ * The merge rules are the ones Game2048_GUI plays by: tiles slide towards the
+ * move direction and each tile merges at most once per move.
+ */
+public final class Bitboard2048 {
+    public static final int LEFT = 0;
+    public static final int RIGHT = 1;
+    public static final int UP = 2;
+    public static final int DOWN = 3;
+
+    /** Highest exponent a nibble can hold (2^15 = 32768). */
+    public static final int MAX_EXPONENT = 15;
+
+    private static final char[] ROW_LEFT = new char[65536];
+    private static final char[] ROW_RIGHT = new char[65536];
+    private static final int[] ROW_SCORE = new int[65536];
+
+    static {
+        int[] cells = new int[4];
+        for (int row = 0; row < 65536; row++) {
+            for (int i = 0; i < 4; i++) {
+                cells[i] = (row >>> (4 * i)) & 0xF;
+            }
+
+            int[] merged = new int[4];
+            int count = 0;
+            int score = 0;
+            int previous = 0;
+            for (int i = 0; i < 4; i++) {
+                int value = cells[i];
+                if (value == 0) continue;
+                if (previous != 0 && previous == value && value < MAX_EXPONENT) {
+                    merged[count - 1] = value + 1;
+                    score += 1 << (value + 1);
+                    previous = 0;
+                } else {
+                    merged[count++] = value;
+                    previous = value;
+                }
+            }
+
+            int left = 0;
+            for (int i = 0; i < 4; i++) {
+                left |= merged[i] << (4 * i);
+            }
+            ROW_LEFT[row] = (char) left;
+            ROW_SCORE[row] = score;
+            ROW_RIGHT[reverseRow(row)] = (char) reverseRow(left);
+        }
+    }
+
+    private Bitboard2048() {
+    }
+
+    private static int reverseRow(int row) {
+        return ((row & 0xF) << 12) | ((row & 0xF0) << 4) | ((row >>> 4) & 0xF0) | ((row >>> 12) & 0xF);
+    }
+
+    /**
+     * Swap rows and columns of the packed board.
+     */
+    public static long transpose(long board) {
+        long a1 = board & 0xF0F00F0FF0F00F0FL;
+        long a2 = board & 0x0000F0F00000F0F0L;
+        long a3 = board & 0x0F0F00000F0F0000L;
+        long a = a1 | (a2 << 12) | (a3 >>> 12);
+        long b1 = a & 0xFF00FF0000FF00FFL;
+        long b2 = a & 0x00FF00FF00000000L;
+        long b3 = a & 0x00000000FF00FF00L;
+        return b1 | (b2 >>> 24) | (b3 << 24);
+    }
+
+    /**
+     * Apply a move and return the new board (unchanged board means the move is illegal).
+     */
+    public static long move(long board, int direction) {
+        switch (direction) {
+            case LEFT: return moveRows(board, ROW_LEFT);
+            case RIGHT: return moveRows(board, ROW_RIGHT);
+            case UP: return transpose(moveRows(transpose(board), ROW_LEFT));
+            case DOWN: return transpose(moveRows(transpose(board), ROW_RIGHT));
+            default: return board;
+        }
+    }
+
+    private static long moveRows(long board, char[] table) {
+        long result = 0;
+        for (int r = 0; r < 4; r++) {
+            int row = (int) ((board >>> (16 * r)) & 0xFFFF);
+            result |= (long) table[row] << (16 * r);
+        }
+        return result;
+    }
+
+    /**
+     * Points scored by a move, as Game2048_GUI adds merged tile values to the score.
+     */
+    public static int moveScore(long board, int direction) {
+        long rows = (direction == UP || direction == DOWN) ? transpose(board) : board;
+        int score = 0;
+        for (int r = 0; r < 4; r++) {
+            int row = (int) ((rows >>> (16 * r)) & 0xFFFF);
+            // Merges in a row score the same whichever way the row slides
+            score += ROW_SCORE[direction == RIGHT || direction == DOWN ? reverseRow(row) : row];
+        }
+        return score;
+    }
+
+    public static int get(long board, int row, int col) {
+        return (int) ((board >>> (4 * (row * 4 + col))) & 0xF);
+    }
+
+    public static long set(long board, int row, int col, int exponent) {
+        int shift = 4 * (row * 4 + col);
+        return (board & ~(0xFL << shift)) | ((long) exponent << shift);
+    }
+
+    public static int countEmpty(long board) {
+        int empty = 0;
+        for (int i = 0; i < 16; i++) {
+            if (((board >>> (4 * i)) & 0xF) == 0) empty++;
+        }
+        return empty;
+    }
+
+    public static int maxExponent(long board) {
+        int max = 0;
+        for (int i = 0; i < 16; i++) {
+            max = Math.max(max, (int) ((board >>> (4 * i)) & 0xF));
+        }
+        return max;
+    }
+
+    /**
+     * Place a 2 (or a 4 with the given percentage) on a random empty cell, like addRandomTile.
+     */
+    public static long addRandomTile(long board, SplittableRandom random, int fourPercent) {
+        int empty = countEmpty(board);
+        if (empty == 0) return board;
+
+        int target = random.nextInt(empty);
+        int exponent = random.nextInt(100) < fourPercent ? 2 : 1;
+        for (int i = 0; i < 16; i++) {
+            if (((board >>> (4 * i)) & 0xF) == 0 && target-- == 0) {
+                return board | ((long) exponent << (4 * i));
+            }
+        }
+        return board;
+    }
+
+    public static boolean canMove(long board) {
+        for (int direction = 0; direction < 4; direction++) {
+            if (move(board, direction) != board) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,264 @@
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * 2048 board of any size from 3x3 to 8x8, stored as tile exponents (0 = empty, 1 = 2, 2 = 4, ...).
+ *
+ * The classic 4x4 board is packed into one long and moved with the Bitboard2048 row tables.
+ * Other sizes keep one byte per cell and slide each line in place. Neither path allocates
+ * during a move.
+ */
+public class Board2048 {
+    public static final int MIN_SIZE = 3;
+    public static final int MAX_SIZE = 8;
+    public static final int DEFAULT_SIZE = 4;
+
+    public static final int LEFT = Bitboard2048.LEFT;
+    public static final int RIGHT = Bitboard2048.RIGHT;
+    public static final int UP = Bitboard2048.UP;
+    public static final int DOWN = Bitboard2048.DOWN;
+
+    private static final int WIN_EXPONENT = 11; // 2048
+
+    private final int size;
+    private final boolean packed;
+    private long bits;          // size == 4
+    private final byte[] cells; // every other size, row-major
+    private int score;
+    private boolean won;
+
+    public Board2048(int size) {
+        if (size < MIN_SIZE || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Board size must be between " + MIN_SIZE + " and " + MAX_SIZE + ": " + size);
+        }
+        this.size = size;
+        this.packed = size == 4;
+        this.cells = packed ? null : new byte[size * size];
+    }
+
+    public int getSize() { return size; }
+    public int getScore() { return score; }
+    public boolean hasWon() { return won; }
+
+    /** For restoring a saved game; tiles are restored with setExponent. */
+    public void setScore(int score) { this.score = score; }
+
+    public void clear() {
+        bits = 0;
+        if (cells != null) Arrays.fill(cells, (byte) 0);
+        score = 0;
+        won = false;
+    }
+
+    public int getExponent(int row, int col) {
+        return packed ? Bitboard2048.get(bits, row, col) : cells[row * size + col];
+    }
+
+    /**
+     * Tile value at a cell as shown to the player, 0 for an empty cell.
+     */
+    public int getValue(int row, int col) {
+        int exponent = getExponent(row, col);
+        return exponent == 0 ? 0 : 1 << exponent;
+    }
+
+    public void setExponent(int row, int col, int exponent) {
+        if (packed) {
+            bits = Bitboard2048.set(bits, row, col, exponent);
+        } else {
+            cells[row * size + col] = (byte) exponent;
+        }
+    }
+
+    /**
+     * Slide every line towards the given direction, merging equal neighbours once.
+     * Returns false (and leaves the board untouched) when nothing can move that way.
+     */
+    public boolean move(int direction) {
+        if (packed) {
+            long next = Bitboard2048.move(bits, direction);
+            if (next == bits) return false;
+            score += Bitboard2048.moveScore(bits, direction);
+            bits = next;
+            if (Bitboard2048.maxExponent(bits) >= WIN_EXPONENT) won = true;
+            return true;
+        }
+
+        boolean changed = false;
+        for (int line = 0; line < size; line++) {
+            switch (direction) {
+                case LEFT: changed |= slideLine(line * size, 1); break;
+                case RIGHT: changed |= slideLine(line * size + size - 1, -1); break;
+                case UP: changed |= slideLine(line, size); break;
+                case DOWN: changed |= slideLine((size - 1) * size + line, -size); break;
+                default: return false;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Like move, and also record in moves where each tile went; moves is left empty when
+     * nothing can move that way.
+     */
+    public boolean move(int direction, TileMoves moves) {
+        moves.clear();
+        for (int line = 0; line < size; line++) {
+            switch (direction) {
+                case LEFT: recordLine(moves, line * size, 1); break;
+                case RIGHT: recordLine(moves, line * size + size - 1, -1); break;
+                case UP: recordLine(moves, line, size); break;
+                case DOWN: recordLine(moves, (size - 1) * size + line, -size); break;
+                default: return false;
+            }
+        }
+        boolean changed = move(direction);
+        if (!changed) moves.clear();
+        return changed;
+    }
+
+    /** slideLine's walk over one line, noting each tile's destination instead of moving it */
+    private void recordLine(TileMoves moves, int start, int step) {
+        int write = start;
+        int last = 0;
+        for (int i = 0, index = start; i < size; i++, index += step) {
+            int value = getExponent(index / size, index % size);
+            if (value == 0) continue;
+            if (value == last) {
+                moves.add(index, write - step, value);
+                moves.merged[write - step] = true;
+                last = 0;
+            } else {
+                moves.add(index, write, value);
+                last = value;
+                write += step;
+            }
+        }
+    }
+
+    private boolean slideLine(int start, int step) {
+        boolean changed = false;
+        int write = start;
+        int last = 0; // exponent of the last placed tile if it can still merge
+        for (int i = 0, index = start; i < size; i++, index += step) {
+            int value = cells[index];
+            if (value == 0) continue;
+            cells[index] = 0;
+            if (value == last) {
+                int merged = value + 1;
+                cells[write - step] = (byte) merged;
+                score += 1 << merged;
+                if (merged >= WIN_EXPONENT) won = true;
+                last = 0;
+                changed = true;
+            } else {
+                cells[write] = (byte) value;
+                if (write != index) changed = true;
+                last = value;
+                write += step;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Longs needed to store the board with save: the packed board itself on 4x4, otherwise
+     * one byte per cell, plus one long for score and the won flag.
+     */
+    public int stateWords() {
+        return packed ? 2 : (size * size + 7) / 8 + 1;
+    }
+
+    /**
+     * Write the whole board state into words[offset .. offset + stateWords()).
+     */
+    public void save(long[] words, int offset) {
+        if (packed) {
+            words[offset++] = bits;
+        } else {
+            for (int i = 0; i < cells.length; i += 8) {
+                long word = 0;
+                for (int j = 0; j < 8 && i + j < cells.length; j++) {
+                    word |= (long) (cells[i + j] & 0xFF) << (j * 8);
+                }
+                words[offset++] = word;
+            }
+        }
+        words[offset] = (score & 0xFFFFFFFFL) | (won ? 1L << 32 : 0);
+    }
+
+    /**
+     * Restore a state written by save.
+     */
+    public void restore(long[] words, int offset) {
+        if (packed) {
+            bits = words[offset++];
+        } else {
+            for (int i = 0; i < cells.length; i += 8) {
+                long word = words[offset++];
+                for (int j = 0; j < 8 && i + j < cells.length; j++) {
+                    cells[i + j] = (byte) (word >>> (j * 8));
+                }
+            }
+        }
+        score = (int) words[offset];
+        won = (words[offset] & (1L << 32)) != 0;
+    }
+
+    public int getMaxExponent() {
+        if (packed) return Bitboard2048.maxExponent(bits);
+        int max = 0;
+        for (byte cell : cells) {
+            max = Math.max(max, cell);
+        }
+        return max;
+    }
+
+    public int countEmpty() {
+        if (packed) return Bitboard2048.countEmpty(bits);
+        int empty = 0;
+        for (byte cell : cells) {
+            if (cell == 0) empty++;
+        }
+        return empty;
+    }
+
+    public boolean isFull() {
+        return countEmpty() == 0;
+    }
+
+    /**
+     * Place a 2 (or a 4 one time in ten) on a random empty cell.
+     *
+     * @return the cell, row * size + col, or -1 if the board is full
+     */
+    public int addRandomTile(Random rand) {
+        int empty = countEmpty();
+        if (empty == 0) return -1;
+
+        int target = rand.nextInt(empty);
+        int exponent = (rand.nextInt(10) == 0) ? 2 : 1;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (getExponent(row, col) == 0 && target-- == 0) {
+                    setExponent(row, col, exponent);
+                    return row * size + col;
+                }
+            }
+        }
+        return -1;
+    }
+
+    public boolean canMove() {
+        if (packed) return Bitboard2048.canMove(bits);
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int value = cells[row * size + col];
+                if (value == 0) return true;
+                if (col < size - 1 && value == cells[row * size + col + 1]) return true;
+                if (row < size - 1 && value == cells[(row + 1) * size + col]) return true;
+            }
+        }
+        return false;
+    }
+}
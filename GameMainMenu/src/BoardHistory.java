@@ -0,0 +1,74 @@
+/**
+ * Undo/redo history of a Board2048, one fixed-size record per position in a growable long[].
+ *
+ * A record is Board2048.stateWords() longs: 16 bytes on the classic 4x4 board (the packed
+ * board and the score), so 100,000 moves take about 1.6 MB. Undo and redo move a cursor and
+ * restore one record; recording after an undo drops the redo branch.
+ */
+public class BoardHistory {
+    private final Board2048 board;
+    private final int stride;
+    private long[] records;
+    private int current = -1; // Record matching the board
+    private int count;
+
+    public BoardHistory(Board2048 board) {
+        this.board = board;
+        this.stride = board.stateWords();
+        this.records = new long[stride * 64];
+    }
+
+    /**
+     * Forget everything and start from the board's current position.
+     */
+    public void reset() {
+        current = -1;
+        count = 0;
+        record();
+    }
+
+    /**
+     * Add the board's current position after the current record.
+     */
+    public void record() {
+        current++;
+        count = current + 1;
+        if (count * stride > records.length) {
+            long[] grown = new long[records.length * 2];
+            System.arraycopy(records, 0, grown, 0, current * stride);
+            records = grown;
+        }
+        board.save(records, current * stride);
+    }
+
+    public boolean canUndo() {
+        return current > 0;
+    }
+
+    public boolean canRedo() {
+        return current < count - 1;
+    }
+
+    public boolean undo() {
+        if (!canUndo()) return false;
+        current--;
+        board.restore(records, current * stride);
+        return true;
+    }
+
+    public boolean redo() {
+        if (!canRedo()) return false;
+        current++;
+        board.restore(records, current * stride);
+        return true;
+    }
+
+    /** Moves that can be undone */
+    public int size() {
+        return current;
+    }
+
+    public long memoryBytes() {
+        return records.length * 8L;
+    }
+}
@@ -0,0 +1,173 @@
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32;
+
+/**
+ * Save slot for an in-progress game, kept in a small preallocated memory-mapped file.
+ *
+ * The file holds two copies (A and B), each with a generation number and a CRC. A save goes
+ * to the older copy, so a crash mid-write still leaves the previous checkpoint intact, and
+ * loading picks the newest copy that checks out.
+ *
+ * save only hands the encoded state to a background writer and returns; if the writer is
+ * behind, older pending states are skipped. Call flush when the window closes so the last
+ * state is on disk before the process exits.
+ */
+public final class Checkpoint {
+    public static final int MAX_STATE_BYTES = 16 * 1024;
+
+    private static final int MAGIC = 0x434B5054; // "CKPT"
+    private static final int HEADER_BYTES = 4 + 8 + 4 + 4; // magic, generation, length, crc
+    private static final int COPY_BYTES = HEADER_BYTES + MAX_STATE_BYTES;
+    private static final byte[] EMPTY = new byte[0];
+
+    private static final ConcurrentMap<String, Checkpoint> GAMES = new ConcurrentHashMap<>();
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "checkpoint-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String fileName;
+    private final AtomicReference<byte[]> pending = new AtomicReference<>();
+    private MappedByteBuffer map;
+
+    private Checkpoint(String fileName) {
+        this.fileName = fileName;
+    }
+
+    /**
+     * The slot for the given game, stored in checkpoint_&lt;game&gt;.dat in the working directory.
+     */
+    public static Checkpoint forGame(String gameName) {
+        return GAMES.computeIfAbsent(gameName,
+            name -> new Checkpoint("checkpoint_" + name.replaceAll("[^A-Za-z0-9]", "_") + ".dat"));
+    }
+
+    private synchronized MappedByteBuffer map() throws IOException {
+        if (map == null) {
+            try (RandomAccessFile file = new RandomAccessFile(fileName, "rw");
+                 FileChannel channel = file.getChannel()) {
+                map = channel.map(FileChannel.MapMode.READ_WRITE, 0, 2L * COPY_BYTES);
+            }
+        }
+        return map;
+    }
+
+    /** Generation of a copy, or -1 if it doesn't hold a valid checkpoint */
+    private long generation(int copy) {
+        int base = copy * COPY_BYTES;
+        if (map.getInt(base) != MAGIC) return -1;
+        int length = map.getInt(base + 12);
+        if (length < 0 || length > MAX_STATE_BYTES) return -1;
+        CRC32 crc = new CRC32();
+        ByteBuffer state = map.duplicate();
+        state.limit(base + HEADER_BYTES + length).position(base + HEADER_BYTES);
+        crc.update(state);
+        if ((int) crc.getValue() != map.getInt(base + 16)) return -1;
+        return map.getLong(base + 4);
+    }
+
+    /**
+     * The last saved state, or null if there is none (or the game ended since).
+     */
+    public synchronized ByteBuffer load() {
+        try {
+            if (map == null && !new File(fileName).exists()) return null;
+            map();
+            long a = generation(0);
+            long b = generation(1);
+            if (a < 0 && b < 0) return null;
+            int base = a >= b ? 0 : COPY_BYTES;
+            int length = map.getInt(base + 12);
+            if (length == 0) return null;
+            ByteBuffer state = ByteBuffer.allocate(length);
+            ByteBuffer source = map.duplicate();
+            source.limit(base + HEADER_BYTES + length).position(base + HEADER_BYTES);
+            state.put(source).flip();
+            return state;
+        } catch (IOException e) {
+            System.err.println("Could not read checkpoint " + fileName + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    public boolean exists() {
+        return load() != null;
+    }
+
+    /**
+     * Queue a state to be written. Never blocks on disk.
+     */
+    public void save(byte[] state) {
+        if (state.length > MAX_STATE_BYTES) {
+            System.err.println("Checkpoint too large for " + fileName + ": " + state.length + " bytes");
+            return;
+        }
+        if (pending.getAndSet(state) == null) {
+            WRITER.execute(this::writePending);
+        }
+    }
+
+    /**
+     * Forget the saved state, e.g. when the game is over.
+     */
+    public void clear() {
+        save(EMPTY);
+    }
+
+    /**
+     * Wait until everything saved so far has been written.
+     */
+    public void flush() {
+        try {
+            WRITER.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("Checkpoint writer failed: " + e.getCause());
+        }
+    }
+
+    private void writePending() {
+        byte[] state = pending.getAndSet(null);
+        if (state == null) return;
+        try {
+            write(state);
+        } catch (IOException e) {
+            System.err.println("Could not write checkpoint " + fileName + ": " + e.getMessage());
+        }
+    }
+
+    private synchronized void write(byte[] state) throws IOException {
+        map();
+        // Overwrite the copy that isn't the newest valid one; read from the file each time
+        // because another process (a standalone game next to the menu) may have written since
+        long a = generation(0);
+        long b = generation(1);
+        int copy = a >= b ? 1 : 0;
+        int base = copy * COPY_BYTES;
+        CRC32 crc = new CRC32();
+        crc.update(state, 0, state.length);
+
+        // Invalidate first so a half-written copy never passes as valid
+        map.putInt(base, 0);
+        map.putLong(base + 4, Math.max(a, b) + 1);
+        map.putInt(base + 12, state.length);
+        map.putInt(base + 16, (int) crc.getValue());
+        ByteBuffer target = map.duplicate();
+        target.position(base + HEADER_BYTES);
+        target.put(state);
+        map.putInt(base, MAGIC);
+    }
+}
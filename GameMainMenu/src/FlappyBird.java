@@ -1,11 +1,8 @@
 import java.awt.*;
 import java.awt.event.*;
-import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.ByteBuffer;
 import java.util.Random;
-import javax.imageio.ImageIO;
 import javax.swing.*;
 
 /**
@@ -13,210 +10,244 @@ import javax.swing.*;
  */
 public class FlappyBird extends JPanel implements ActionListener, MouseListener {
 
-    // --- 1. Game Constants ---
-    private static final int SCREEN_WIDTH = 800;
-    private static final int SCREEN_HEIGHT = 600;
+    // --- 1. Game Constants (the rules' own constants are in FlappySimulation) ---
+    static final int SCREEN_WIDTH = FlappySimulation.SCREEN_WIDTH;
+    static final int SCREEN_HEIGHT = FlappySimulation.SCREEN_HEIGHT;
 
     // These constants will define the hitbox and the drawn size
-    private static final int BIRD_WIDTH = 34;
-    private static final int BIRD_HEIGHT = 24;
-    private static final int BIRD_START_X = SCREEN_WIDTH / 3;
-    private static final int BIRD_START_Y = SCREEN_HEIGHT / 2;
+    static final int BIRD_WIDTH = FlappySimulation.BIRD_WIDTH;
+    static final int BIRD_HEIGHT = FlappySimulation.BIRD_HEIGHT;
+    static final String BIRD_IMAGE = "image_83f9c7.png";
 
-    private static final int PIPE_WIDTH = 100;
-    private static final int PIPE_GAP = 200; // Vertical gap between pipes
-    private static final int PIPE_SPEED = 4; // Horizontal speed of pipes
-    private static final int PIPE_SPAWN_FREQUENCY = 90; // Spawn new pipe every 90 ticks
+    static final int PIPE_WIDTH = FlappySimulation.PIPE_WIDTH;
 
-    private static final int GRAVITY = 1;
-    private static final int JUMP_STRENGTH = -15; // Negative Y value is "up"
+    private static final int TICK_DELAY = 16; // 16ms delay = ~60 FPS
+    private static final int CHECKPOINT_TICKS = 60; // Save about once a second
 
     // --- 2. Game State Variables ---
-    private Rectangle bird;
-    private int birdVelocityY;
-
-    private List<Rectangle> topPipes;
-    private List<Rectangle> bottomPipes;
+    // Bird, pipes and score; this panel adds the timer, clicks, drawing and checkpoints
+    private final FlappySimulation game;
 
     private Timer gameLoop;
     private boolean gameStarted;
-    private boolean gameOver;
-    private int score;
-    private int ticks; // Used for pipe spawn timing
 
     private Random random;
 
-    // *** NEW: Variable to hold the bird image ***
+    // Bird image from AssetManager, pre-scaled to BIRD_WIDTH x BIRD_HEIGHT; null until loaded
     private Image birdImage;
 
+    private final GameMetrics metrics = GameMetrics.forGame("Flappy Bird");
+    private long lastTickStart;
+    private final PerfOverlay overlay = new PerfOverlay();
+    private final Renderer renderer = new Renderer();
+    private SpectatorPublisher spectators;
+    private final Checkpoint checkpoint = Checkpoint.forGame("Flappy Bird");
+    private int telemetryRun;
+    private int distance; // pixels flown this run, for telemetry
+
     /**
      * Constructor: Sets up the game panel and initializes game state.
      */
     public FlappyBird() {
+        this(false);
+    }
+
+    /**
+     * @param turbo speed the pipes up over time instead of keeping PIPE_SPEED
+     */
+    public FlappyBird(boolean turbo) {
+        game = new FlappySimulation(turbo);
         setPreferredSize(new Dimension(SCREEN_WIDTH, SCREEN_HEIGHT));
         setBackground(Color.CYAN); // Sky blue
         setFocusable(true);
         addMouseListener(this);
+        overlay.installToggle(this, this);
 
         random = new Random();
-        gameLoop = new Timer(16, this); // 16ms delay = ~60 FPS
+        gameLoop = new Timer(TICK_DELAY, this);
+
+        // Usually already decoded in the background by the menu; otherwise this starts loading it
+        birdImage = AssetManager.getImage(BIRD_IMAGE, BIRD_WIDTH, BIRD_HEIGHT);
 
-        // *** SIMPLIFIED: Load the bird image from parent directory ***
-        birdImage = loadBirdImage();
+        // Let SpectatorViewer windows watch this run; only one game at a time can have the port
+        try {
+            spectators = SpectatorPublisher.open(SpectatorPublisher.DEFAULT_PORT);
+        } catch (IOException e) {
+            System.err.println("Spectating disabled: " + e.getMessage());
+        }
 
         // Initialize game state
         resetGame();
     }
 
     /**
-     * Try to load the bird image from the parent directory
+     * The run saved by the last unfinished Flappy Bird window, or null if there is none.
+     * It resumes paused on the "Click to Start" screen.
      */
-    private Image loadBirdImage() {
-        try {
-            // Since FlappyBird.java is in GameMainMenu/src/, go up one level to find the image
-            File imageFile = new File("image_83f9c7.png");
-            if (imageFile.exists()) {
-                System.out.println("Found bird image at: " + imageFile.getAbsolutePath());
-                return ImageIO.read(imageFile);
-            }
-            
-            // Also try current directory in case image is copied there
-            imageFile = new File("image_83f9c7.png");
-            if (imageFile.exists()) {
-                System.out.println("Found bird image in current directory");
-                return ImageIO.read(imageFile);
-            }
-            
-        } catch (IOException e) {
-            System.err.println("Error loading bird image: " + e.getMessage());
+    public static FlappyBird resume() {
+        Checkpoint checkpoint = Checkpoint.forGame("Flappy Bird");
+        ByteBuffer saved = checkpoint.load();
+        if (saved == null) return null;
+        if (!isValid(saved.duplicate())) {
+            // Written by another build, say; the CRC only catches torn writes
+            System.err.println("Discarding an unreadable Flappy Bird checkpoint");
+            checkpoint.clear();
+            return null;
         }
+        FlappyBird game = new FlappyBird(saved.get() != 0);
+        game.restore(saved);
+        return game;
+    }
 
-        System.err.println("Could not load bird image. Using fallback yellow rectangle.");
-        return null;
+    public boolean isTurbo() {
+        return game.turbo;
     }
 
     /**
-     * Resets the game to its initial state.
+     * Checkpoint layout: turbo, score, ticks, pipeSpeed, distanceSinceSpawn, nextPipe,
+     * bird y and velocity, then x, top height, bottom y and scored flag per pipe pair
      */
-    private void resetGame() {
-        // Place bird in starting position
-        bird = new Rectangle(BIRD_START_X, BIRD_START_Y, BIRD_WIDTH, BIRD_HEIGHT);
-        birdVelocityY = 0;
-
-        // Clear all pipes
-        topPipes = new ArrayList<>();
-        bottomPipes = new ArrayList<>();
-
-        // Reset game flags and score
-        gameStarted = false;
-        gameOver = false;
-        score = 0;
-        ticks = 0;
-
-        gameLoop.start();
+    private void saveCheckpoint() {
+        int pipes = game.topPipes.size();
+        ByteBuffer state = ByteBuffer.allocate(1 + 4 + 4 + 2 + 2 + 1 + 2 + 2 + 1 + pipes * 7);
+        state.put((byte) (game.turbo ? 1 : 0));
+        state.putInt(game.score);
+        state.putInt(game.ticks);
+        state.putShort((short) game.pipeSpeed);
+        state.putShort((short) game.distanceSinceSpawn);
+        state.put((byte) game.nextPipe);
+        state.putShort((short) game.bird.y);
+        state.putShort((short) game.birdVelocityY);
+        state.put((byte) pipes);
+        for (int i = 0; i < pipes; i++) {
+            Rectangle top = game.topPipes.get(i);
+            state.putShort((short) top.x);
+            state.putShort((short) top.height);
+            state.putShort((short) game.bottomPipes.get(i).y);
+            state.put((byte) (top.width == 0 ? 1 : 0));
+        }
+        checkpoint.save(state.array());
     }
 
     /**
-     * The main game loop, triggered by the Timer.
-     * This method calls the update function and repaints the screen.
+     * Whether a checkpoint decodes to a run restore can take: counts, speeds and pipes in range
      */
-    @Override
-    public void actionPerformed(ActionEvent e) {
-        if (gameStarted && !gameOver) {
-            updateGame();
+    private static boolean isValid(ByteBuffer saved) {
+        if (saved.remaining() < 1 + 4 + 4 + 2 + 2 + 1 + 2 + 2 + 1) return false;
+        int turbo = saved.get();
+        int score = saved.getInt();
+        int ticks = saved.getInt();
+        int pipeSpeed = saved.getShort();
+        int distanceSinceSpawn = saved.getShort();
+        int nextPipe = saved.get();
+        int birdY = saved.getShort();
+        saved.getShort(); // vertical speed; any value falls back to the ground or sky
+        int pipes = saved.get();
+        if ((turbo & ~1) != 0 || score < 0 || ticks < 0 || pipeSpeed <= 0 || distanceSinceSpawn < 0) return false;
+        if (birdY < -SCREEN_HEIGHT || birdY > SCREEN_HEIGHT || pipes < 0 || nextPipe < 0 || nextPipe > pipes) return false;
+        if (saved.remaining() != pipes * 7) return false;
+        for (int i = 0; i < pipes; i++) {
+            saved.getShort(); // x; off-screen pipes are dropped by the next update
+            int topHeight = saved.getShort();
+            int bottomY = saved.getShort();
+            int scored = saved.get();
+            if (topHeight < 0 || bottomY < topHeight || bottomY > SCREEN_HEIGHT || (scored & ~1) != 0) return false;
         }
-
-        // Repaint always runs to show start/end screens
-        repaint();
+        return true;
     }
 
     /**
-     * Updates the game state (bird position, pipes, collisions).
+     * Load a checkpoint (after its turbo byte) into a freshly reset game
      */
-    private void updateGame() {
-        // --- 1. Update Bird ---
-        birdVelocityY += GRAVITY;
-        bird.y += birdVelocityY;
-
-        // --- 2. Update Pipes ---
-        ticks++;
-        if (ticks % PIPE_SPAWN_FREQUENCY == 0) {
-            addPipes();
+    private void restore(ByteBuffer saved) {
+        game.score = saved.getInt();
+        game.ticks = saved.getInt();
+        game.pipeSpeed = saved.getShort();
+        game.distanceSinceSpawn = saved.getShort();
+        game.nextPipe = saved.get();
+        game.bird.y = saved.getShort();
+        game.birdVelocityY = saved.getShort();
+        int pipes = saved.get();
+        for (int i = 0; i < pipes; i++) {
+            int x = saved.getShort();
+            int topHeight = saved.getShort();
+            int bottomY = saved.getShort();
+            int width = saved.get() != 0 ? 0 : PIPE_WIDTH;
+            game.topPipes.add(new Rectangle(x, 0, width, topHeight));
+            game.bottomPipes.add(new Rectangle(x, bottomY, width, SCREEN_HEIGHT - bottomY));
         }
+    }
 
-        // Move existing pipes to the left
-        for (int i = 0; i < topPipes.size(); i++) {
-            // Get both pipes
-            Rectangle topPipe = topPipes.get(i);
-            Rectangle bottomPipe = bottomPipes.get(i);
-
-            // Move them
-            topPipe.x -= PIPE_SPEED;
-            bottomPipe.x -= PIPE_SPEED;
-
-            // Check for scoring
-            // If pipe's right edge has just passed the bird's center
-            if (topPipe.x + PIPE_WIDTH < bird.x && topPipe.width > 0) {
-                score++;
-
-                // Set width to 0 to mark as "scored" AND make them disappear
-                topPipe.width = 0;
-                bottomPipe.width = 0; // This makes the bottom pipe disappear too
+    @Override
+    public void removeNotify() {
+        super.removeNotify();
+        // A disposed window's timer keeps firing; stop it before the hidden game dies and clears the save
+        gameLoop.stop();
+        if (gameStarted && !game.gameOver) saveCheckpoint();
+        checkpoint.flush();
+        if (spectators != null) {
+            try {
+                spectators.close();
+            } catch (IOException e) {
+                // Window is closing anyway
             }
+            spectators = null;
         }
+    }
 
-        // Remove off-screen pipes
-        topPipes.removeIf(p -> p.x + PIPE_WIDTH < 0);
-        bottomPipes.removeIf(p -> p.x + PIPE_WIDTH < 0);
-
-        // --- 3. Check Collisions ---
-        // Check for ground collision
-        if (bird.y + bird.height > SCREEN_HEIGHT) {
-            gameOver = true;
-            submitScore();
-        }
+    /**
+     * Resets the game to its initial state.
+     */
+    private void resetGame() {
+        game.reset(random.nextLong());
+        gameStarted = false;
+        gameLoop.start();
+    }
 
-        // Check for pipe collisions
-        for (Rectangle pipe : topPipes) {
-            if (bird.intersects(pipe)) {
-                gameOver = true;
+    /**
+     * The main game loop, triggered by the Timer.
+     * This method calls the update function and repaints the screen.
+     */
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        long tickStart = metrics.beginTick(lastTickStart, TICK_DELAY);
+        lastTickStart = tickStart;
+        overlay.onTick();
+        if (gameStarted && !game.gameOver) {
+            game.update();
+            distance += game.pipeSpeed;
+            if (game.gameOver) {
+                gameLoop.stop();
                 submitScore();
+                checkpoint.clear();
+                recordDeath();
+            } else if (game.ticks % CHECKPOINT_TICKS == 0) {
+                saveCheckpoint();
             }
         }
-        for (Rectangle pipe : bottomPipes) {
-            if (bird.intersects(pipe)) {
-                gameOver = true;
-                submitScore();
-            }
+        if (spectators != null) {
+            byte state = game.gameOver ? SpectatorPublisher.OVER
+                : gameStarted ? SpectatorPublisher.PLAYING : SpectatorPublisher.WAITING;
+            spectators.publish(game.score, game.bird, game.birdVelocityY, state, game.turbo, game.topPipes, game.bottomPipes);
         }
 
-        // Stop the game loop if game over
-        if (gameOver) {
-            gameLoop.stop();
-        }
+        // Repaint always runs to show start/end screens
+        repaint();
+        metrics.endTick(tickStart);
     }
 
-    /**
-     * SUBMIT SCORE TO HIGHSCORE SYSTEM
-     */
-    private void submitScore() {
-        if (score > 0) {
-            // Automatically submit score without asking for name
-            LeaderboardManager.getInstance().submitScore("Flappy Bird", score);
-        }
+    private void recordDeath() {
+        boolean ground = game.bird.y + game.bird.height > SCREEN_HEIGHT;
+        Telemetry.record(telemetryRun, Telemetry.FLAPPY_BIRD, Telemetry.DEATH, game.ticks,
+            ground ? Telemetry.GROUND : Telemetry.PIPE, distance, game.bird.y, game.score);
+        Telemetry.endRun(telemetryRun, Telemetry.FLAPPY_BIRD, game.score, game.ticks, 0, 0);
     }
 
     /**
-     * Adds a new pair of top and bottom pipes to the game.
+     * SUBMIT SCORE TO HIGHSCORE SYSTEM (delivered off the game thread by the event bus)
      */
-    private void addPipes() {
-        // The top pipe's height is random
-        int topPipeHeight = 50 + random.nextInt(SCREEN_HEIGHT - PIPE_GAP - 100);
-        int bottomPipeY = topPipeHeight + PIPE_GAP;
-        int bottomPipeHeight = SCREEN_HEIGHT - bottomPipeY;
-
-        topPipes.add(new Rectangle(SCREEN_WIDTH, 0, PIPE_WIDTH, topPipeHeight));
-        bottomPipes.add(new Rectangle(SCREEN_WIDTH, bottomPipeY, PIPE_WIDTH, bottomPipeHeight));
+    private void submitScore() {
+        GameEventBus.runFinished("Flappy Bird", game.score);
     }
 
     /**
@@ -224,41 +255,74 @@ public class FlappyBird extends JPanel implements ActionListener, MouseListener
      */
     @Override
     protected void paintComponent(Graphics g) {
+        long paintStart = metrics.beginPaint(g);
         super.paintComponent(g); // Clears the screen and draws background
 
-        // --- 1. Draw Pipes ---
-        g.setColor(Color.GREEN.darker());
-        for (Rectangle pipe : topPipes) {
-            g.fillRect(pipe.x, pipe.y, pipe.width, pipe.height);
-        }
-        for (Rectangle pipe : bottomPipes) {
-            g.fillRect(pipe.x, pipe.y, pipe.width, pipe.height);
+        if (birdImage == null) {
+            birdImage = AssetManager.getImage(BIRD_IMAGE, BIRD_WIDTH, BIRD_HEIGHT);
         }
+        renderer.draw((Graphics2D) g, game, gameStarted, birdImage);
+        overlay.onFrame();
+        overlay.draw(g, 5, SCREEN_HEIGHT - 95);
+        metrics.endPaint(paintStart);
+    }
 
-        // --- 2. Draw Bird (MODIFIED) ---
-        if (birdImage != null) {
-            // Draw the loaded image
-            // It will be scaled to fit the BIRD_WIDTH and BIRD_HEIGHT constants
-            g.drawImage(birdImage, bird.x, bird.y, bird.width, bird.height, this);
-        } else {
-            // Fallback: Draw the yellow rectangle if image loading failed
-            g.setColor(Color.YELLOW);
-            g.fillRect(bird.x, bird.y, bird.width, bird.height);
-        }
+    /**
+     * Draws a FlappySimulation over the sky. Colors, fonts and the numbers' widths are made
+     * once, so a frame allocates nothing; RenderAllocationCheck holds it to that.
+     */
+    static final class Renderer {
+        private static final Color PIPE = Color.GREEN.darker();
+        private static final Font MESSAGE_FONT = new Font("Arial", Font.BOLD, 48);
+        private static final Font TURBO_FONT = new Font("Arial", Font.BOLD, 20);
+
+        private final NumberText score = new NumberText(MESSAGE_FONT);
+        private final NumberText finalScore = new NumberText(MESSAGE_FONT, "Score: ");
+        private final NumberText turbo = new NumberText(TURBO_FONT, "TURBO x");
+
+        /**
+         * @param birdImage the bird, already scaled to its size, or null to draw a rectangle
+         */
+        void draw(Graphics2D g, FlappySimulation game, boolean started, Image birdImage) {
+            // --- 1. Draw Pipes ---
+            // Indexed loops, as an iterator per frame is garbage
+            g.setColor(PIPE);
+            for (int i = 0; i < game.topPipes.size(); i++) {
+                Rectangle pipe = game.topPipes.get(i);
+                g.fillRect(pipe.x, pipe.y, pipe.width, pipe.height);
+            }
+            for (int i = 0; i < game.bottomPipes.size(); i++) {
+                Rectangle pipe = game.bottomPipes.get(i);
+                g.fillRect(pipe.x, pipe.y, pipe.width, pipe.height);
+            }
 
-        // --- 3. Draw Score & Game State Messages ---
-        g.setColor(Color.WHITE);
-        g.setFont(new Font("Arial", Font.BOLD, 48));
+            // --- 2. Draw Bird ---
+            if (birdImage != null) {
+                // Already scaled to the bird's size, so this is an unscaled copy
+                g.drawImage(birdImage, game.bird.x, game.bird.y, null);
+            } else {
+                // Fallback: Draw the yellow rectangle if image loading failed
+                g.setColor(Color.YELLOW);
+                g.fillRect(game.bird.x, game.bird.y, game.bird.width, game.bird.height);
+            }
 
-        if (gameOver) {
-            g.drawString("Game Over!", SCREEN_WIDTH / 2 - 130, SCREEN_HEIGHT / 2 - 50);
-            g.drawString("Score: " + score, SCREEN_WIDTH / 2 - 100, SCREEN_HEIGHT / 2 + 20);
-            g.drawString("Click to Restart", SCREEN_WIDTH / 2 - 170, SCREEN_HEIGHT / 2 + 90);
-        } else if (!gameStarted) {
-            g.drawString("Click to Start", SCREEN_WIDTH / 2 - 150, SCREEN_HEIGHT / 2 - 50);
-        } else {
-            // Draw score during gameplay
-            g.drawString(String.valueOf(score), SCREEN_WIDTH / 2 - 20, 100);
+            // --- 3. Draw Score & Game State Messages ---
+            g.setColor(Color.WHITE);
+            g.setFont(MESSAGE_FONT);
+
+            if (game.gameOver) {
+                g.drawString("Game Over!", SCREEN_WIDTH / 2 - 130, SCREEN_HEIGHT / 2 - 50);
+                finalScore.draw(g, game.score, SCREEN_WIDTH / 2 - 100, SCREEN_HEIGHT / 2 + 20);
+                g.drawString("Click to Restart", SCREEN_WIDTH / 2 - 170, SCREEN_HEIGHT / 2 + 90);
+            } else if (!started) {
+                g.drawString("Click to Start", SCREEN_WIDTH / 2 - 150, SCREEN_HEIGHT / 2 - 50);
+            } else {
+                // Draw score during gameplay
+                score.draw(g, game.score, SCREEN_WIDTH / 2 - 20, 100);
+                if (game.turbo) {
+                    turbo.drawAsImage(g, game.pipeSpeed / FlappySimulation.PIPE_SPEED, 20, 40);
+                }
+            }
         }
     }
 
@@ -267,15 +331,20 @@ public class FlappyBird extends JPanel implements ActionListener, MouseListener
      */
     @Override
     public void mousePressed(MouseEvent e) {
-        if (gameOver) {
+        if (game.gameOver) {
             // Restart the game
             resetGame();
         } else if (!gameStarted) {
             // Start the game on the first click
             gameStarted = true;
+            GameEventBus.runStarted("Flappy Bird");
+            telemetryRun = Telemetry.startRun(Telemetry.FLAPPY_BIRD);
+            distance = 0;
         } else {
             // "Flap" the bird
-            birdVelocityY = JUMP_STRENGTH;
+            Telemetry.record(telemetryRun, Telemetry.FLAPPY_BIRD, Telemetry.FLAP, game.ticks,
+                game.bird.y, game.birdVelocityY, 0, 0);
+            game.flap();
         }
     }
 
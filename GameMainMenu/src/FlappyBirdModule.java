@@ -0,0 +1,78 @@
+import java.awt.Color;
+import java.awt.Component;
+import java.net.InetAddress;
+import javax.swing.JFrame;
+import javax.swing.JOptionPane;
+
+/**
+ * Flappy Bird in normal or turbo mode.
+ */
+public class FlappyBirdModule implements GameModule {
+    @Override public String getName() { return "FLAPPY BIRD"; }
+    @Override public String getDescription() { return "Click to flap and navigate through pipes!"; }
+    @Override public Color getAccentColor() { return new Color(135, 206, 250); }
+    @Override public String getHighscoreKey() { return "Flappy Bird"; }
+    @Override public String getHighscoreTitle() { return "🐦 Flappy Bird"; }
+
+    @Override
+    public void preloadAssets() {
+        AssetManager.preload(FlappyBird.BIRD_IMAGE, FlappyBird.BIRD_WIDTH, FlappyBird.BIRD_HEIGHT);
+    }
+
+    @Override
+    public void launch(Component parent) {
+        String[] modes = Checkpoint.forGame(getHighscoreKey()).exists()
+            ? new String[] {"Normal", "Turbo", "Spectate", "Resume"}
+            : new String[] {"Normal", "Turbo", "Spectate"};
+        int mode = JOptionPane.showOptionDialog(parent,
+            "Turbo mode keeps speeding up the longer you survive.\nSpectate watches a game running in another window on this machine.",
+            "Flappy Bird",
+            JOptionPane.DEFAULT_OPTION,
+            JOptionPane.QUESTION_MESSAGE,
+            null,
+            modes,
+            modes[0]);
+        if (mode < 0) return;
+        if (mode == 2) {
+            // Games only accept viewers from the same machine (see SpectatorPublisher.open)
+            String answer = JOptionPane.showInputDialog(parent, "Port of the game to watch on this machine:",
+                String.valueOf(SpectatorPublisher.DEFAULT_PORT));
+            if (answer == null) return;
+            int port;
+            try {
+                port = Integer.parseInt(answer.trim());
+            } catch (NumberFormatException e) {
+                JOptionPane.showMessageDialog(parent, "Not a port number: " + answer, "Flappy Bird",
+                    JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            SpectatorViewer.open(parent, InetAddress.getLoopbackAddress().getHostAddress(), port);
+            return;
+        }
+
+        System.out.println("Launching Flappy Bird Game (" + modes[mode] + ")...");
+        GameEvents.launchStarted("Flappy Bird", modes[mode]);
+        // Create Flappy Bird directly
+        FlappyBird flappyPanel = null;
+        if (mode == 3) {
+            flappyPanel = FlappyBird.resume();
+        }
+        if (flappyPanel == null) flappyPanel = new FlappyBird(mode == 1);
+        String title = flappyPanel.isTurbo() ? "Flappy Bird - Turbo" : "Flappy Bird";
+        if (FullscreenHost.isFullscreenEnabled()) {
+            FullscreenHost.open(title, flappyPanel, flappyPanel, FlappyBird.SCREEN_WIDTH, FlappyBird.SCREEN_HEIGHT, true);
+            return;
+        }
+        JFrame flappyFrame = new JFrame(title);
+        flappyFrame.add(flappyPanel);
+        flappyFrame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        flappyFrame.setResizable(false);
+        flappyFrame.pack();
+        flappyFrame.setLocationRelativeTo(null);
+        flappyFrame.setVisible(true);
+        
+        // Bring to front
+        flappyFrame.toFront();
+        flappyFrame.requestFocus();
+    }
+}
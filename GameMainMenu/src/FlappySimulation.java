@@ -0,0 +1,217 @@
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Flappy Bird rules, as played by FlappyBird: gravity, flaps, pipes spawned by distance,
+ * swept collisions and scoring. Rectangle is only used as geometry here, so this runs
+ * headless.
+ *
+ * Actions: 0 glide, 1 flap.
+ * Observation: bird y, bird vertical speed, horizontal distance from the bird to the next
+ * pipe it has not passed, that pipe's gap top and gap bottom (or 0 and SCREEN_HEIGHT when
+ * no pipe is on screen yet), and the pipe speed.
+ */
+public class FlappySimulation implements GameSimulation {
+    static final int SCREEN_WIDTH = 800;
+    static final int SCREEN_HEIGHT = 600;
+
+    static final int BIRD_WIDTH = 34;
+    static final int BIRD_HEIGHT = 24;
+    private static final int BIRD_START_X = SCREEN_WIDTH / 3;
+    private static final int BIRD_START_Y = SCREEN_HEIGHT / 2;
+
+    static final int PIPE_WIDTH = 100;
+    private static final int PIPE_GAP = 200; // Vertical gap between pipes
+    static final int PIPE_SPEED = 4; // Horizontal speed of pipes
+    private static final int PIPE_SPAWN_FREQUENCY = 90; // Spawn new pipe every 90 ticks
+    private static final int PIPE_SPACING = PIPE_SPAWN_FREQUENCY * PIPE_SPEED; // Pixels between pipes
+
+    // Turbo mode: pipe speed grows by 1 px/tick every TURBO_RAMP_TICKS, up to TURBO_MAX_SPEED.
+    // The top speed is faster than a pipe is wide, so collisions must be swept.
+    private static final int TURBO_RAMP_TICKS = 240;
+    private static final int TURBO_MAX_SPEED = 140;
+
+    private static final int GRAVITY = 1;
+    private static final int JUMP_STRENGTH = -15; // Negative Y value is "up"
+
+    Rectangle bird;
+    int birdVelocityY;
+    List<Rectangle> topPipes;
+    List<Rectangle> bottomPipes;
+    boolean gameOver;
+    int score;
+    int ticks;
+    int pipeSpeed;
+    int distanceSinceSpawn; // Used for pipe spawn timing
+    int nextPipe; // First pipe the bird has not passed yet
+    final boolean turbo;
+    private Random random = new Random();
+
+    /**
+     * @param turbo speed the pipes up over time instead of keeping PIPE_SPEED
+     */
+    public FlappySimulation(boolean turbo) {
+        this.turbo = turbo;
+        reset(random.nextLong());
+    }
+
+    public String getName() { return turbo ? "Flappy Bird (turbo)" : "Flappy Bird"; }
+    public int getActionCount() { return 2; }
+    public boolean isOver() { return gameOver; }
+    public int getScore() { return score; }
+    public int getObservationSize() { return 6; }
+
+    public void reset(long seed) {
+        random = new Random(seed);
+        // Place bird in starting position
+        bird = new Rectangle(BIRD_START_X, BIRD_START_Y, BIRD_WIDTH, BIRD_HEIGHT);
+        birdVelocityY = 0;
+
+        // Clear all pipes
+        topPipes = new ArrayList<>();
+        bottomPipes = new ArrayList<>();
+
+        gameOver = false;
+        score = 0;
+        ticks = 0;
+        pipeSpeed = PIPE_SPEED;
+        distanceSinceSpawn = 0;
+        nextPipe = 0;
+    }
+
+    public boolean step(int action) {
+        if (gameOver) return false;
+        if (action == 1) flap();
+        update();
+        return !gameOver;
+    }
+
+    public void observe(int[] observation) {
+        observation[0] = bird.y;
+        observation[1] = birdVelocityY;
+        if (nextPipe < topPipes.size()) {
+            observation[2] = topPipes.get(nextPipe).x - bird.x;
+            observation[3] = topPipes.get(nextPipe).height;
+            observation[4] = bottomPipes.get(nextPipe).y;
+        } else {
+            observation[2] = SCREEN_WIDTH - bird.x;
+            observation[3] = 0;
+            observation[4] = SCREEN_HEIGHT;
+        }
+        observation[5] = pipeSpeed;
+    }
+
+    void flap() {
+        birdVelocityY = JUMP_STRENGTH;
+    }
+
+    /**
+     * Advance one tick: bird, pipes, collisions, scoring.
+     */
+    void update() {
+        // --- 1. Update Bird ---
+        int birdStartY = bird.y;
+        birdVelocityY += GRAVITY;
+        bird.y += birdVelocityY;
+
+        // --- 2. Update Pipes ---
+        ticks++;
+        if (turbo) {
+            pipeSpeed = Math.min(TURBO_MAX_SPEED, PIPE_SPEED + ticks / TURBO_RAMP_TICKS);
+        }
+
+        // Spawn by distance so pipes stay PIPE_SPACING apart at any speed
+        distanceSinceSpawn += pipeSpeed;
+        if (distanceSinceSpawn >= PIPE_SPACING) {
+            distanceSinceSpawn -= PIPE_SPACING;
+            addPipes();
+        }
+
+        // Move existing pipes to the left
+        for (int i = 0; i < topPipes.size(); i++) {
+            topPipes.get(i).x -= pipeSpeed;
+            bottomPipes.get(i).x -= pipeSpeed;
+        }
+
+        // --- 3. Check Collisions ---
+        // Check for ground collision
+        if (bird.y + bird.height > SCREEN_HEIGHT) {
+            gameOver = true;
+        }
+
+        // Pipes are kept in spawn order, so only the pipes from nextPipe onwards that overlap
+        // the x-range the bird swept through this tick can be hit
+        int sweptLeft = bird.x - pipeSpeed;
+        for (int i = nextPipe; i < topPipes.size() && !gameOver; i++) {
+            Rectangle topPipe = topPipes.get(i);
+            if (topPipe.x > bird.x + bird.width) break;
+            if (sweptHit(sweptLeft, birdStartY, pipeSpeed, bird.y - birdStartY, topPipe)
+                    || sweptHit(sweptLeft, birdStartY, pipeSpeed, bird.y - birdStartY, bottomPipes.get(i))) {
+                gameOver = true;
+            }
+        }
+
+        // Check for scoring
+        // If pipe's right edge has just passed the bird
+        while (!gameOver && nextPipe < topPipes.size() && topPipes.get(nextPipe).x + PIPE_WIDTH < bird.x) {
+            score++;
+
+            // Set width to 0 to mark as "scored" AND make them disappear
+            topPipes.get(nextPipe).width = 0;
+            bottomPipes.get(nextPipe).width = 0;
+            nextPipe++;
+        }
+
+        // Remove off-screen pipes
+        while (!topPipes.isEmpty() && topPipes.get(0).x + PIPE_WIDTH < 0) {
+            topPipes.remove(0);
+            bottomPipes.remove(0);
+            nextPipe--;
+        }
+    }
+
+    /**
+     * Swept AABB test: does the bird, starting at (x, y) and moving by (dx, dy) relative to
+     * the pipe during this tick, touch the pipe at any point of the move?
+     */
+    private boolean sweptHit(int x, int y, int dx, int dy, Rectangle pipe) {
+        if (pipe.width == 0) return false;
+
+        double entry = 0.0;
+        double exit = 1.0;
+
+        // Slab test on each axis; a zero move must already overlap on that axis
+        if (dx == 0) {
+            if (x + BIRD_WIDTH <= pipe.x || x >= pipe.x + pipe.width) return false;
+        } else {
+            double t1 = (double) (pipe.x - (x + BIRD_WIDTH)) / dx;
+            double t2 = (double) (pipe.x + pipe.width - x) / dx;
+            entry = Math.max(entry, Math.min(t1, t2));
+            exit = Math.min(exit, Math.max(t1, t2));
+        }
+        if (dy == 0) {
+            if (y + BIRD_HEIGHT <= pipe.y || y >= pipe.y + pipe.height) return false;
+        } else {
+            double t1 = (double) (pipe.y - (y + BIRD_HEIGHT)) / dy;
+            double t2 = (double) (pipe.y + pipe.height - y) / dy;
+            entry = Math.max(entry, Math.min(t1, t2));
+            exit = Math.min(exit, Math.max(t1, t2));
+        }
+        return entry < exit;
+    }
+
+    /**
+     * Adds a new pair of top and bottom pipes to the game.
+     */
+    private void addPipes() {
+        // The top pipe's height is random
+        int topPipeHeight = 50 + random.nextInt(SCREEN_HEIGHT - PIPE_GAP - 100);
+        int bottomPipeY = topPipeHeight + PIPE_GAP;
+        int bottomPipeHeight = SCREEN_HEIGHT - bottomPipeY;
+
+        topPipes.add(new Rectangle(SCREEN_WIDTH, 0, PIPE_WIDTH, topPipeHeight));
+        bottomPipes.add(new Rectangle(SCREEN_WIDTH, bottomPipeY, PIPE_WIDTH, bottomPipeHeight));
+    }
+}
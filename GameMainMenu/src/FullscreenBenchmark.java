@@ -0,0 +1,79 @@
+import java.awt.GraphicsEnvironment;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.swing.SwingUtilities;
+
+/**
+ * Measures FullscreenHost rendering of an idle Flappy Bird screen, windowed and fullscreen:
+ * first paced to the display refresh rate (frame times should sit at one refresh period),
+ * then unpaced to see how many frames per second the active render path can push.
+ *
+ * Flappy Bird is used because an unstarted run neither saves a checkpoint nor submits a
+ * score, so measuring leaves the player's saves alone. Needs a display.
+ *
+ * Usage: java FullscreenBenchmark [--seconds S] [--windowed-only]
+ */
+public class FullscreenBenchmark {
+    public static void main(String[] args) throws Exception {
+        int seconds = 5;
+        boolean windowedOnly = false;
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--seconds": seconds = Integer.parseInt(value); i++; break;
+                case "--windowed-only": windowedOnly = true; break;
+                default:
+                    System.err.println("Unknown argument: " + args[i]);
+                    System.err.println("Usage: java FullscreenBenchmark [--seconds S] [--windowed-only]");
+                    System.exit(1);
+            }
+        }
+        if (GraphicsEnvironment.isHeadless()) {
+            System.err.println("FullscreenBenchmark needs a display");
+            System.exit(1);
+        }
+
+        System.out.printf(Locale.ROOT, "%d s per run, logical size %dx%d%n",
+            seconds, FlappyBird.SCREEN_WIDTH, FlappyBird.SCREEN_HEIGHT);
+        run(false, true, seconds);
+        run(false, false, seconds);
+        if (!windowedOnly) {
+            run(true, true, seconds);
+            run(true, false, seconds);
+        }
+        System.exit(0);
+    }
+
+    private static void run(boolean fullscreen, boolean paced, int seconds) throws Exception {
+        AtomicReference<FullscreenHost> opened = new AtomicReference<>();
+        SwingUtilities.invokeAndWait(() -> {
+            FlappyBird game = new FlappyBird();
+            FullscreenHost host = FullscreenHost.open("Flappy Bird benchmark", game, game,
+                FlappyBird.SCREEN_WIDTH, FlappyBird.SCREEN_HEIGHT, fullscreen);
+            host.setPaced(paced);
+            opened.set(host);
+        });
+        FullscreenHost host = opened.get();
+
+        // Let the window settle and the JIT warm up before measuring
+        Thread.sleep(1000);
+        host.getFrameTimes().reset();
+        host.getRenderTimes().reset();
+        long startFrames = host.getFrameCount();
+        long start = System.nanoTime();
+        Thread.sleep(seconds * 1000L);
+        long frames = host.getFrameCount() - startFrames;
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        host.close();
+        Thread.sleep(500);
+
+        LatencyHistogram frameTimes = host.getFrameTimes();
+        LatencyHistogram renderTimes = host.getRenderTimes();
+        System.out.printf(Locale.ROOT,
+            "%-10s %-7s %7.1f fps | frame p50 %6.2f ms, p99 %6.2f ms, max %6.2f ms | render p50 %6.2f ms, p99 %6.2f ms%n",
+            host.isFullscreen() ? "fullscreen" : "windowed", paced ? "paced" : "unpaced", frames / elapsed,
+            frameTimes.getPercentile(0.5) / 1e6, frameTimes.getPercentile(0.99) / 1e6, frameTimes.getMax() / 1e6,
+            renderTimes.getPercentile(0.5) / 1e6, renderTimes.getPercentile(0.99) / 1e6);
+    }
+}
@@ -0,0 +1,314 @@
+import java.awt.*;
+import java.awt.event.*;
+import java.awt.image.BufferStrategy;
+import java.awt.image.VolatileImage;
+import java.lang.reflect.InvocationTargetException;
+import java.util.prefs.Preferences;
+import javax.swing.*;
+
+/**
+ * Runs a game view with active rendering, either fullscreen (exclusive mode where the screen
+ * supports it) or in a plain window.
+ *
+ * The game's Swing view stays in the window's component tree but hidden, so its own repaint
+ * calls do nothing and its addNotify/removeNotify still run. A render thread asks the EDT to
+ * paint it once per frame at its logical size into an offscreen image, draws that image
+ * scaled to fit (letterboxed) into a 3-page BufferStrategy, and shows the page off the EDT.
+ * Frames are paced to the display's refresh rate. Key and mouse events on the screen are
+ * passed on to the game's listeners, with mouse coordinates mapped back to logical pixels.
+ * Escape closes the host.
+ */
+public class FullscreenHost {
+    private static final int PAGES = 3;
+    private static final int DEFAULT_REFRESH_RATE = 60;
+    private static final Preferences PREFERENCES = Preferences.userNodeForPackage(FullscreenHost.class);
+    private static final String FULLSCREEN_KEY = "fullscreen";
+
+    private final JFrame frame;
+    private final Canvas canvas = new Canvas();
+    private final JComponent view;
+    private final Component input;
+    private final int logicalWidth;
+    private final int logicalHeight;
+    private final boolean fullscreen;
+    private final long framePeriod;
+    private final LatencyHistogram frameTimes = new LatencyHistogram();
+    private final LatencyHistogram renderTimes = new LatencyHistogram();
+    private final Runnable paintView = this::paintView;
+    private volatile boolean running = true;
+    private volatile boolean paced = true;
+    private BufferStrategy strategy;
+    private VolatileImage backBuffer;
+    private volatile long frames;
+
+    // Letterbox placement of the scaled view, updated on the EDT
+    private int drawX;
+    private int drawY;
+    private int drawWidth;
+    private int drawHeight;
+
+    /**
+     * Whether the menu starts games fullscreen. Remembered between runs.
+     */
+    public static boolean isFullscreenEnabled() {
+        return PREFERENCES.getBoolean(FULLSCREEN_KEY, false);
+    }
+
+    public static void setFullscreenEnabled(boolean enabled) {
+        PREFERENCES.putBoolean(FULLSCREEN_KEY, enabled);
+    }
+
+    /**
+     * Show a view with active rendering. Call on the EDT.
+     *
+     * @param view  the game's Swing component, painted at the given logical size
+     * @param input the component whose key and mouse listeners get the player's input; if it
+     *              is a window, closing the host closes it too
+     */
+    public static FullscreenHost open(String title, JComponent view, Component input,
+                                      int logicalWidth, int logicalHeight, boolean fullscreen) {
+        FullscreenHost host = new FullscreenHost(title, view, input, logicalWidth, logicalHeight, fullscreen);
+        host.start();
+        return host;
+    }
+
+    private FullscreenHost(String title, JComponent view, Component input,
+                           int logicalWidth, int logicalHeight, boolean fullscreen) {
+        this.view = view;
+        this.input = input;
+        this.logicalWidth = logicalWidth;
+        this.logicalHeight = logicalHeight;
+
+        frame = new JFrame(title);
+        // Disposed by the render thread once it has stopped drawing into the window
+        frame.setDefaultCloseOperation(JFrame.DO_NOTHING_ON_CLOSE);
+        frame.setIgnoreRepaint(true);
+        canvas.setIgnoreRepaint(true);
+        canvas.setBackground(Color.black);
+        canvas.setFocusable(true);
+        canvas.setFocusTraversalKeysEnabled(false);
+        canvas.setPreferredSize(new Dimension(logicalWidth, logicalHeight));
+        frame.add(canvas, BorderLayout.CENTER);
+        // Hidden: layouts skip it and Swing never paints it, but it is part of the window
+        view.setVisible(false);
+        view.setSize(logicalWidth, logicalHeight);
+        frame.add(view, BorderLayout.NORTH);
+
+        GraphicsDevice device = frame.getGraphicsConfiguration().getDevice();
+        this.fullscreen = fullscreen;
+        if (fullscreen) {
+            frame.setUndecorated(true);
+            frame.setResizable(false);
+            if (device.isFullScreenSupported()) {
+                device.setFullScreenWindow(frame);
+            } else {
+                // No exclusive mode here (e.g. some Linux window managers); cover the screen instead
+                frame.setBounds(frame.getGraphicsConfiguration().getBounds());
+                frame.setVisible(true);
+            }
+        } else {
+            frame.setResizable(true);
+            frame.pack();
+            frame.setLocationRelativeTo(null);
+            frame.setVisible(true);
+        }
+        int refreshRate = device.getDisplayMode().getRefreshRate();
+        if (refreshRate == DisplayMode.REFRESH_RATE_UNKNOWN) refreshRate = DEFAULT_REFRESH_RATE;
+        framePeriod = 1_000_000_000L / refreshRate;
+
+        canvas.createBufferStrategy(PAGES);
+        strategy = canvas.getBufferStrategy();
+        forwardInput();
+        frame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                close();
+            }
+        });
+    }
+
+    private void start() {
+        canvas.requestFocus();
+        Thread renderer = new Thread(this::renderLoop, "render-" + frame.getTitle());
+        renderer.setDaemon(true);
+        renderer.start();
+    }
+
+    /** Frame-to-frame intervals */
+    public LatencyHistogram getFrameTimes() {
+        return frameTimes;
+    }
+
+    /** Time to paint, scale and show one frame, excluding the wait for the next one */
+    public LatencyHistogram getRenderTimes() {
+        return renderTimes;
+    }
+
+    public long getFrameCount() {
+        return frames;
+    }
+
+    public boolean isFullscreen() {
+        return fullscreen;
+    }
+
+    /**
+     * Render as fast as possible instead of once per display refresh, to measure throughput.
+     */
+    public void setPaced(boolean paced) {
+        this.paced = paced;
+    }
+
+    /**
+     * Stop rendering and close the window (and the game's window, if input is one).
+     */
+    public void close() {
+        running = false;
+    }
+
+    /**
+     * On the EDT, after the render thread has stopped.
+     */
+    private void dispose() {
+        GraphicsDevice device = frame.getGraphicsConfiguration().getDevice();
+        if (device.getFullScreenWindow() == frame) device.setFullScreenWindow(null);
+        frame.dispose();
+        if (input instanceof Window) {
+            // Let the game's own window listeners (e.g. checkpoint flushes) run, then dispose it
+            input.dispatchEvent(new WindowEvent((Window) input, WindowEvent.WINDOW_CLOSING));
+        }
+    }
+
+    private void renderLoop() {
+        long lastFrame = 0;
+        long nextFrame = System.nanoTime();
+        try {
+            while (running) {
+                long start = System.nanoTime();
+                EventQueue.invokeAndWait(paintView);
+                drawPage();
+                long end = System.nanoTime();
+                renderTimes.record(end - start);
+                if (lastFrame != 0) frameTimes.record(end - lastFrame);
+                lastFrame = end;
+                frames++;
+
+                if (paced) {
+                    nextFrame = Math.max(nextFrame + framePeriod, end - framePeriod);
+                    long wait = nextFrame - System.nanoTime();
+                    if (wait > 0) Thread.sleep(wait / 1_000_000, (int) (wait % 1_000_000));
+                } else {
+                    nextFrame = end;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (InvocationTargetException e) {
+            System.err.println("Rendering " + frame.getTitle() + " failed: " + e.getCause());
+            e.getCause().printStackTrace();
+        } finally {
+            running = false;
+            SwingUtilities.invokeLater(this::dispose);
+        }
+    }
+
+    /**
+     * On the EDT: paint the view at logical size into the back buffer and work out where the
+     * scaled copy goes.
+     */
+    private void paintView() {
+        if (!running || !canvas.isDisplayable()) return;
+        GraphicsConfiguration config = canvas.getGraphicsConfiguration();
+        if (backBuffer == null || backBuffer.validate(config) == VolatileImage.IMAGE_INCOMPATIBLE) {
+            backBuffer = canvas.createVolatileImage(logicalWidth, logicalHeight);
+        }
+        view.validate();
+        Graphics2D g = backBuffer.createGraphics();
+        try {
+            view.paint(g);
+        } finally {
+            g.dispose();
+        }
+
+        int width = canvas.getWidth();
+        int height = canvas.getHeight();
+        double scale = Math.min((double) width / logicalWidth, (double) height / logicalHeight);
+        drawWidth = (int) (logicalWidth * scale);
+        drawHeight = (int) (logicalHeight * scale);
+        drawX = (width - drawWidth) / 2;
+        drawY = (height - drawHeight) / 2;
+    }
+
+    /**
+     * On the render thread: scale the back buffer into the next page and flip to it.
+     */
+    private void drawPage() {
+        if (!running || backBuffer == null) return;
+        do {
+            do {
+                Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    g.setColor(Color.black);
+                    g.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+                    g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                    g.drawImage(backBuffer, drawX, drawY, drawWidth, drawHeight, null);
+                } finally {
+                    g.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync();
+    }
+
+    private void forwardInput() {
+        canvas.addKeyListener(new KeyListener() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                if (e.getKeyCode() == KeyEvent.VK_ESCAPE) {
+                    close();
+                    return;
+                }
+                for (KeyListener listener : input.getKeyListeners()) listener.keyPressed(retarget(e));
+            }
+
+            @Override
+            public void keyReleased(KeyEvent e) {
+                for (KeyListener listener : input.getKeyListeners()) listener.keyReleased(retarget(e));
+            }
+
+            @Override
+            public void keyTyped(KeyEvent e) {
+                for (KeyListener listener : input.getKeyListeners()) listener.keyTyped(retarget(e));
+            }
+        });
+        canvas.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                for (MouseListener listener : input.getMouseListeners()) listener.mousePressed(retarget(e));
+            }
+
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                for (MouseListener listener : input.getMouseListeners()) listener.mouseReleased(retarget(e));
+            }
+
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                for (MouseListener listener : input.getMouseListeners()) listener.mouseClicked(retarget(e));
+            }
+        });
+    }
+
+    private KeyEvent retarget(KeyEvent e) {
+        return new KeyEvent(input, e.getID(), e.getWhen(), e.getModifiersEx(), e.getKeyCode(), e.getKeyChar(),
+            e.getKeyLocation());
+    }
+
+    private MouseEvent retarget(MouseEvent e) {
+        int x = drawWidth == 0 ? e.getX() : (e.getX() - drawX) * logicalWidth / drawWidth;
+        int y = drawHeight == 0 ? e.getY() : (e.getY() - drawY) * logicalHeight / drawHeight;
+        return new MouseEvent(input, e.getID(), e.getWhen(), e.getModifiersEx(), x, y, e.getClickCount(),
+            e.isPopupTrigger(), e.getButton());
+    }
+}
@@ -0,0 +1,79 @@
+import java.awt.Color;
+import java.awt.Component;
+import javax.swing.JComponent;
+import javax.swing.JOptionPane;
+
+/**
+ * 2048 on a board size picked at launch.
+ */
+public class Game2048Module implements GameModule {
+    private static final String RESUME_OPTION = "Resume saved game";
+
+    @Override public String getName() { return "2048 PUZZLE"; }
+    @Override public String getDescription() { return "Slide tiles and combine them to reach 2048!"; }
+    @Override public Color getAccentColor() { return new Color(255, 165, 0); }
+    @Override public String getHighscoreKey() { return "2048"; }
+    @Override public String getHighscoreTitle() { return "🔢 2048"; }
+
+    @Override
+    public void launch(Component parent) {
+        String choice = chooseOption(parent);
+        if (choice == null) return;
+        boolean resume = RESUME_OPTION.equals(choice);
+
+        Game2048_GUI game2048 = null;
+        if (resume) {
+            System.out.println("Resuming 2048 Game...");
+            GameEvents.launchStarted("2048", "Resume");
+            game2048 = Game2048_GUI.resume();
+        }
+        if (game2048 == null) {
+            int size = resume ? Board2048.DEFAULT_SIZE : sizeOf(choice);
+            System.out.println("Launching 2048 Game (" + size + "x" + size + ")...");
+            GameEvents.launchStarted("2048", size + "x" + size);
+            // Create 2048 game directly
+            game2048 = new Game2048_GUI(size);
+        }
+        if (FullscreenHost.isFullscreenEnabled()) {
+            // The window itself is never shown; its content is drawn by the host at window size
+            FullscreenHost.open(game2048.getTitle(), (JComponent) game2048.getContentPane(), game2048,
+                game2048.getWidth(), game2048.getHeight(), true);
+            return;
+        }
+        game2048.setVisible(true);
+        
+        // Bring to front
+        game2048.toFront();
+        game2048.requestFocus();
+    }
+
+    /**
+     * Ask which board size to play: an "NxN" option, RESUME_OPTION to continue the saved
+     * game, or null if the player cancelled
+     */
+    private String chooseOption(Component parent) {
+        boolean canResume = Checkpoint.forGame(getHighscoreKey()).exists();
+        int first = canResume ? 1 : 0;
+        String[] options = new String[first + Board2048.MAX_SIZE - Board2048.MIN_SIZE + 1];
+        if (canResume) options[0] = RESUME_OPTION;
+        for (int i = first; i < options.length; i++) {
+            int size = Board2048.MIN_SIZE + i - first;
+            options[i] = size + "x" + size;
+        }
+        String defaultOption = canResume ? RESUME_OPTION : Board2048.DEFAULT_SIZE + "x" + Board2048.DEFAULT_SIZE;
+
+        Object choice = JOptionPane.showInputDialog(parent,
+            "Choose a board size:",
+            "2048 Puzzle",
+            JOptionPane.QUESTION_MESSAGE,
+            null,
+            options,
+            defaultOption);
+        return (String) choice;
+    }
+
+    /** The board size of an "NxN" option */
+    private static int sizeOf(String option) {
+        return Integer.parseInt(option.substring(0, option.indexOf('x')));
+    }
+}
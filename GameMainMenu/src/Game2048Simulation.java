@@ -0,0 +1,56 @@
+import java.util.Random;
+
+/**
+ * 2048 rules, as played by Game2048_GUI: a move that changes the board adds a random tile,
+ * and the run ends when no move is left or a 2048 tile appears. The rules themselves are
+ * Board2048's; this only adds the seeded tile stream and the end of the run.
+ *
+ * Actions: Board2048.LEFT, RIGHT, UP, DOWN (0 to 3). A move that changes nothing still
+ * counts as a step.
+ * Observation: the tile exponent of every cell, row-major (0 empty, 1 for 2, 2 for 4, ...).
+ */
+public class Game2048Simulation implements GameSimulation {
+    private final Board2048 board;
+    private Random random = new Random();
+    private boolean over;
+
+    public Game2048Simulation(int size) {
+        board = new Board2048(size);
+        reset(random.nextLong());
+    }
+
+    public String getName() {
+        return board.getSize() == Board2048.DEFAULT_SIZE ? "2048" : "2048 (" + board.getSize() + "x" + board.getSize() + ")";
+    }
+
+    public int getActionCount() { return 4; }
+    public boolean isOver() { return over; }
+    public int getScore() { return board.getScore(); }
+    public int getObservationSize() { return board.getSize() * board.getSize(); }
+
+    public void reset(long seed) {
+        random = new Random(seed);
+        board.clear();
+        board.addRandomTile(random);
+        board.addRandomTile(random);
+        over = false;
+    }
+
+    public boolean step(int action) {
+        if (over) return false;
+        if (board.move(action)) {
+            board.addRandomTile(random);
+            over = board.hasWon() || !board.canMove();
+        }
+        return !over;
+    }
+
+    public void observe(int[] observation) {
+        int size = board.getSize();
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                observation[row * size + col] = board.getExponent(row, col);
+            }
+        }
+    }
+}
@@ -0,0 +1,260 @@
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Command-line batch mode for 2048: plays many seeded games headlessly and prints statistics.
+ *
+ * Usage: java Game2048Simulator [--games N] [--seed S] [--policy random|greedy|corner|all]
+ *                               [--four-percent P] [--threads T]
+ *
+ * Game i always uses the same random stream for a given seed, so results do not depend on
+ * the number of threads.
+ */
+public class Game2048Simulator {
+    private static final int LEAF_GAMES = 2048;
+    private static final int SCORE_BUCKET_WIDTH = 64;
+    private static final int SCORE_BUCKETS = 4096;
+
+    /**
+     * Picks the next move for a board, or returns -1 when no move is possible.
+     */
+    public interface Policy {
+        String name();
+        int chooseMove(long board, SplittableRandom random);
+    }
+
+    /** Any legal move, uniformly at random. */
+    public static class RandomPolicy implements Policy {
+        public String name() { return "random"; }
+
+        public int chooseMove(long board, SplittableRandom random) {
+            int start = random.nextInt(4);
+            for (int i = 0; i < 4; i++) {
+                int direction = (start + i) & 3;
+                if (Bitboard2048.move(board, direction) != board) return direction;
+            }
+            return -1;
+        }
+    }
+
+    /** The move that scores the most points right now, then the one leaving most empty cells. */
+    public static class GreedyPolicy implements Policy {
+        public String name() { return "greedy"; }
+
+        public int chooseMove(long board, SplittableRandom random) {
+            int best = -1;
+            long bestValue = Long.MIN_VALUE;
+            for (int direction = 0; direction < 4; direction++) {
+                long next = Bitboard2048.move(board, direction);
+                if (next == board) continue;
+                long value = ((long) Bitboard2048.moveScore(board, direction) << 5) + Bitboard2048.countEmpty(next);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = direction;
+                }
+            }
+            return best;
+        }
+    }
+
+    /** Keeps the big tiles in the bottom-left corner: down, then left, then right, then up. */
+    public static class CornerPolicy implements Policy {
+        private static final int[] PREFERENCE = {
+            Bitboard2048.DOWN, Bitboard2048.LEFT, Bitboard2048.RIGHT, Bitboard2048.UP
+        };
+
+        public String name() { return "corner"; }
+
+        public int chooseMove(long board, SplittableRandom random) {
+            for (int direction : PREFERENCE) {
+                if (Bitboard2048.move(board, direction) != board) return direction;
+            }
+            return -1;
+        }
+    }
+
+    public static Policy policyByName(String name) {
+        switch (name) {
+            case "random": return new RandomPolicy();
+            case "greedy": return new GreedyPolicy();
+            case "corner": return new CornerPolicy();
+            default: throw new IllegalArgumentException("Unknown policy: " + name);
+        }
+    }
+
+    /**
+     * Aggregated results for a range of games. Scores go into fixed-width buckets,
+     * the last one collecting everything above the range.
+     */
+    public static class Stats {
+        long games;
+        long moves;
+        long totalScore;
+        int minScore = Integer.MAX_VALUE;
+        int maxScore;
+        final long[] scoreBuckets = new long[SCORE_BUCKETS];
+        final long[] maxTileCounts = new long[Bitboard2048.MAX_EXPONENT + 1];
+
+        void record(int score, int moveCount, int maxExponent) {
+            games++;
+            moves += moveCount;
+            totalScore += score;
+            minScore = Math.min(minScore, score);
+            maxScore = Math.max(maxScore, score);
+            scoreBuckets[Math.min(score / SCORE_BUCKET_WIDTH, SCORE_BUCKETS - 1)]++;
+            maxTileCounts[maxExponent]++;
+        }
+
+        void merge(Stats other) {
+            games += other.games;
+            moves += other.moves;
+            totalScore += other.totalScore;
+            minScore = Math.min(minScore, other.minScore);
+            maxScore = Math.max(maxScore, other.maxScore);
+            for (int i = 0; i < SCORE_BUCKETS; i++) scoreBuckets[i] += other.scoreBuckets[i];
+            for (int i = 0; i < maxTileCounts.length; i++) maxTileCounts[i] += other.maxTileCounts[i];
+        }
+
+        /** Upper bound of the bucket containing the given quantile. */
+        int scorePercentile(double quantile) {
+            long rank = (long) Math.ceil(quantile * games);
+            long seen = 0;
+            for (int i = 0; i < SCORE_BUCKETS; i++) {
+                seen += scoreBuckets[i];
+                if (seen >= rank && seen > 0) return Math.min(maxScore, (i + 1) * SCORE_BUCKET_WIDTH - 1);
+            }
+            return maxScore;
+        }
+    }
+
+    private static class GameRange extends RecursiveTask<Stats> {
+        private final Policy policy;
+        private final long seed;
+        private final int fourPercent;
+        private final long from;
+        private final long to;
+
+        GameRange(Policy policy, long seed, int fourPercent, long from, long to) {
+            this.policy = policy;
+            this.seed = seed;
+            this.fourPercent = fourPercent;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Stats compute() {
+            if (to - from <= LEAF_GAMES) {
+                Stats stats = new Stats();
+                for (long game = from; game < to; game++) {
+                    playGame(policy, new SplittableRandom(seed + game * 0x9E3779B97F4A7C15L), fourPercent, stats);
+                }
+                return stats;
+            }
+            long middle = (from + to) >>> 1;
+            GameRange left = new GameRange(policy, seed, fourPercent, from, middle);
+            left.fork();
+            Stats right = new GameRange(policy, seed, fourPercent, middle, to).compute();
+            right.merge(left.join());
+            return right;
+        }
+    }
+
+    /**
+     * Play one game to the end, continuing past 2048 until no move is left.
+     */
+    public static void playGame(Policy policy, SplittableRandom random, int fourPercent, Stats stats) {
+        long board = Bitboard2048.addRandomTile(0L, random, fourPercent);
+        board = Bitboard2048.addRandomTile(board, random, fourPercent);
+        int score = 0;
+        int moves = 0;
+
+        while (true) {
+            int direction = policy.chooseMove(board, random);
+            if (direction < 0) break;
+            score += Bitboard2048.moveScore(board, direction);
+            board = Bitboard2048.addRandomTile(Bitboard2048.move(board, direction), random, fourPercent);
+            moves++;
+        }
+        stats.record(score, moves, Bitboard2048.maxExponent(board));
+    }
+
+    public static Stats simulate(Policy policy, long games, long seed, int fourPercent, ForkJoinPool pool) {
+        return pool.invoke(new GameRange(policy, seed, fourPercent, 0, games));
+    }
+
+    private static void printReport(Policy policy, Stats stats, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf(Locale.ROOT, "%n=== Policy: %s ===%n", policy.name());
+        System.out.printf(Locale.ROOT, "Games: %d in %.2f s (%.0f games/sec)%n", stats.games, seconds, stats.games / seconds);
+        System.out.printf(Locale.ROOT, "Average game length: %.1f moves%n", (double) stats.moves / stats.games);
+        System.out.printf(Locale.ROOT, "Score: avg %.1f, min %d, max %d, p50 <= %d, p90 <= %d, p99 <= %d%n",
+            (double) stats.totalScore / stats.games, stats.minScore, stats.maxScore,
+            stats.scorePercentile(0.50), stats.scorePercentile(0.90), stats.scorePercentile(0.99));
+
+        // Fold the fine buckets into power-of-two ranges for a readable distribution
+        System.out.println("Score distribution:");
+        int low = 0;
+        for (int high = SCORE_BUCKET_WIDTH; low < SCORE_BUCKETS * SCORE_BUCKET_WIDTH; high *= 2) {
+            long count = 0;
+            for (int i = low / SCORE_BUCKET_WIDTH; i < Math.min(high / SCORE_BUCKET_WIDTH, SCORE_BUCKETS); i++) {
+                count += stats.scoreBuckets[i];
+            }
+            if (count > 0) {
+                System.out.printf(Locale.ROOT, "  %7d - %7d: %6.2f%%%n", low, high - 1, 100.0 * count / stats.games);
+            }
+            low = high;
+        }
+
+        System.out.println("Max tile frequency:");
+        for (int e = 1; e < stats.maxTileCounts.length; e++) {
+            if (stats.maxTileCounts[e] == 0) continue;
+            System.out.printf(Locale.ROOT, "  %6d: %6.2f%%%n", 1 << e, 100.0 * stats.maxTileCounts[e] / stats.games);
+        }
+    }
+
+    public static void main(String[] args) {
+        long games = 100_000;
+        long seed = 2048;
+        String policyName = "all";
+        int fourPercent = 10;
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--games": games = Long.parseLong(value); i++; break;
+                case "--seed": seed = Long.parseLong(value); i++; break;
+                case "--policy": policyName = value; i++; break;
+                case "--four-percent": fourPercent = Integer.parseInt(value); i++; break;
+                case "--threads": threads = Integer.parseInt(value); i++; break;
+                default:
+                    System.err.println("Unknown argument: " + args[i]);
+                    System.err.println("Usage: java Game2048Simulator [--games N] [--seed S] "
+                        + "[--policy random|greedy|corner|all] [--four-percent P] [--threads T]");
+                    System.exit(1);
+            }
+        }
+
+        String[] policyNames = policyName.equals("all")
+            ? new String[] {"random", "greedy", "corner"}
+            : new String[] {policyName};
+
+        System.out.printf(Locale.ROOT, "Simulating %d games per policy, seed %d, %d%% fours, %d threads%n",
+            games, seed, fourPercent, threads);
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            for (String name : policyNames) {
+                Policy policy = policyByName(name);
+                long start = System.nanoTime();
+                Stats stats = simulate(policy, games, seed, fourPercent, pool);
+                printReport(policy, stats, System.nanoTime() - start);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -1,25 +1,65 @@
 import java.awt.*;
 import java.awt.event.*;
+import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
 import java.util.*;
 import javax.swing.*;
+import javax.swing.Timer;
 
 public class Game2048_GUI extends JFrame {
-    private int[][] board;
-    private int score;
+    private final Board2048 board;
     private boolean gameWon;
     private boolean gameOver;
     private final Random rand = new Random();
-    private static final int SIZE = 4;
-    private static final int WIN_VALUE = 2048;
+    private final int size;
     private BoardPanel gamePanel;
     private JLabel scoreLabel;
     private JLabel statusLabel;
+    private final GameMetrics metrics = GameMetrics.forGame("2048");
+    private final PerfOverlay overlay = new PerfOverlay();
+    private final Checkpoint checkpoint = Checkpoint.forGame("2048");
+    private final BoardHistory history;
+
+    // Slide for the first half of the animation, then pop merged tiles and grow the new one
+    private static final long ANIMATION_NANOS = 200_000_000L;
+    private static final int FRAME_MILLIS = 15; // ~66 FPS while a move animates
+    private static final int MOVE_QUEUE = 8;
+
+    private final TileMoves moves = new TileMoves();
+    private final Timer animation = new Timer(FRAME_MILLIS, e -> animationFrame());
+    private long animationStart;
+    private boolean animating;
+    // Directions of arrow keys pressed during an animation, oldest at queueHead
+    private final int[] queuedMoves = new int[MOVE_QUEUE];
+    private int queueHead;
+    private int queued;
+
+    private int telemetryRun;
+    private int telemetryMoves;
+    // This run's score has gone to GameEventBus; an undo back into play starts a new run
+    private boolean runSubmitted;
 
     public Game2048_GUI() {
-        setTitle("2048 Game");
+        this(Board2048.DEFAULT_SIZE);
+    }
+
+    public Game2048_GUI(int size) {
+        this(size, null);
+    }
+
+    /**
+     * @param saved checkpoint to continue from (after its size byte), or null for a new game
+     */
+    private Game2048_GUI(int size, ByteBuffer saved) {
+        this.size = size;
+        this.board = new Board2048(size);
+        this.history = new BoardHistory(board);
+
+        setTitle(size == Board2048.DEFAULT_SIZE ? "2048 Game" : "2048 Game (" + size + "x" + size + ")");
         setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
         setResizable(false);
-        setSize(400, 500);
+        int boardPixels = Math.max(400, size * 75);
+        setSize(boardPixels, boardPixels + 100);
         setLocationRelativeTo(null);
 
         JPanel topPanel = new JPanel(new BorderLayout(10, 10));
@@ -37,233 +77,466 @@ public class Game2048_GUI extends JFrame {
         add(topPanel, BorderLayout.NORTH);
         add(gamePanel, BorderLayout.CENTER);
 
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                // Every move is already saved; just make sure the last one is written
+                checkpoint.flush();
+            }
+        });
+
         addKeyListener(new KeyAdapter() {
             @Override
             public void keyPressed(KeyEvent e) {
-                handleKeyPress(e.getKeyCode());
+                if (e.isControlDown() && handleHistoryKey(e)) return;
+                int direction = directionFor(e.getKeyCode());
+                if (direction >= 0) offerMove(direction);
             }
         });
 
+        overlay.installToggle(this, gamePanel);
         setFocusable(true);
-        setVisible(true);
-        initializeGame();
+        if (saved != null) {
+            restore(saved);
+        } else {
+            initializeGame();
+        }
+    }
+
+    /**
+     * Open the game saved by the last unfinished 2048 window, or return null if there is none.
+     */
+    public static Game2048_GUI resume() {
+        Checkpoint checkpoint = Checkpoint.forGame("2048");
+        ByteBuffer saved = checkpoint.load();
+        if (saved == null) return null;
+        if (!isValid(saved.duplicate())) {
+            // Written by another build, say; the CRC only catches torn writes
+            System.err.println("Discarding an unreadable 2048 checkpoint");
+            checkpoint.clear();
+            return null;
+        }
+        return new Game2048_GUI(saved.get(), saved);
+    }
+
+    /**
+     * Whether a checkpoint decodes to a board restore can take: a known size, a score and
+     * one tile per cell that the board can hold
+     */
+    private static boolean isValid(ByteBuffer saved) {
+        if (saved.remaining() < 1 + 4) return false;
+        int size = saved.get();
+        if (size < Board2048.MIN_SIZE || size > Board2048.MAX_SIZE || saved.getInt() < 0) return false;
+        if (saved.remaining() != size * size) return false;
+        // The 4x4 board packs each tile into 4 bits; larger ones can't exceed one merge per cell
+        int maxExponent = size == 4 ? Bitboard2048.MAX_EXPONENT : size * size + 1;
+        while (saved.hasRemaining()) {
+            int exponent = saved.get();
+            if (exponent < 0 || exponent > maxExponent) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checkpoint layout: size, score, then one exponent byte per cell in row order
+     */
+    private void saveCheckpoint() {
+        if (gameOver || gameWon) {
+            checkpoint.clear();
+            return;
+        }
+        byte[] state = new byte[1 + 4 + size * size];
+        state[0] = (byte) size;
+        int score = board.getScore();
+        state[1] = (byte) (score >>> 24);
+        state[2] = (byte) (score >>> 16);
+        state[3] = (byte) (score >>> 8);
+        state[4] = (byte) score;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                state[5 + row * size + col] = (byte) board.getExponent(row, col);
+            }
+        }
+        checkpoint.save(state);
+    }
+
+    private void restore(ByteBuffer saved) {
+        board.clear();
+        board.setScore(saved.getInt());
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                board.setExponent(row, col, saved.get());
+            }
+        }
+        gameWon = false;
+        gameOver = false;
+        runSubmitted = false;
+        history.reset();
+        stopAnimation();
+        startTelemetryRun();
+        updateUI();
     }
 
     private void initializeGame() {
-        board = new int[SIZE][SIZE];
-        score = 0;
+        board.clear();
         gameWon = false;
         gameOver = false;
-        addRandomTile();
-        addRandomTile();
+        runSubmitted = false;
+        board.addRandomTile(rand);
+        board.addRandomTile(rand);
+        history.reset();
+        stopAnimation();
+        GameEventBus.runStarted("2048");
+        startTelemetryRun();
         updateUI();
+        saveCheckpoint();
     }
 
-    private void handleKeyPress(int keyCode) {
-        if (gameOver || gameWon) return;
+    /**
+     * Ctrl+Z undoes a move, Ctrl+Y or Ctrl+Shift+Z redoes it. Works after the game has ended
+     * too; as that run's score is already submitted, playing on from an undo is a new run.
+     */
+    private boolean handleHistoryKey(KeyEvent e) {
+        boolean changed;
+        if (e.getKeyCode() == KeyEvent.VK_Z && !e.isShiftDown()) {
+            changed = history.undo();
+        } else if (e.getKeyCode() == KeyEvent.VK_Y || e.getKeyCode() == KeyEvent.VK_Z) {
+            changed = history.redo();
+        } else {
+            return false;
+        }
+        stopAnimation();
+        if (changed) {
+            gameWon = board.hasWon();
+            gameOver = false;
+            checkGameOver();
+            if (runSubmitted && !gameOver && !gameWon) {
+                runSubmitted = false;
+                GameEventBus.runStarted("2048");
+                startTelemetryRun();
+            }
+            updateUI();
+            saveCheckpoint();
+        }
+        return true;
+    }
 
-        boolean boardChanged = false;
+    private static int directionFor(int keyCode) {
         switch (keyCode) {
-            case KeyEvent.VK_LEFT: boardChanged = move('a'); break;
-            case KeyEvent.VK_RIGHT: boardChanged = move('d'); break;
-            case KeyEvent.VK_UP: boardChanged = move('w'); break;
-            case KeyEvent.VK_DOWN: boardChanged = move('s'); break;
+            case KeyEvent.VK_LEFT: return Board2048.LEFT;
+            case KeyEvent.VK_RIGHT: return Board2048.RIGHT;
+            case KeyEvent.VK_UP: return Board2048.UP;
+            case KeyEvent.VK_DOWN: return Board2048.DOWN;
+            default: return -1;
         }
+    }
 
+    /**
+     * Play a move now, or after the move still on screen: the next animation frame cuts that
+     * animation short, so a fast player never waits for it. A full queue drops the key.
+     */
+    private void offerMove(int direction) {
+        if (!animating) {
+            handleMove(direction);
+        } else if (queued < queuedMoves.length) {
+            queuedMoves[(queueHead + queued) % queuedMoves.length] = direction;
+            queued++;
+        }
+    }
+
+    private void handleMove(int direction) {
+        if (gameOver || gameWon) return;
+        // 2048 has no timer: a tick is one key press, so there is no jitter to record
+        long tickStart = metrics.beginTick(0, 0);
+        overlay.onTick();
+
+        boolean boardChanged = board.move(direction, moves);
         if (boardChanged) {
-            addRandomTile();
+            gameWon = board.hasWon();
+            moves.spawnCell = board.addRandomTile(rand);
+            history.record();
             checkGameOver();
+            recordMove(direction);
+            startAnimation();
             updateUI();
-            if (gameOver || gameWon) showEndGameDialog();
+            saveCheckpoint();
+        }
+        metrics.endTick(tickStart);
+        if (boardChanged && (gameOver || gameWon)) showEndGameDialog();
+    }
+
+    private void startTelemetryRun() {
+        telemetryRun = Telemetry.startRun(Telemetry.GAME_2048);
+        telemetryMoves = 0;
+    }
+
+    private void recordMove(int direction) {
+        telemetryMoves++;
+        int maxExponent = board.getMaxExponent();
+        Telemetry.record(telemetryRun, Telemetry.GAME_2048, Telemetry.MOVE, telemetryMoves,
+            direction, maxExponent, board.getScore(), 0);
+        if (gameOver || gameWon) {
+            Telemetry.endRun(telemetryRun, Telemetry.GAME_2048, board.getScore(), telemetryMoves,
+                maxExponent, gameWon ? 1 : 0);
         }
     }
 
+    private void startAnimation() {
+        animationStart = System.nanoTime();
+        animating = true;
+        if (!animation.isRunning()) animation.start();
+    }
+
+    /**
+     * Show the board as it is, without finishing the animation or playing queued keys.
+     */
+    private void stopAnimation() {
+        animating = false;
+        animation.stop();
+        queued = 0;
+    }
+
+    private double animationProgress() {
+        if (!animating) return 1.0;
+        return Math.min(1.0, (System.nanoTime() - animationStart) / (double) ANIMATION_NANOS);
+    }
+
+    private void animationFrame() {
+        if (queued > 0) {
+            // Cut this animation short for the next queued move that changes the board
+            animating = false;
+            while (queued > 0 && !animating) {
+                int direction = queuedMoves[queueHead];
+                queueHead = (queueHead + 1) % queuedMoves.length;
+                queued--;
+                handleMove(direction);
+            }
+        } else if (animationProgress() >= 1.0) {
+            animating = false;
+        }
+        if (!animating) animation.stop();
+        gamePanel.repaint();
+    }
+
     private void showEndGameDialog() {
+        int score = board.getScore();
         String message = gameOver ? "Game Over!" : "You Win!";
         String title = gameOver ? "Game Over" : "Congratulations!";
         
         // Automatically submit score without asking for name
-        if (score > 0) {
-            LeaderboardManager.getInstance().submitScore("2048", score);
-        }
+        GameEventBus.runFinished("2048", score);
+        runSubmitted = true;
         
-        int choice = JOptionPane.showConfirmDialog(this, 
+        // The board's window, which is a FullscreenHost rather than this frame when fullscreen
+        int choice = JOptionPane.showConfirmDialog(SwingUtilities.getWindowAncestor(gamePanel), 
             message + "\nYour score: " + score + "\n\nPlay Again?", 
             title, JOptionPane.YES_NO_OPTION);
         if (choice == JOptionPane.YES_OPTION) initializeGame();
     }
 
     private void updateUI() {
-        scoreLabel.setText("Score: " + score);
+        scoreLabel.setText("Score: " + board.getScore());
         if (gameWon) statusLabel.setText("You Win!");
         else if (gameOver) statusLabel.setText("Game Over!");
-        else statusLabel.setText("Use arrow keys!");
+        else statusLabel.setText(history.canUndo() ? "Ctrl+Z to undo" : "Use arrow keys!");
         gamePanel.repaint();
     }
 
-    private boolean move(char direction) {
-        int[][] originalBoard = new int[SIZE][];
-        for (int i = 0; i < SIZE; i++) {
-            originalBoard[i] = Arrays.copyOf(board[i], SIZE);
-        }
-
-        switch (direction) {
-            case 'a': moveLeft(); break;
-            case 'd': rotateBoard(2); moveLeft(); rotateBoard(2); break;
-            case 'w': rotateBoard(3); moveLeft(); rotateBoard(1); break;
-            case 's': rotateBoard(1); moveLeft(); rotateBoard(3); break;
-            default: return false;
-        }
-        return !Arrays.deepEquals(originalBoard, board);
+    private void checkGameOver() {
+        if (gameWon || !board.isFull()) return;
+        if (!board.canMove()) gameOver = true;
     }
 
-    private void moveLeft() {
-        for (int i = 0; i < SIZE; i++) {
-            board[i] = processRow(board[i]);
+    private class BoardPanel extends JPanel {
+        private final BoardRenderer renderer = new BoardRenderer(size);
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            long paintStart = metrics.beginPaint(g);
+            super.paintComponent(g);
+            Graphics2D g2d = (Graphics2D) g;
+            renderer.draw(g2d, board, getWidth(), getHeight(), moves, animationProgress());
+            overlay.onFrame();
+            overlay.draw(g2d, 5, 5);
+            metrics.endPaint(paintStart);
         }
     }
 
-    private int[] processRow(int[] row) {
-        java.util.List<Integer> nonZeroTiles = new java.util.ArrayList<>();
-        for (int value : row) {
-            if (value != 0) nonZeroTiles.add(value);
+    /**
+     * Draws a Board2048, still or partway through a move's animation. Each tile, rounded
+     * corners and number included, is drawn once per tile size into an image, and so is each
+     * step of the pop and grow animations, so a frame only copies images and allocates
+     * nothing; RenderAllocationCheck holds it to that.
+     */
+    static final class BoardRenderer {
+        private static final Color BACKGROUND = new Color(0xBBADA0);
+        private static final Color DARK_TEXT = new Color(0x776E65);
+        private static final Color LIGHT_TEXT = new Color(0xF9F6F2);
+        // By exponent: empty, 2, 4, ... 2048; bigger tiles are all BIG_TILE
+        private static final Color[] TILE_COLORS = {
+            new Color(0xCDC1B4), new Color(0xEEE4DA), new Color(0xEDE0C8), new Color(0xF2B179),
+            new Color(0xF59563), new Color(0xF67C5F), new Color(0xF65E3B), new Color(0xEDCF72),
+            new Color(0xEDCC61), new Color(0xEDC850), new Color(0xEDC53F), new Color(0xEDC22E)
+        };
+        private static final Color BIG_TILE = new Color(0x3C3A32);
+
+        // Tiles slide until this point of the animation, then merged tiles pop and the new one grows
+        private static final double SLIDE_END = 0.5;
+        // Scaled tiles come in tenths of the tile size, up to a 120% pop
+        private static final int SCALE_STEPS = 10;
+        private static final int MAX_SCALE = 12;
+        private static final double POP = 0.2;
+
+        private final int size;
+        // 15px between tiles on the classic 4x4 board, tighter on bigger boards
+        private final int tileMargin;
+        private int tileSize = -1;
+        private int xOffset;
+        private int yOffset;
+        // By exponent, then by scale in tenths for scaledTiles
+        private BufferedImage[] tiles = new BufferedImage[18];
+        private BufferedImage[][] scaledTiles = new BufferedImage[18][];
+
+        BoardRenderer(int size) {
+            this.size = size;
+            this.tileMargin = Math.max(6, 60 / size);
         }
 
-        java.util.List<Integer> mergedTiles = new java.util.ArrayList<>();
-        for (int i = 0; i < nonZeroTiles.size(); i++) {
-            if (i < nonZeroTiles.size() - 1 && nonZeroTiles.get(i).equals(nonZeroTiles.get(i + 1))) {
-                int mergedValue = nonZeroTiles.get(i) * 2;
-                mergedTiles.add(mergedValue);
-                score += mergedValue;
-                if (mergedValue == WIN_VALUE) gameWon = true;
-                i++;
-            } else {
-                mergedTiles.add(nonZeroTiles.get(i));
-            }
+        void draw(Graphics2D g, Board2048 board, int width, int height) {
+            draw(g, board, width, height, null, 1.0);
         }
 
-        int[] newRow = new int[SIZE];
-        for (int i = 0; i < mergedTiles.size(); i++) {
-            newRow[i] = mergedTiles.get(i);
-        }
-        return newRow;
-    }
+        /**
+         * @param board the board after the move
+         * @param moves the move being animated, or null
+         * @param progress how far the animation is, from 0 to 1; 1 draws the board still
+         */
+        void draw(Graphics2D g, Board2048 board, int width, int height, TileMoves moves, double progress) {
+            g.setColor(BACKGROUND);
+            g.fillRect(0, 0, width, height);
+            if (!layout(width, height)) return;
+
+            BufferedImage empty = tile(g, 0);
+            for (int cell = 0; cell < size * size; cell++) {
+                g.drawImage(empty, cellX(cell), cellY(cell), null);
+            }
 
-    private void rotateBoard(int times) {
-        for (int t = 0; t < times; t++) {
-            int[][] newBoard = new int[SIZE][SIZE];
-            for (int i = 0; i < SIZE; i++) {
-                for (int j = 0; j < SIZE; j++) {
-                    newBoard[j][SIZE - 1 - i] = board[i][j];
+            if (moves == null || moves.count == 0 || progress >= 1.0) {
+                for (int cell = 0; cell < size * size; cell++) {
+                    int exponent = board.getExponent(cell / size, cell % size);
+                    if (exponent != 0) g.drawImage(tile(g, exponent), cellX(cell), cellY(cell), null);
+                }
+            } else if (progress < SLIDE_END) {
+                // Every tile of the old board on its way, easing out towards where it stops
+                double t = progress / SLIDE_END;
+                double eased = 1 - (1 - t) * (1 - t);
+                for (int i = 0; i < moves.count; i++) {
+                    int fromX = cellX(moves.fromCell[i]);
+                    int fromY = cellY(moves.fromCell[i]);
+                    int x = fromX + (int) Math.round((cellX(moves.toCell[i]) - fromX) * eased);
+                    int y = fromY + (int) Math.round((cellY(moves.toCell[i]) - fromY) * eased);
+                    g.drawImage(tile(g, moves.exponent[i]), x, y, null);
+                }
+            } else {
+                double t = (progress - SLIDE_END) / (1 - SLIDE_END);
+                for (int cell = 0; cell < size * size; cell++) {
+                    int exponent = board.getExponent(cell / size, cell % size);
+                    if (exponent == 0) continue;
+                    if (cell == moves.spawnCell) {
+                        drawScaled(g, exponent, t, cell);
+                    } else if (moves.merged[cell]) {
+                        drawScaled(g, exponent, 1 + POP * Math.sin(Math.PI * t), cell);
+                    } else {
+                        g.drawImage(tile(g, exponent), cellX(cell), cellY(cell), null);
+                    }
                 }
             }
-            board = newBoard;
         }
-    }
 
-    private void addRandomTile() {
-        java.util.List<int[]> emptyCells = new java.util.ArrayList<>();
-        for (int i = 0; i < SIZE; i++) {
-            for (int j = 0; j < SIZE; j++) {
-                if (board[i][j] == 0) emptyCells.add(new int[]{i, j});
+        /** Work out the tile size and board position; false if the board doesn't fit at all */
+        private boolean layout(int width, int height) {
+            int panelSize = Math.min(width, height);
+            int tileSize = (panelSize - tileMargin * (size + 1)) / size;
+            if (tileSize <= 0) return false;
+            if (tileSize != this.tileSize) {
+                this.tileSize = tileSize;
+                Arrays.fill(tiles, null);
+                Arrays.fill(scaledTiles, null);
             }
+            xOffset = (width - (tileSize * size + tileMargin * (size + 1))) / 2;
+            yOffset = (height - (tileSize * size + tileMargin * (size + 1))) / 2;
+            return true;
         }
-        if (!emptyCells.isEmpty()) {
-            int[] cell = emptyCells.get(rand.nextInt(emptyCells.size()));
-            board[cell[0]][cell[1]] = (rand.nextInt(10) == 0) ? 4 : 2;
-        }
-    }
 
-    private void checkGameOver() {
-        if (gameWon || !isBoardFull()) return;
-        if (!canMove()) gameOver = true;
-    }
+        private int cellX(int cell) {
+            return xOffset + tileMargin + (cell % size) * (tileSize + tileMargin);
+        }
 
-    private boolean isBoardFull() {
-        for (int i = 0; i < SIZE; i++) {
-            for (int j = 0; j < SIZE; j++) {
-                if (board[i][j] == 0) return false;
-            }
+        private int cellY(int cell) {
+            return yOffset + tileMargin + (cell / size) * (tileSize + tileMargin);
         }
-        return true;
-    }
 
-    private boolean canMove() {
-        for (int i = 0; i < SIZE; i++) {
-            for (int j = 0; j < SIZE - 1; j++) {
-                if (board[i][j] == board[i][j + 1]) return true;
+        /** The tile at the given scale, to the nearest tenth, centred on its cell */
+        private void drawScaled(Graphics2D g, int exponent, double scale, int cell) {
+            int step = Math.min(MAX_SCALE, (int) Math.round(scale * SCALE_STEPS));
+            if (step <= 0) return;
+            if (step == SCALE_STEPS) {
+                g.drawImage(tile(g, exponent), cellX(cell), cellY(cell), null);
+                return;
             }
-        }
-        for (int j = 0; j < SIZE; j++) {
-            for (int i = 0; i < SIZE - 1; i++) {
-                if (board[i][j] == board[i + 1][j]) return true;
+            BufferedImage tile = tile(g, exponent);
+            if (scaledTiles[exponent] == null) scaledTiles[exponent] = new BufferedImage[MAX_SCALE + 1];
+            BufferedImage scaled = scaledTiles[exponent][step];
+            int scaledSize = Math.max(1, tileSize * step / SCALE_STEPS);
+            if (scaled == null) {
+                scaled = g.getDeviceConfiguration().createCompatibleImage(scaledSize, scaledSize, Transparency.TRANSLUCENT);
+                Graphics2D scaledGraphics = scaled.createGraphics();
+                scaledGraphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                scaledGraphics.drawImage(tile, 0, 0, scaledSize, scaledSize, null);
+                scaledGraphics.dispose();
+                scaledTiles[exponent][step] = scaled;
             }
+            int inset = (tileSize - scaledSize) / 2;
+            g.drawImage(scaled, cellX(cell) + inset, cellY(cell) + inset, null);
         }
-        return false;
-    }
 
-    private class BoardPanel extends JPanel {
-        private static final int TILE_MARGIN = 15;
-
-        private Color getTileColor(int value) {
-            switch (value) {
-                case 0: return new Color(0xCDC1B4);
-                case 2: return new Color(0xEEE4DA);
-                case 4: return new Color(0xEDE0C8);
-                case 8: return new Color(0xF2B179);
-                case 16: return new Color(0xF59563);
-                case 32: return new Color(0xF67C5F);
-                case 64: return new Color(0xF65E3B);
-                case 128: return new Color(0xEDCF72);
-                case 256: return new Color(0xEDCC61);
-                case 512: return new Color(0xEDC850);
-                case 1024: return new Color(0xEDC53F);
-                case 2048: return new Color(0xEDC22E);
-                default: return new Color(0x3C3A32);
+        private BufferedImage tile(Graphics2D g, int exponent) {
+            if (exponent >= tiles.length) {
+                tiles = Arrays.copyOf(tiles, exponent + 1);
+                scaledTiles = Arrays.copyOf(scaledTiles, exponent + 1);
             }
+            BufferedImage tile = tiles[exponent];
+            if (tile == null) {
+                tile = g.getDeviceConfiguration().createCompatibleImage(tileSize, tileSize, Transparency.TRANSLUCENT);
+                paintTile(tile, exponent);
+                tiles[exponent] = tile;
+            }
+            return tile;
         }
 
-        private Color getTextColor(int value) {
-            return (value < 16) ? new Color(0x776E65) : new Color(0xF9F6F2);
-        }
-
-        @Override
-        protected void paintComponent(Graphics g) {
-            super.paintComponent(g);
-            Graphics2D g2d = (Graphics2D) g;
+        private void paintTile(BufferedImage tile, int exponent) {
+            Graphics2D g2d = tile.createGraphics();
             g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
             g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-
-            g2d.setColor(new Color(0xBBADA0));
-            g2d.fillRect(0, 0, getWidth(), getHeight());
-
-            int panelSize = Math.min(getWidth(), getHeight());
-            int tileSize = (panelSize - TILE_MARGIN * (SIZE + 1)) / SIZE;
-            int xOffset = (getWidth() - (tileSize * SIZE + TILE_MARGIN * (SIZE + 1))) / 2;
-            int yOffset = (getHeight() - (tileSize * SIZE + TILE_MARGIN * (SIZE + 1))) / 2;
-
-            for (int i = 0; i < SIZE; i++) {
-                for (int j = 0; j < SIZE; j++) {
-                    int value = board[i][j];
-                    int x = xOffset + TILE_MARGIN + (j * (tileSize + TILE_MARGIN));
-                    int y = yOffset + TILE_MARGIN + (i * (tileSize + TILE_MARGIN));
-
-                    g2d.setColor(getTileColor(value));
-                    g2d.fillRoundRect(x, y, tileSize, tileSize, 10, 10);
-
-                    if (value != 0) {
-                        g2d.setColor(getTextColor(value));
-                        int fontSize = value < 128 ? 36 : value < 1024 ? 32 : 28;
-                        Font font = new Font("Arial", Font.BOLD, fontSize);
-                        g2d.setFont(font);
-                        String s = String.valueOf(value);
-                        FontMetrics fm = g2d.getFontMetrics(font);
-                        int textX = x + (tileSize - fm.stringWidth(s)) / 2;
-                        int textY = y + (tileSize - fm.getHeight()) / 2 + fm.getAscent();
-                        g2d.drawString(s, textX, textY);
-                    }
-                }
+            int arc = Math.max(6, tileSize / 8);
+            g2d.setColor(exponent < TILE_COLORS.length ? TILE_COLORS[exponent] : BIG_TILE);
+            g2d.fillRoundRect(0, 0, tileSize, tileSize, arc, arc);
+
+            if (exponent != 0) {
+                int value = 1 << exponent;
+                g2d.setColor(value < 16 ? DARK_TEXT : LIGHT_TEXT);
+                // Font sizes were tuned for the 4x4 board's ~80px tiles
+                int baseSize = value < 128 ? 36 : value < 1024 ? 32 : value < 16384 ? 28 : 22;
+                int fontSize = Math.max(10, baseSize * tileSize / 80);
+                Font font = new Font("Arial", Font.BOLD, fontSize);
+                g2d.setFont(font);
+                String s = String.valueOf(value);
+                FontMetrics fm = g2d.getFontMetrics(font);
+                int textX = (tileSize - fm.stringWidth(s)) / 2;
+                int textY = (tileSize - fm.getHeight()) / 2 + fm.getAscent();
+                g2d.drawString(s, textX, textY);
             }
+            g2d.dispose();
         }
     }
-}
\ No newline at end of file
+}
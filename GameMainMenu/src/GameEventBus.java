@@ -0,0 +1,192 @@
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Delivers game events (a run started, a run finished with a score) from the games to the
+ * leaderboard and any other subscriber.
+ *
+ * publish never locks or blocks: it links the event onto a multi-producer, single-consumer
+ * queue with one atomic swap. One daemon thread per bus takes events off in publish order
+ * (per producer) and calls every subscriber, so subscribers run on that thread and should
+ * hop onto the EDT themselves for Swing work.
+ *
+ * The default bus feeds RUN_FINISHED scores to LeaderboardManager and ScoreHistory and
+ * delivers whatever is still queued when the JVM shuts down.
+ */
+public final class GameEventBus {
+    public static final int RUN_STARTED = 1;
+    public static final int RUN_FINISHED = 2;
+
+    private static final long SHUTDOWN_FLUSH_MILLIS = 2000;
+    private static GameEventBus defaultBus;
+
+    /**
+     * One event. Immutable, so it can be handed between threads freely.
+     */
+    public static final class Event {
+        private final int type;
+        private final String game;
+        private final int score;
+        private final long time;
+
+        public Event(int type, String game, int score) {
+            this.type = type;
+            this.game = game;
+            this.score = score;
+            this.time = System.currentTimeMillis();
+        }
+
+        public int getType() { return type; }
+        public String getGame() { return game; }
+        public int getScore() { return score; }
+        /** Wall clock time of publishing, in milliseconds */
+        public long getTime() { return time; }
+
+        @Override
+        public String toString() {
+            return (type == RUN_STARTED ? "run started" : type == RUN_FINISHED ? "run finished" : "event " + type)
+                + ": " + game + " (" + score + ")";
+        }
+    }
+
+    /**
+     * Queue node; a flush marker carries a latch instead of an event.
+     */
+    private static final class Node {
+        Event event;
+        final CountDownLatch flushed;
+        volatile Node next;
+
+        Node(Event event, CountDownLatch flushed) {
+            this.event = event;
+            this.flushed = flushed;
+        }
+    }
+
+    private final List<GameEventListener> subscribers = new CopyOnWriteArrayList<>();
+    // Producers swap themselves in at the tail; only the consumer moves head
+    private final AtomicReference<Node> tail;
+    private Node head;
+    private final Thread consumer;
+    private volatile boolean consumerParked;
+
+    public GameEventBus(String name) {
+        head = new Node(null, null);
+        tail = new AtomicReference<>(head);
+        consumer = new Thread(this::consume, name);
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    /**
+     * The bus the games publish to, created with the leaderboard and score history as its
+     * first subscribers.
+     */
+    public static synchronized GameEventBus getDefault() {
+        if (defaultBus == null) {
+            GameEventBus bus = new GameEventBus("game-event-bus");
+            bus.subscribe(event -> {
+                if (event.getType() == RUN_FINISHED) {
+                    // A history created from the leaderboard after this score reached it would list the run twice
+                    ScoreHistory.seed();
+                    LeaderboardManager.getInstance().submitScore(event.getGame(), event.getScore());
+                    ScoreHistory.append(event.getGame(), event.getScore(), event.getTime());
+                }
+            });
+            // Standalone games exit right after their window closes; don't lose the last score
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> bus.flush(SHUTDOWN_FLUSH_MILLIS), "game-event-flush"));
+            defaultBus = bus;
+        }
+        return defaultBus;
+    }
+
+    /**
+     * Publish to the default bus that a run of a game has begun.
+     */
+    public static void runStarted(String game) {
+        getDefault().publish(new Event(RUN_STARTED, game, 0));
+    }
+
+    /**
+     * Publish to the default bus that a run has ended with the given score.
+     */
+    public static void runFinished(String game, int score) {
+        getDefault().publish(new Event(RUN_FINISHED, game, score));
+    }
+
+    public void subscribe(GameEventListener listener) {
+        subscribers.add(listener);
+    }
+
+    public void unsubscribe(GameEventListener listener) {
+        subscribers.remove(listener);
+    }
+
+    /**
+     * Queue an event for the subscribers. Safe from any thread; never blocks.
+     */
+    public void publish(Event event) {
+        enqueue(new Node(event, null));
+    }
+
+    private void enqueue(Node node) {
+        Node previous = tail.getAndSet(node);
+        // Until this link is written the consumer sees the queue end at previous. It re-checks
+        // after announcing that it parks, so either it sees the link or we see the flag
+        previous.next = node;
+        if (consumerParked) {
+            // Only the first producer to find it parked pays for the unpark
+            consumerParked = false;
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    /**
+     * Wait until every event published before this call has been delivered.
+     * Returns false if that took longer than the timeout.
+     */
+    public boolean flush(long timeoutMillis) {
+        CountDownLatch flushed = new CountDownLatch(1);
+        enqueue(new Node(null, flushed));
+        try {
+            return flushed.await(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void consume() {
+        while (true) {
+            Node next = head.next;
+            if (next == null) {
+                consumerParked = true;
+                if (head.next == null) LockSupport.park(this);
+                consumerParked = false;
+                continue;
+            }
+            head = next;
+            Event event = next.event;
+            next.event = null; // head stays reachable until the next event; don't pin this one
+            if (next.flushed != null) {
+                next.flushed.countDown();
+            } else {
+                deliver(event);
+            }
+        }
+    }
+
+    private void deliver(Event event) {
+        for (GameEventListener subscriber : subscribers) {
+            try {
+                subscriber.onEvent(event);
+            } catch (RuntimeException e) {
+                System.err.println("Game event subscriber failed on " + event + ": " + e);
+            }
+        }
+    }
+}
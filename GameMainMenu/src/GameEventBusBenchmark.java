@@ -0,0 +1,126 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures GameEventBus.publish under contention: many threads publish as fast as they can
+ * while one consumer drains, then reports per-call publish latency and end-to-end throughput.
+ * The same load is run through a LinkedBlockingQueue (one lock for all producers) for
+ * comparison.
+ *
+ * Usage: java GameEventBusBenchmark [--producers N] [--events N] [--rounds N]
+ */
+public class GameEventBusBenchmark {
+    private interface Publisher {
+        void publish(GameEventBus.Event event);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int producers = 16;
+        int events = 200_000;
+        int rounds = 3;
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--producers": producers = Integer.parseInt(value); i++; break;
+                case "--events": events = Integer.parseInt(value); i++; break;
+                case "--rounds": rounds = Integer.parseInt(value); i++; break;
+                default:
+                    System.err.println("Unknown argument: " + args[i]);
+                    System.err.println("Usage: java GameEventBusBenchmark [--producers N] [--events N] [--rounds N]");
+                    System.exit(1);
+            }
+        }
+
+        System.out.printf(Locale.ROOT, "%d producers x %d events, %d rounds, %d cores%n",
+            producers, events, rounds, Runtime.getRuntime().availableProcessors());
+
+        // Its own bus, so no scores reach the real leaderboard
+        GameEventBus bus = new GameEventBus("benchmark-bus");
+        AtomicLong busReceived = new AtomicLong();
+        bus.subscribe(event -> busReceived.incrementAndGet());
+
+        BlockingQueue<GameEventBus.Event> queue = new LinkedBlockingQueue<>();
+        AtomicLong queueReceived = new AtomicLong();
+        Thread queueConsumer = new Thread(() -> {
+            try {
+                while (true) {
+                    queue.take();
+                    queueReceived.incrementAndGet();
+                }
+            } catch (InterruptedException e) {
+                // Done
+            }
+        }, "benchmark-queue");
+        queueConsumer.setDaemon(true);
+        queueConsumer.start();
+
+        // The first round of each warms up the JIT and is not reported
+        for (int round = 0; round <= rounds; round++) {
+            run(round == 0 ? null : "GameEventBus      ", bus::publish, busReceived, producers, events);
+            run(round == 0 ? null : "LinkedBlockingQueue", queue::add, queueReceived, producers, events);
+        }
+    }
+
+    private static void run(String label, Publisher publisher, AtomicLong received, int producers, int events)
+            throws InterruptedException {
+        long expected = received.get() + (long) producers * events;
+        List<LatencyHistogram> latencies = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            LatencyHistogram latency = new LatencyHistogram();
+            latencies.add(latency);
+            String game = "game-" + p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < events; i++) {
+                    GameEventBus.Event event = new GameEventBus.Event(GameEventBus.RUN_FINISHED, game, i);
+                    long begin = System.nanoTime();
+                    publisher.publish(event);
+                    latency.record(System.nanoTime() - begin);
+                }
+            }, "producer-" + p);
+            thread.start();
+            threads.add(thread);
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads) thread.join();
+        long published = System.nanoTime() - begin;
+        while (received.get() < expected) Thread.yield();
+        long delivered = System.nanoTime() - begin;
+        if (label == null) return;
+
+        // Percentiles per producer; report the median producer and the worst one
+        long[] p50 = new long[producers];
+        long[] p99 = new long[producers];
+        long[] p999 = new long[producers];
+        long max = 0;
+        for (int p = 0; p < producers; p++) {
+            p50[p] = latencies.get(p).getPercentile(0.5);
+            p99[p] = latencies.get(p).getPercentile(0.99);
+            p999[p] = latencies.get(p).getPercentile(0.999);
+            max = Math.max(max, latencies.get(p).getMax());
+        }
+        java.util.Arrays.sort(p50);
+        java.util.Arrays.sort(p99);
+        java.util.Arrays.sort(p999);
+        long total = (long) producers * events;
+        System.out.printf(Locale.ROOT,
+            "%s publish p50 %4d ns, p99 %6d ns (worst producer %6d), p99.9 %7d ns, max %5.1f ms | "
+                + "%5.2f M/s published, %5.2f M/s delivered%n",
+            label, p50[producers / 2], p99[producers / 2], p99[producers - 1], p999[producers - 1], max / 1e6,
+            total / (published / 1e3), total / (delivered / 1e3));
+    }
+}
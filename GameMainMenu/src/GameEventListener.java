@@ -0,0 +1,7 @@
+/**
+ * Subscriber of a GameEventBus. Called on the bus's consumer thread, one event at a time;
+ * Swing listeners should hop onto the EDT themselves.
+ */
+public interface GameEventListener {
+    void onEvent(GameEventBus.Event event);
+}
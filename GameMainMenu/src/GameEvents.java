@@ -0,0 +1,123 @@
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder events for the game collection.
+ *
+ * Record with the bundled profile, for example:
+ * <pre>
+ *   java -XX:StartFlightRecording:settings=GameMainMenu/codejam.jfc,filename=session.jfr GameMainMenu
+ * </pre>
+ * Tick and paint events are only created while a recording has them enabled, so the games
+ * do not allocate for them otherwise.
+ */
+public final class GameEvents {
+    private static final Map<String, GameLaunch> PENDING_LAUNCHES = new ConcurrentHashMap<>();
+
+    private GameEvents() {
+    }
+
+    @Name("codejam.GameTick")
+    @Label("Game Tick")
+    @Category({"CodeJam", "Games"})
+    @Description("One game loop tick (for 2048, one key press)")
+    public static class GameTick extends Event {
+        static final EventType TYPE = EventType.getEventType(GameTick.class);
+
+        @Label("Game")
+        String game;
+    }
+
+    @Name("codejam.GamePaint")
+    @Label("Game Paint")
+    @Category({"CodeJam", "Games"})
+    @Description("One paintComponent call of a game or the menu")
+    public static class GamePaint extends Event {
+        static final EventType TYPE = EventType.getEventType(GamePaint.class);
+
+        @Label("Game")
+        String game;
+
+        @Label("Clip Width")
+        int clipWidth;
+
+        @Label("Clip Height")
+        int clipHeight;
+    }
+
+    @Name("codejam.GameLaunch")
+    @Label("Game Launch")
+    @Category({"CodeJam", "Games"})
+    @Description("From choosing a game in the menu until its first frame is painted, or from the menu's start until it is first painted")
+    public static class GameLaunch extends Event {
+        @Label("Game")
+        String game;
+
+        @Label("Mode")
+        String mode;
+
+        @Label("Reached First Frame")
+        @Description("False when the game runs in another process and the event ends at process start")
+        boolean firstFrame;
+    }
+
+    @Name("codejam.LeaderboardIO")
+    @Label("Leaderboard I/O")
+    @Category({"CodeJam", "Leaderboard"})
+    @Description("Loading or saving the highscores file")
+    public static class LeaderboardIO extends Event {
+        @Label("Operation")
+        String operation;
+
+        @Label("File")
+        String file;
+
+        @Label("Entries")
+        int entries;
+
+        @Label("Bytes")
+        @DataAmount
+        long bytes;
+    }
+
+    /**
+     * Start timing a game launch. Ended by the game's first painted frame.
+     */
+    public static void launchStarted(String game, String mode) {
+        GameLaunch event = new GameLaunch();
+        event.game = game;
+        event.mode = mode;
+        event.begin();
+        PENDING_LAUNCHES.put(game, event);
+    }
+
+    /**
+     * End a pending launch without a first frame, when the game continues in another process.
+     */
+    public static void launchHandedOff(String game) {
+        GameLaunch event = PENDING_LAUNCHES.remove(game);
+        if (event != null) {
+            event.firstFrame = false;
+            event.commit();
+        }
+    }
+
+    /**
+     * Called after every painted frame; commits the launch event on the first one.
+     */
+    static void framePainted(String game) {
+        if (PENDING_LAUNCHES.isEmpty()) return;
+        GameLaunch event = PENDING_LAUNCHES.remove(game);
+        if (event != null) {
+            event.firstFrame = true;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+import javax.swing.*;
+
+class GameFrame extends JFrame {
+    GameFrame() {
+        this(new GamePanel());
+    }
+
+    GameFrame(JPanel panel) {
+        this.add(panel);
+        this.setTitle("Snake Game");
+        this.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        this.setResizable(false);
+        this.pack();
+        this.setVisible(true);
+        this.setLocationRelativeTo(null);
+    }
+}
@@ -2,11 +2,10 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.awt.geom.RoundRectangle2D;
-import java.io.BufferedReader;
-import java.io.File;
-import java.io.FileReader;
 import java.text.SimpleDateFormat;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class GameMainMenu extends JFrame {
     private JPanel mainPanel;
@@ -15,21 +14,39 @@ public class GameMainMenu extends JFrame {
     private CardLayout cardLayout;
     private JPanel cardPanel;
     
+    // Score and statistics labels of each game on the highscores screen, kept up to date by the leaderboard
+    private final Map<String, JLabel> highscoreLabels = new HashMap<>();
+    private final Map<String, JLabel> summaryLabels = new HashMap<>();
+    
     // Colors for modern theme
     private final Color PRIMARY_COLOR = new Color(41, 128, 185);
     private final Color SECONDARY_COLOR = new Color(52, 152, 219);
     private final Color ACCENT_COLOR = new Color(231, 76, 60);
     private final Color TEXT_COLOR = new Color(236, 240, 241);
     private final Color GLOW_COLOR = new Color(52, 152, 219, 100);
+
+    private static final int ANIMATION_DELAY = 50;
+    private final GameMetrics metrics = GameMetrics.forGame("Menu");
+    
+    // The games and highscores cards are only built when first shown
+    private boolean gamesMenuCreated;
+    private boolean highscoresPanelCreated;
     
     public GameMainMenu() {
         initializeFrame();
         createBackground();
         setupCardLayout();
         createMainMenu();
-        createGamesMenu();
-        createHighscoresPanel();
         setupAnimations();
+        for (GameModule module : GameRegistry.getModules()) {
+            module.preloadAssets();
+        }
+        LeaderboardManager.getInstance().addListener(new LeaderboardListener() {
+            @Override
+            public void summaryChanged(String gameName, GameSummary summary) {
+                GameMainMenu.this.summaryChanged(gameName);
+            }
+        });
     }
     
     private void initializeFrame() {
@@ -114,24 +131,19 @@ public class GameMainMenu extends JFrame {
         titleLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
         titleLabel.setBorder(BorderFactory.createEmptyBorder(0, 0, 50, 0));
         
-        JButton snakeButton = createGameButton("SNAKE GAME", "A classic snake game. Eat apples and grow longer!", Color.GREEN);
-        JButton game2048Button = createGameButton("2048 PUZZLE", "Slide tiles and combine them to reach 2048!", new Color(255, 165, 0));
-        JButton flappyBirdButton = createGameButton("FLAPPY BIRD", "Click to flap and navigate through pipes!", new Color(135, 206, 250));
-        JButton backButton = createMenuButton("BACK TO MAIN MENU");
-        
-        snakeButton.addActionListener(e -> launchSnakeGame());
-        game2048Button.addActionListener(e -> launch2048Game());
-        flappyBirdButton.addActionListener(e -> launchFlappyBirdGame());
-        backButton.addActionListener(e -> showMainMenu());
-        
         gamesPanel.add(titleLabel);
         gamesPanel.add(Box.createRigidArea(new Dimension(0, 30)));
-        gamesPanel.add(snakeButton);
-        gamesPanel.add(Box.createRigidArea(new Dimension(0, 20)));
-        gamesPanel.add(game2048Button);
+        
+        for (GameModule module : GameRegistry.getModules()) {
+            JButton gameButton = createGameButton(module.getName(), module.getDescription(), module.getAccentColor());
+            gameButton.addActionListener(e -> launchGame(module));
+            gamesPanel.add(gameButton);
+            gamesPanel.add(Box.createRigidArea(new Dimension(0, 20)));
+        }
+        
+        JButton backButton = createMenuButton("BACK TO MAIN MENU");
+        backButton.addActionListener(e -> showMainMenu());
         gamesPanel.add(Box.createRigidArea(new Dimension(0, 20)));
-        gamesPanel.add(flappyBirdButton);
-        gamesPanel.add(Box.createRigidArea(new Dimension(0, 40)));
         gamesPanel.add(backButton);
         
         JPanel centerPanel = new JPanel(new GridBagLayout());
@@ -156,15 +168,12 @@ public class GameMainMenu extends JFrame {
         scoresPanel.setBorder(BorderFactory.createEmptyBorder(20, 50, 20, 50));
         
         // Create highscore displays for each game
-        JPanel snakeHighscore = createGameHighscorePanel("🐍 Snake", "Snake");
-        JPanel game2048Highscore = createGameHighscorePanel("🔢 2048", "2048");
-        JPanel flappyBirdHighscore = createGameHighscorePanel("🐦 Flappy Bird", "Flappy Bird");
-        
-        scoresPanel.add(snakeHighscore);
-        scoresPanel.add(Box.createRigidArea(new Dimension(0, 20)));
-        scoresPanel.add(game2048Highscore);
-        scoresPanel.add(Box.createRigidArea(new Dimension(0, 20)));
-        scoresPanel.add(flappyBirdHighscore);
+        List<GameModule> modules = GameRegistry.getModules();
+        for (int i = 0; i < modules.size(); i++) {
+            GameModule module = modules.get(i);
+            if (i > 0) scoresPanel.add(Box.createRigidArea(new Dimension(0, 20)));
+            scoresPanel.add(createGameHighscorePanel(module.getHighscoreTitle(), module.getHighscoreKey()));
+        }
         
         JScrollPane scrollPane = new JScrollPane(scoresPanel);
         scrollPane.setOpaque(false);
@@ -212,6 +221,17 @@ public class GameMainMenu extends JFrame {
         JLabel scoreLabel = new JLabel(highscoreText);
         scoreLabel.setFont(new Font("Arial", Font.BOLD, 28));
         scoreLabel.setForeground(new Color(255, 215, 0)); // Gold color for highscore
+        highscoreLabels.put(gameName, scoreLabel);
+        
+        JLabel summaryLabel = new JLabel(LeaderboardManager.getInstance().getSummaryDisplay(gameName));
+        summaryLabel.setFont(new Font("Arial", Font.PLAIN, 14));
+        summaryLabel.setForeground(TEXT_COLOR);
+        summaryLabels.put(gameName, summaryLabel);
+        
+        JPanel scoresPanel = new JPanel(new GridLayout(2, 1));
+        scoresPanel.setOpaque(false);
+        scoresPanel.add(scoreLabel);
+        scoresPanel.add(summaryLabel);
         
         JButton resetButton = new JButton("Reset");
         resetButton.setFont(new Font("Arial", Font.PLAIN, 14));
@@ -221,7 +241,7 @@ public class GameMainMenu extends JFrame {
         resetButton.addActionListener(e -> resetGameHighscore(gameName));
         
         panel.add(titleLabel, BorderLayout.WEST);
-        panel.add(scoreLabel, BorderLayout.CENTER);
+        panel.add(scoresPanel, BorderLayout.CENTER);
         panel.add(resetButton, BorderLayout.EAST);
         
         return panel;
@@ -293,16 +313,44 @@ public class GameMainMenu extends JFrame {
     }
     
     private void showGamesMenu() {
+        if (!gamesMenuCreated) {
+            createGamesMenu();
+            gamesMenuCreated = true;
+        }
         cardLayout.show(cardPanel, "GAMES_MENU");
     }
     
     private void showHighscores() {
-        createHighscoresPanel();
+        if (!highscoresPanelCreated) {
+            createHighscoresPanel();
+            highscoresPanelCreated = true;
+        } else {
+            refreshHighscores();
+        }
         cardLayout.show(cardPanel, "HIGHSCORES");
     }
     
     private void refreshHighscores() {
-        showHighscores();
+        // The labels follow the leaderboard as it changes; this only catches "today" going stale
+        // at midnight. Summaries are read without locking and in constant time per game.
+        for (String gameName : highscoreLabels.keySet()) {
+            summaryChanged(gameName);
+        }
+    }
+    
+    /**
+     * Update the labels of the one game affected by a leaderboard change
+     */
+    private void summaryChanged(String gameName) {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(() -> summaryChanged(gameName));
+            return;
+        }
+        JLabel scoreLabel = highscoreLabels.get(gameName);
+        if (scoreLabel != null) {
+            scoreLabel.setText(LeaderboardManager.getInstance().getHighscoreDisplay(gameName));
+            summaryLabels.get(gameName).setText(LeaderboardManager.getInstance().getSummaryDisplay(gameName));
+        }
     }
     
     private void resetGameHighscore(String gameName) {
@@ -313,7 +361,6 @@ public class GameMainMenu extends JFrame {
         
         if (choice == JOptionPane.YES_OPTION) {
             LeaderboardManager.getInstance().resetHighscore(gameName);
-            showHighscores(); // Refresh display
         }
     }
     
@@ -325,7 +372,6 @@ public class GameMainMenu extends JFrame {
         
         if (choice == JOptionPane.YES_OPTION) {
             LeaderboardManager.getInstance().resetAllHighscores();
-            showHighscores(); // Refresh display
         }
     }
     
@@ -398,13 +444,17 @@ public class GameMainMenu extends JFrame {
     }
     
     private void setupAnimations() {
-        Timer timer = new Timer(50, new ActionListener() {
+        Timer timer = new Timer(ANIMATION_DELAY, new ActionListener() {
             float hue = 0;
+            long lastTickStart;
             
             @Override
             public void actionPerformed(ActionEvent e) {
+                long tickStart = metrics.beginTick(lastTickStart, ANIMATION_DELAY);
+                lastTickStart = tickStart;
                 hue += 0.01f;
                 if (hue > 1.0f) hue = 0.0f;
+                metrics.endTick(tickStart);
             }
         });
         timer.start();
@@ -432,137 +482,40 @@ public class GameMainMenu extends JFrame {
         layeredPane.add(particlesPanel, Integer.valueOf(JLayeredPane.PALETTE_LAYER));
     }
     
+    /**
+     * The menu's backdrop: a diagonal gradient with a faint dot grid. RenderBenchmark draws
+     * it too.
+     */
+    static void paintBackground(Graphics2D g2, int width, int height) {
+        GradientPaint gradient = new GradientPaint(0, 0, new Color(44, 62, 80), width, height, new Color(52, 73, 94));
+        g2.setPaint(gradient);
+        g2.fillRect(0, 0, width, height);
+        
+        g2.setColor(new Color(255, 255, 255, 5));
+        for (int i = 0; i < width; i += 40) {
+            for (int j = 0; j < height; j += 40) {
+                g2.fillRect(i, j, 1, 1);
+            }
+        }
+    }
+    
     class BackgroundPanel extends JPanel {
         @Override
         protected void paintComponent(Graphics g) {
+            long paintStart = metrics.beginPaint(g);
             super.paintComponent(g);
-            Graphics2D g2 = (Graphics2D) g;
-            
-            GradientPaint gradient = new GradientPaint(0, 0, new Color(44, 62, 80), getWidth(), getHeight(), new Color(52, 73, 94));
-            g2.setPaint(gradient);
-            g2.fillRect(0, 0, getWidth(), getHeight());
-            
-            g2.setColor(new Color(255, 255, 255, 5));
-            for (int i = 0; i < getWidth(); i += 40) {
-                for (int j = 0; j < getHeight(); j += 40) {
-                    g2.fillRect(i, j, 1, 1);
-                }
-            }
+            paintBackground((Graphics2D) g, getWidth(), getHeight());
+            metrics.endPaint(paintStart);
         }
     }
     
-    private void launchSnakeGame() {
+    private void launchGame(GameModule module) {
         SwingUtilities.invokeLater(() -> {
             try {
-                System.out.println("Launching Snake Game...");
-                
-                // Delete any existing score file
-                File scoreFile = new File("snake_score.tmp");
-                if (scoreFile.exists()) {
-                    scoreFile.delete();
-                }
-                
-                // Run SnakeGame as a separate process
-                String javaHome = System.getProperty("java.home");
-                String javaBin = javaHome + File.separator + "bin" + File.separator + "java";
-                String classpath = System.getProperty("java.class.path");
-                String className = "SnakeGame";
-                
-                ProcessBuilder builder = new ProcessBuilder(
-                    javaBin, "-cp", classpath, className
-                );
-                Process process = builder.start();
-                
-                // Monitor the process and read the score when it finishes
-                new Thread(() -> {
-                    try {
-                        int exitCode = process.waitFor();
-                        System.out.println("Snake game process finished with exit code: " + exitCode);
-                        
-                        // Wait a bit for file to be written
-                        Thread.sleep(500);
-                        
-                        // Read the score from file
-                        if (scoreFile.exists()) {
-                            try (BufferedReader reader = new BufferedReader(new FileReader(scoreFile))) {
-                                String scoreLine = reader.readLine();
-                                if (scoreLine != null && !scoreLine.trim().isEmpty()) {
-                                    int score = Integer.parseInt(scoreLine.trim());
-                                    System.out.println("Retrieved score from Snake game: " + score);
-                                    
-                                    // Submit the score to leaderboard
-                                    SwingUtilities.invokeLater(() -> {
-                                        if (score > 0) {
-                                            LeaderboardManager.getInstance().submitScore("Snake", score);
-                                            JOptionPane.showMessageDialog(GameMainMenu.this,
-                                                "Game Over! Your score: " + score + "\nHighscore updated!",
-                                                "Snake Game Result",
-                                                JOptionPane.INFORMATION_MESSAGE);
-                                        }
-                                    });
-                                }
-                            }
-                            // Clean up the temp file
-                            scoreFile.delete();
-                        }
-                    } catch (Exception e) {
-                        System.err.println("Error monitoring Snake game process: " + e.getMessage());
-                    }
-                }).start();
-                
+                module.launch(this);
             } catch (Exception e) {
-                JOptionPane.showMessageDialog(GameMainMenu.this, 
-                    "Failed to launch Snake Game: " + e.getMessage(),
-                    "Error", 
-                    JOptionPane.ERROR_MESSAGE);
-                e.printStackTrace();
-            }
-        });
-    }
-
-    private void launch2048Game() {
-        SwingUtilities.invokeLater(() -> {
-            try {
-                System.out.println("Launching 2048 Game...");
-                // Create 2048 game directly
-                Game2048_GUI game2048 = new Game2048_GUI();
-                game2048.setVisible(true);
-                
-                // Bring to front
-                game2048.toFront();
-                game2048.requestFocus();
-                
-            } catch (Exception e) {
-                JOptionPane.showMessageDialog(GameMainMenu.this, 
-                    "Failed to launch 2048 Game: " + e.getMessage(),
-                    "Error", 
-                    JOptionPane.ERROR_MESSAGE);
-                e.printStackTrace();
-            }
-        });
-    }
-
-    private void launchFlappyBirdGame() {
-        SwingUtilities.invokeLater(() -> {
-            try {
-                System.out.println("Launching Flappy Bird Game...");
-                // Create Flappy Bird directly
-                JFrame flappyFrame = new JFrame("Flappy Bird");
-                FlappyBird flappyPanel = new FlappyBird();
-                flappyFrame.add(flappyPanel);
-                flappyFrame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
-                flappyFrame.setResizable(false);
-                flappyFrame.pack();
-                flappyFrame.setLocationRelativeTo(null);
-                flappyFrame.setVisible(true);
-                
-                // Bring to front
-                flappyFrame.toFront();
-                flappyFrame.requestFocus();
-                
-            } catch (Exception e) {
-                JOptionPane.showMessageDialog(GameMainMenu.this, 
-                    "Failed to launch Flappy Bird Game: " + e.getMessage(),
+                JOptionPane.showMessageDialog(this, 
+                    "Failed to launch " + module.getName() + ": " + e.getMessage(),
                     "Error", 
                     JOptionPane.ERROR_MESSAGE);
                 e.printStackTrace();
@@ -571,30 +524,41 @@ public class GameMainMenu extends JFrame {
     }
     
     private void showOptions() {
-        JOptionPane.showMessageDialog(this, 
+        boolean fullscreen = FullscreenHost.isFullscreenEnabled();
+        String[] buttons = {fullscreen ? "Play in a Window" : "Play Fullscreen", "Close"};
+        int choice = JOptionPane.showOptionDialog(this, 
             "Game Options:\n\n" +
             "- Sound: On\n" +
             "- Difficulty: Normal\n" + 
             "- Controls: Arrow Keys\n" +
-            "- Fullscreen: Off", 
+            "- Fullscreen: " + (fullscreen ? "On (Esc leaves a game)" : "Off"), 
             "Options", 
-            JOptionPane.INFORMATION_MESSAGE);
+            JOptionPane.DEFAULT_OPTION,
+            JOptionPane.INFORMATION_MESSAGE,
+            null,
+            buttons,
+            buttons[1]);
+        if (choice == 0) FullscreenHost.setFullscreenEnabled(!fullscreen);
     }
     
     private void showCredits() {
+        StringBuilder games = new StringBuilder();
+        for (GameModule module : GameRegistry.getModules()) {
+            games.append("- ").append(module.getName()).append("\n");
+        }
         JOptionPane.showMessageDialog(this, 
             "Game Collection v1.0\n\n" +
             "Developed by: Your Team\n\n" +
             "Games Included:\n" +
-            "- Snake Game\n" +
-            "- 2048 Puzzle\n" +
-            "- Flappy Bird\n\n" +
+            games + "\n" +
             "Thanks for playing!", 
             "Credits", 
             JOptionPane.INFORMATION_MESSAGE);
     }
     
     public static void main(String[] args) {
+        // Time to interactive: ended by the menu's first painted frame
+        GameEvents.launchStarted("Menu", "Startup");
         try {
             UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
         } catch (Exception e) {
@@ -0,0 +1,148 @@
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Tick, paint and timer-jitter histograms for one game, registered as an MXBean under
+ * "CodeJam:type=GameMetrics,name=&lt;game&gt;" so they show up in JConsole / VisualVM.
+ *
+ * Ticks and paints are also reported as GameEvents JFR events while a recording is running.
+ *
+ * Typical use from a Swing Timer callback:
+ * <pre>
+ *   long tickStart = metrics.beginTick(lastTickStart, DELAY);
+ *   lastTickStart = tickStart;
+ *   ... update game ...
+ *   metrics.endTick(tickStart);
+ * </pre>
+ */
+public class GameMetrics implements GameMetricsMXBean {
+    private static final ConcurrentMap<String, GameMetrics> GAMES = new ConcurrentHashMap<>();
+
+    private final String gameName;
+    private final LatencyHistogram ticks = new LatencyHistogram();
+    private final LatencyHistogram paints = new LatencyHistogram();
+    private final LatencyHistogram jitter = new LatencyHistogram();
+    private final LatencyHistogram input = new LatencyHistogram();
+
+    // JFR events of the tick and paint in progress; ticks and paints run on the EDT and don't nest
+    private GameEvents.GameTick tickEvent;
+    private GameEvents.GamePaint paintEvent;
+    private final Rectangle clip = new Rectangle();
+
+    private GameMetrics(String gameName) {
+        this.gameName = gameName;
+    }
+
+    /**
+     * Metrics shared by every window of the given game, registered with JMX on first use.
+     */
+    public static GameMetrics forGame(String gameName) {
+        return GAMES.computeIfAbsent(gameName, name -> {
+            GameMetrics metrics = new GameMetrics(name);
+            try {
+                ObjectName objectName = new ObjectName("CodeJam:type=GameMetrics,name=" + ObjectName.quote(name));
+                ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, objectName);
+            } catch (JMException e) {
+                System.err.println("Could not register metrics for " + name + ": " + e.getMessage());
+            }
+            return metrics;
+        });
+    }
+
+    /**
+     * Start timing a tick. Records how far this tick fired from its schedule, given when the
+     * previous tick started (0 for the first tick) and the timer delay in milliseconds.
+     */
+    public long beginTick(long previousTickStart, int delayMillis) {
+        long now = System.nanoTime();
+        if (previousTickStart != 0) {
+            jitter.record(Math.abs(now - previousTickStart - delayMillis * 1_000_000L));
+        }
+        if (GameEvents.GameTick.TYPE.isEnabled()) {
+            tickEvent = new GameEvents.GameTick();
+            tickEvent.game = gameName;
+            tickEvent.begin();
+        }
+        return now;
+    }
+
+    public void endTick(long tickStart) {
+        ticks.record(System.nanoTime() - tickStart);
+        if (tickEvent != null) {
+            tickEvent.commit();
+            tickEvent = null;
+        }
+    }
+
+    /**
+     * Record that a key pressed at the given System.nanoTime has just taken effect.
+     */
+    public void recordInput(long pressedAt) {
+        input.record(System.nanoTime() - pressedAt);
+    }
+
+    /** Key-to-tick latencies recorded with recordInput */
+    public LatencyHistogram getInputLatency() {
+        return input;
+    }
+
+    public long beginPaint(Graphics g) {
+        if (GameEvents.GamePaint.TYPE.isEnabled()) {
+            clip.setBounds(0, 0, 0, 0);
+            g.getClipBounds(clip);
+            paintEvent = new GameEvents.GamePaint();
+            paintEvent.game = gameName;
+            paintEvent.clipWidth = clip.width;
+            paintEvent.clipHeight = clip.height;
+            paintEvent.begin();
+        }
+        return System.nanoTime();
+    }
+
+    public void endPaint(long paintStart) {
+        paints.record(System.nanoTime() - paintStart);
+        if (paintEvent != null) {
+            paintEvent.commit();
+            paintEvent = null;
+        }
+        GameEvents.framePainted(gameName);
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1000.0;
+    }
+
+    @Override public String getGameName() { return gameName; }
+
+    @Override public long getTickCount() { return ticks.getCount(); }
+    @Override public double getTickP50Micros() { return micros(ticks.getPercentile(0.50)); }
+    @Override public double getTickP99Micros() { return micros(ticks.getPercentile(0.99)); }
+    @Override public double getTickMaxMicros() { return micros(ticks.getMax()); }
+
+    @Override public long getPaintCount() { return paints.getCount(); }
+    @Override public double getPaintP50Micros() { return micros(paints.getPercentile(0.50)); }
+    @Override public double getPaintP99Micros() { return micros(paints.getPercentile(0.99)); }
+    @Override public double getPaintMaxMicros() { return micros(paints.getMax()); }
+
+    @Override public double getTimerJitterP50Micros() { return micros(jitter.getPercentile(0.50)); }
+    @Override public double getTimerJitterP99Micros() { return micros(jitter.getPercentile(0.99)); }
+    @Override public double getTimerJitterMaxMicros() { return micros(jitter.getMax()); }
+
+    @Override public long getInputCount() { return input.getCount(); }
+    @Override public double getInputLatencyP50Micros() { return micros(input.getPercentile(0.50)); }
+    @Override public double getInputLatencyP99Micros() { return micros(input.getPercentile(0.99)); }
+    @Override public double getInputLatencyMaxMicros() { return micros(input.getMax()); }
+
+    @Override
+    public void reset() {
+        ticks.reset();
+        paints.reset();
+        jitter.reset();
+        input.reset();
+    }
+}
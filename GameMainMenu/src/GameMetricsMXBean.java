@@ -0,0 +1,28 @@
+/**
+ * Per-game timing statistics published over JMX (durations in microseconds).
+ */
+public interface GameMetricsMXBean {
+    String getGameName();
+
+    long getTickCount();
+    double getTickP50Micros();
+    double getTickP99Micros();
+    double getTickMaxMicros();
+
+    long getPaintCount();
+    double getPaintP50Micros();
+    double getPaintP99Micros();
+    double getPaintMaxMicros();
+
+    double getTimerJitterP50Micros();
+    double getTimerJitterP99Micros();
+    double getTimerJitterMaxMicros();
+
+    /** Key press until the tick that acts on it */
+    long getInputCount();
+    double getInputLatencyP50Micros();
+    double getInputLatencyP99Micros();
+    double getInputLatencyMaxMicros();
+
+    void reset();
+}
@@ -0,0 +1,38 @@
+import java.awt.Color;
+import java.awt.Component;
+
+/**
+ * A game that can be plugged into the menu.
+ *
+ * Modules are found with ServiceLoader: list the implementation class in
+ * META-INF/services/GameModule on the classpath and it shows up in the games menu and on the
+ * highscores screen. Implementations should only touch their game's classes and assets in
+ * launch(), so nothing is loaded until the game is first played.
+ */
+public interface GameModule {
+    /** Button title in the games menu, e.g. "SNAKE GAME". */
+    String getName();
+
+    /** One-line description shown under the title. */
+    String getDescription();
+
+    Color getAccentColor();
+
+    /** Name the game submits its scores under in LeaderboardManager. */
+    String getHighscoreKey();
+
+    /** Title on the highscores screen. */
+    String getHighscoreTitle();
+
+    /**
+     * Queue the game's images with AssetManager. Called once when the menu starts, so
+     * launching the game later does no decoding on the EDT.
+     */
+    default void preloadAssets() {
+    }
+
+    /**
+     * Start the game. Called on the EDT; parent is the menu window, for dialogs.
+     */
+    void launch(Component parent) throws Exception;
+}
@@ -0,0 +1,315 @@
+import java.awt.*;
+import java.awt.event.*;
+import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import javax.swing.*;
+
+class GamePanel extends JPanel implements ActionListener {
+    static final int SCREEN_WIDTH = SnakeSimulation.SCREEN_WIDTH;
+    static final int SCREEN_HEIGHT = SnakeSimulation.SCREEN_HEIGHT;
+    static final int UNIT_SIZE = SnakeSimulation.UNIT_SIZE;
+    static final int DELAY = 75;
+    static final int CHECKPOINT_TICKS = 20; // Save about every 1.5 s
+    static final int RESUME_PAUSE = 1000;
+
+    // The rules and state; this panel adds the timer, keys, drawing and checkpoints
+    final SnakeSimulation game = new SnakeSimulation();
+    Timer timer;
+    final int delay;
+    private final TurnQueue turns = new TurnQueue();
+    private final GameMetrics metrics = GameMetrics.forGame("Snake");
+    private long lastTickStart;
+    private final PerfOverlay overlay = new PerfOverlay();
+    private final Renderer renderer = new Renderer();
+    private final Checkpoint checkpoint = Checkpoint.forGame("Snake");
+    private int ticksSinceCheckpoint;
+    private int telemetryRun;
+    private int ticks; // since this panel started, for telemetry
+
+    GamePanel() {
+        this(null, DELAY);
+    }
+
+    /**
+     * @param saved checkpoint to continue from, or null for a new game
+     * @param delay milliseconds per tick
+     */
+    GamePanel(ByteBuffer saved, int delay) {
+        this.delay = delay;
+        this.setPreferredSize(new Dimension(SCREEN_WIDTH, SCREEN_HEIGHT));
+        this.setBackground(Color.black);
+        this.setFocusable(true);
+        this.addKeyListener(new MyKeyAdapter());
+        overlay.installToggle(this, this);
+        if (saved != null) {
+            restore(saved);
+        } else {
+            game.reset(new Random().nextLong());
+            GameEventBus.runStarted("Snake");
+        }
+        telemetryRun = Telemetry.startRun(Telemetry.SNAKE);
+        startGame();
+        if (saved != null) {
+            // Give the player a moment to find the snake before it moves
+            timer.setInitialDelay(RESUME_PAUSE);
+            timer.restart();
+        }
+    }
+
+    /**
+     * The game saved by the last unfinished Snake window, or null if there is none.
+     */
+    static GamePanel resume() {
+        Checkpoint checkpoint = Checkpoint.forGame("Snake");
+        ByteBuffer saved = checkpoint.load();
+        if (saved == null) return null;
+        if (!isValid(saved.duplicate())) {
+            // Written by another build, say; the CRC only catches torn writes
+            System.err.println("Discarding an unreadable Snake checkpoint");
+            checkpoint.clear();
+            return null;
+        }
+        return new GamePanel(saved, DELAY);
+    }
+
+    public void startGame() {
+        game.running = true;
+        timer = new Timer(delay, this);
+        timer.start();
+    }
+
+    /**
+     * Checkpoint layout: bodyParts, applesEaten, appleX, appleY, direction, then x/y per part
+     */
+    private void saveCheckpoint() {
+        ByteBuffer state = ByteBuffer.allocate(2 + 4 + 2 + 2 + 1 + game.bodyParts * 4);
+        state.putShort((short) game.bodyParts);
+        state.putInt(game.applesEaten);
+        state.putShort((short) game.appleX);
+        state.putShort((short) game.appleY);
+        state.put((byte) game.direction);
+        for (int i = 0; i < game.bodyParts; i++) {
+            state.putShort((short) game.x[i]);
+            state.putShort((short) game.y[i]);
+        }
+        checkpoint.save(state.array());
+    }
+
+    /**
+     * Whether a checkpoint decodes to a game restore can take: every count and cell in range
+     */
+    private static boolean isValid(ByteBuffer saved) {
+        if (saved.remaining() < 2 + 4 + 2 + 2 + 1) return false;
+        int bodyParts = saved.getShort();
+        int applesEaten = saved.getInt();
+        int appleX = saved.getShort();
+        int appleY = saved.getShort();
+        char direction = (char) saved.get();
+        // move() writes one slot past the tail, so the body must leave one free
+        if (bodyParts < 1 || bodyParts >= SnakeSimulation.GAME_UNITS || applesEaten < 0) return false;
+        if (!onBoard(appleX, appleY) || "UDLR".indexOf(direction) < 0) return false;
+        if (saved.remaining() != bodyParts * 4) return false;
+        for (int i = 0; i < bodyParts; i++) {
+            if (!onBoard(saved.getShort(), saved.getShort())) return false;
+        }
+        return true;
+    }
+
+    private static boolean onBoard(int x, int y) {
+        return x >= 0 && x < SCREEN_WIDTH && y >= 0 && y < SCREEN_HEIGHT;
+    }
+
+    private void restore(ByteBuffer saved) {
+        game.bodyParts = saved.getShort();
+        game.applesEaten = saved.getInt();
+        game.appleX = saved.getShort();
+        game.appleY = saved.getShort();
+        game.direction = (char) saved.get();
+        for (int i = 0; i < game.bodyParts; i++) {
+            game.x[i] = saved.getShort();
+            game.y[i] = saved.getShort();
+        }
+    }
+
+    @Override
+    public void removeNotify() {
+        super.removeNotify();
+        // A disposed window's timer keeps firing; stop it before the hidden game dies and clears the save
+        timer.stop();
+        // Window closed mid-game: save where we are and wait for it, in case the process exits next
+        if (game.running) saveCheckpoint();
+        checkpoint.flush();
+    }
+
+    public void paintComponent(Graphics g) {
+        long paintStart = metrics.beginPaint(g);
+        super.paintComponent(g);
+        draw(g);
+        overlay.onFrame();
+        overlay.draw(g, 5, 5);
+        metrics.endPaint(paintStart);
+    }
+
+    public void draw(Graphics g) {
+        renderer.draw((Graphics2D) g, game);
+    }
+
+    /**
+     * Draws a SnakeSimulation. Colors, fonts, the apple and the score's widths are made
+     * once, so a frame allocates nothing; RenderAllocationCheck holds it to that.
+     */
+    static final class Renderer {
+        private static final Color GRID = new Color(40, 40, 40);
+        private static final Color BODY = new Color(45, 180, 0);
+        private static final Font SCORE_FONT = new Font("Arial", Font.BOLD, 40);
+        private static final Font GAME_OVER_FONT = new Font("Arial", Font.BOLD, 75);
+        private static final String GAME_OVER = "Game Over";
+
+        private final NumberText score = new NumberText(SCORE_FONT, "Score: ");
+        private BufferedImage apple;
+        private BufferedImage gameOver;
+
+        void draw(Graphics2D g, SnakeSimulation game) {
+            if (game.running) {
+                // Grid lines
+                g.setColor(GRID);
+                for (int i = 0; i < SCREEN_WIDTH / UNIT_SIZE; i++) {
+                    g.drawLine(i * UNIT_SIZE, 0, i * UNIT_SIZE, SCREEN_HEIGHT);
+                }
+                for (int i = 0; i < SCREEN_HEIGHT / UNIT_SIZE; i++) {
+                    g.drawLine(0, i * UNIT_SIZE, SCREEN_WIDTH, i * UNIT_SIZE);
+                }
+
+                // Apple, from an image since fillOval allocates a shape on every call
+                g.drawImage(apple(g), game.appleX, game.appleY, null);
+
+                // Snake
+                g.setColor(Color.green);
+                g.fillRect(game.x[0], game.y[0], UNIT_SIZE, UNIT_SIZE);
+                g.setColor(BODY);
+                for (int i = 1; i < game.bodyParts; i++) {
+                    g.fillRect(game.x[i], game.y[i], UNIT_SIZE, UNIT_SIZE);
+                }
+
+                // Score
+                g.setColor(Color.red);
+                score.drawCentered(g, game.applesEaten, SCREEN_WIDTH / 2, SCORE_FONT.getSize());
+            } else {
+                gameOver(g, game);
+            }
+        }
+
+        private BufferedImage apple(Graphics2D g) {
+            if (apple == null) apple = appleImage(g, UNIT_SIZE);
+            return apple;
+        }
+
+        /** A red apple filling a cell of the given size, for the Snake views to draw */
+        static BufferedImage appleImage(Graphics2D g, int size) {
+            BufferedImage image = g.getDeviceConfiguration().createCompatibleImage(size, size, Transparency.BITMASK);
+            Graphics2D imageGraphics = image.createGraphics();
+            imageGraphics.setColor(Color.red);
+            imageGraphics.fillOval(0, 0, size, size);
+            imageGraphics.dispose();
+            return image;
+        }
+
+        private void gameOver(Graphics2D g, SnakeSimulation game) {
+            g.setColor(Color.red);
+            // An image, as drawing text in two fonts in one frame allocates
+            if (gameOver == null) gameOver = textImage(g, GAME_OVER_FONT, GAME_OVER);
+            g.drawImage(gameOver, (SCREEN_WIDTH - gameOver.getWidth()) / 2,
+                SCREEN_HEIGHT / 2 - g.getFontMetrics(GAME_OVER_FONT).getAscent(), null);
+
+            score.drawCentered(g, game.applesEaten, SCREEN_WIDTH / 2, SCORE_FONT.getSize() * 2);
+        }
+
+        /** The text in the Graphics' current color, for drawing in a frame's second font */
+        static BufferedImage textImage(Graphics2D g, Font font, String text) {
+            FontMetrics metrics = g.getFontMetrics(font);
+            BufferedImage image = g.getDeviceConfiguration().createCompatibleImage(
+                metrics.stringWidth(text), metrics.getHeight(), Transparency.BITMASK);
+            Graphics2D imageGraphics = image.createGraphics();
+            imageGraphics.setColor(g.getColor());
+            imageGraphics.setFont(font);
+            imageGraphics.drawString(text, 0, metrics.getAscent());
+            imageGraphics.dispose();
+            return image;
+        }
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        long tickStart = metrics.beginTick(lastTickStart, delay);
+        lastTickStart = tickStart;
+        overlay.onTick();
+        if (game.running) {
+            int apples = game.applesEaten;
+            boolean alive = game.tick(nextTurn());
+            ticks++;
+            if (game.applesEaten != apples) {
+                Telemetry.record(telemetryRun, Telemetry.SNAKE, Telemetry.APPLE, ticks,
+                    game.x[0] / UNIT_SIZE, game.y[0] / UNIT_SIZE, game.bodyParts, game.applesEaten);
+            }
+            if (!alive) {
+                timer.stop();
+                checkpoint.clear();
+                GameEventBus.runFinished("Snake", game.applesEaten);
+                recordDeath();
+            } else if (++ticksSinceCheckpoint >= CHECKPOINT_TICKS) {
+                ticksSinceCheckpoint = 0;
+                saveCheckpoint();
+            }
+        }
+        repaint();
+        metrics.endTick(tickStart);
+    }
+
+    private void recordDeath() {
+        boolean offBoard = game.x[0] < 0 || game.x[0] >= SCREEN_WIDTH || game.y[0] < 0 || game.y[0] >= SCREEN_HEIGHT;
+        Telemetry.record(telemetryRun, Telemetry.SNAKE, Telemetry.DEATH, ticks,
+            offBoard ? Telemetry.WALL : Telemetry.BODY, game.x[0] / UNIT_SIZE, game.y[0] / UNIT_SIZE, game.applesEaten);
+        Telemetry.endRun(telemetryRun, Telemetry.SNAKE, game.applesEaten, ticks, 0, 0);
+    }
+
+    /**
+     * Take the next queued turn, at most one per tick, or 0 to keep going
+     */
+    private char nextTurn() {
+        char turn = turns.next(game.direction);
+        if (turn != 0) metrics.recordInput(turns.lastPressedAt());
+        return turn;
+    }
+
+    /**
+     * The turn bound to a key, or 0 for any other key
+     */
+    static char turnFor(int keyCode) {
+        switch (keyCode) {
+            case KeyEvent.VK_LEFT:
+            case KeyEvent.VK_A:
+                return 'L';
+            case KeyEvent.VK_RIGHT:
+            case KeyEvent.VK_D:
+                return 'R';
+            case KeyEvent.VK_UP:
+            case KeyEvent.VK_W:
+                return 'U';
+            case KeyEvent.VK_DOWN:
+            case KeyEvent.VK_S:
+                return 'D';
+            default:
+                return 0;
+        }
+    }
+
+    public class MyKeyAdapter extends KeyAdapter {
+        @Override
+        public void keyPressed(KeyEvent e) {
+            // Queued rather than applied, so a second key in the same tick isn't lost
+            char turn = turnFor(e.getKeyCode());
+            if (turn != 0) turns.offer(turn, System.nanoTime());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * The games available to the menu, discovered once through ServiceLoader.
+ */
+public final class GameRegistry {
+    private static List<GameModule> modules;
+
+    private GameRegistry() {
+    }
+
+    /**
+     * All registered games in service file order.
+     */
+    public static synchronized List<GameModule> getModules() {
+        if (modules == null) {
+            List<GameModule> found = new ArrayList<>();
+            for (GameModule module : ServiceLoader.load(GameModule.class)) {
+                found.add(module);
+            }
+            modules = Collections.unmodifiableList(found);
+        }
+        return modules;
+    }
+}
@@ -0,0 +1,37 @@
+/**
+ * The rules of one game without any Swing: reset with a seed, step with an input, look at
+ * the state. The game windows drive the same rules from their timers and key listeners;
+ * SimulationRunner drives them as fast as possible without a display.
+ *
+ * Inputs are small action numbers, 0 to getActionCount() - 1, where 0 is "do nothing"
+ * for games that have such an action. A run with the same seed and the same inputs always
+ * plays out the same way.
+ */
+public interface GameSimulation {
+    String getName();
+
+    /** Number of distinct inputs step accepts */
+    int getActionCount();
+
+    /** Start a new run */
+    void reset(long seed);
+
+    /**
+     * Advance the game by one tick (Snake, Flappy Bird) or one move (2048).
+     *
+     * @return false once the run is over; further steps do nothing
+     */
+    boolean step(int action);
+
+    boolean isOver();
+
+    int getScore();
+
+    /** Length of the array observe fills */
+    int getObservationSize();
+
+    /**
+     * Write the visible state as numbers, in a fixed layout described by each game.
+     */
+    void observe(int[] observation);
+}
@@ -0,0 +1,76 @@
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Running statistics of one game: best, last, play count, average and best of today.
+ * Immutable; LeaderboardManager replaces a game's summary with record(...) on every finished
+ * run, so updating is O(1) however long the history gets and readers need no lock.
+ */
+public final class GameSummary implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** Summary of a game that has not been played yet */
+    public static final GameSummary EMPTY = new GameSummary(0, 0, 0, 0, 0, Long.MIN_VALUE);
+
+    private final int best;
+    private final int last;
+    private final long plays;
+    private final long total;
+    private final int bestToday;
+    // Local date of the last play, as an epoch day; bestToday belongs to this day
+    private final long day;
+
+    private GameSummary(int best, int last, long plays, long total, int bestToday, long day) {
+        this.best = best;
+        this.last = last;
+        this.plays = plays;
+        this.total = total;
+        this.bestToday = bestToday;
+        this.day = day;
+    }
+
+    /**
+     * This summary with one more run, finished at the given time (epoch milliseconds).
+     */
+    public GameSummary record(int score, long time) {
+        long playDay = epochDay(time);
+        int today = playDay == day ? Math.max(bestToday, score) : score;
+        return new GameSummary(Math.max(best, score), score, plays + 1, total + score, today, playDay);
+    }
+
+    /**
+     * This summary with a best score that was set elsewhere (e.g. imported), not played here.
+     */
+    public GameSummary withBest(int score) {
+        return score <= best ? this : new GameSummary(score, last, plays, total, bestToday, day);
+    }
+
+    public int getBest() { return best; }
+    public int getLast() { return last; }
+    public long getPlays() { return plays; }
+
+    public double getAverage() {
+        return plays == 0 ? 0 : (double) total / plays;
+    }
+
+    public boolean hasPlayedToday() {
+        return plays > 0 && day == epochDay(System.currentTimeMillis());
+    }
+
+    /** Best score of today, or 0 if the game has not been played today */
+    public int getBestToday() {
+        return hasPlayedToday() ? bestToday : 0;
+    }
+
+    private static long epochDay(long time) {
+        return LocalDate.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault()).toEpochDay();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("best %d, last %d, %d plays, average %.1f, best today %d",
+            best, last, plays, getAverage(), getBestToday());
+    }
+}
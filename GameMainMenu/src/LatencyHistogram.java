@@ -0,0 +1,73 @@
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of nanosecond durations with fixed log-linear buckets.
+ *
+ * Each power of two is split into 8 sub-buckets, so any value is reported within 12.5%.
+ * Recording is a couple of bit operations and one atomic increment; readers never block
+ * writers.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40; // ~18 minutes, anything longer lands in the last bucket
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts.getAndIncrement(bucketOf(nanos));
+        if (nanos > max.get()) {
+            max.accumulateAndGet(nanos, Math::max);
+        }
+    }
+
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) return BUCKETS - 1;
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /** Largest value that falls into the given bucket. */
+    private static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int subBucket = bucket % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    public long getCount() {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) total += counts.get(i);
+        return total;
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Upper bound of the bucket holding the given quantile (0.5 = median), never above the max.
+     */
+    public long getPercentile(double quantile) {
+        long total = getCount();
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) return Math.min(upperBound(i), max.get());
+        }
+        return max.get();
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) counts.set(i, 0);
+        max.set(0);
+    }
+}
@@ -0,0 +1,22 @@
+/**
+ * Notified by LeaderboardManager whenever the highscore or the summary of a game changes.
+ * May be called from any thread; Swing listeners should hop onto the EDT themselves.
+ */
+public interface LeaderboardListener {
+    /**
+     * @param gameName  the game whose highscore changed
+     * @param highscore the new highscore, or null if it was reset
+     */
+    default void highscoreChanged(String gameName, LeaderboardManager.ScoreEntry highscore) {
+    }
+
+    /**
+     * Called after every finished run, import and reset, including those that also change
+     * the highscore.
+     *
+     * @param gameName the game whose summary changed
+     * @param summary  the new summary, GameSummary.EMPTY if it was reset
+     */
+    default void summaryChanged(String gameName, GameSummary summary) {
+    }
+}
@@ -1,6 +1,20 @@
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+/**
+ * Highest score per game, saved to highscores.dat, and a GameSummary per game, saved to
+ * game_summaries.dat. Thread-safe: scores arrive on the GameEventBus thread while the menu
+ * reads them on the EDT. Changes are serialized by the manager's lock; summaries are
+ * immutable and swapped into a concurrent map, so getSummary and getHighscoreDisplay read
+ * without locking.
+ *
+ * Other processes (LeaderboardTransfer's import) write the same files. Every change is made
+ * under ScoreLock, taken inside the manager's lock, and first reloads any file that changed
+ * on disk since this manager last read or wrote it, so neither side saves over the other's
+ * scores.
+ */
 public class LeaderboardManager {
     public static class ScoreEntry implements Serializable, Comparable<ScoreEntry> {
         private static final long serialVersionUID = 1L;
@@ -31,24 +45,143 @@ public class LeaderboardManager {
     }
     
     private static final String LEADERBOARD_FILE = "highscores.dat";
+    private static final String SUMMARIES_FILE = "game_summaries.dat";
     private static LeaderboardManager instance;
     private List<ScoreEntry> highscores;
+    private final Map<String, GameSummary> summaries = new ConcurrentHashMap<>();
+    private final List<LeaderboardListener> listeners = new CopyOnWriteArrayList<>();
+    // Modification time and length of each file as last read or written here
+    private long highscoresStamp;
+    private long summariesStamp;
     
     private LeaderboardManager() {
-        highscores = loadHighscores();
+        ScoreLock lock = ScoreLock.acquire();
+        try {
+            highscores = loadHighscores();
+            summaries.putAll(loadSummaries());
+            seedSummaries();
+        } finally {
+            lock.release();
+        }
+    }
+    
+    /** Highscores from before summaries were kept (or from a lost summaries file) */
+    private void seedSummaries() {
+        for (ScoreEntry entry : highscores) {
+            summaries.merge(entry.getGameName(), GameSummary.EMPTY.withBest(entry.getScore()),
+                (current, seeded) -> current.withBest(seeded.getBest()));
+        }
+    }
+    
+    /**
+     * Reload whichever file another process saved since this manager last read or wrote
+     * it, telling listeners about every game. Call with ScoreLock held.
+     */
+    private void reloadChanged() {
+        boolean highscoresChanged = stamp(LEADERBOARD_FILE) != highscoresStamp;
+        boolean summariesChanged = stamp(SUMMARIES_FILE) != summariesStamp;
+        if (!highscoresChanged && !summariesChanged) {
+            return;
+        }
+        Set<String> games = new HashSet<>(summaries.keySet());
+        if (highscoresChanged) {
+            for (ScoreEntry entry : highscores) {
+                games.add(entry.getGameName());
+            }
+            highscores = loadHighscores();
+        }
+        if (summariesChanged) {
+            Map<String, GameSummary> loaded = loadSummaries();
+            summaries.keySet().retainAll(loaded.keySet());
+            summaries.putAll(loaded);
+        }
+        seedSummaries();
+        games.addAll(summaries.keySet());
+        for (ScoreEntry entry : highscores) {
+            games.add(entry.getGameName());
+        }
+        for (String game : games) {
+            fireHighscoreChanged(game, getHighscore(game));
+            fireSummaryChanged(game, getSummary(game));
+        }
+    }
+    
+    private static long stamp(String fileName) {
+        File file = new File(fileName);
+        return file.lastModified() * 31 + file.length();
     }
     
-    public static LeaderboardManager getInstance() {
+    public static synchronized LeaderboardManager getInstance() {
         if (instance == null) {
             instance = new LeaderboardManager();
         }
         return instance;
     }
     
+    public void addListener(LeaderboardListener listener) {
+        listeners.add(listener);
+    }
+    
+    public void removeListener(LeaderboardListener listener) {
+        listeners.remove(listener);
+    }
+    
+    private void fireHighscoreChanged(String gameName, ScoreEntry highscore) {
+        for (LeaderboardListener listener : listeners) {
+            listener.highscoreChanged(gameName, highscore);
+        }
+    }
+    
+    private void fireSummaryChanged(String gameName, GameSummary summary) {
+        for (LeaderboardListener listener : listeners) {
+            listener.summaryChanged(gameName, summary);
+        }
+    }
+    
+    /**
+     * Submit the score of a finished run - updates the game's summary and keeps the score
+     * if it is the game's new highscore.
+     * Games publish GameEventBus.runFinished instead of calling this directly.
+     */
+    public synchronized void submitScore(String gameName, int score) {
+        if (score < 0) {
+            return;
+        }
+        ScoreLock lock = ScoreLock.acquire();
+        try {
+            reloadChanged();
+            GameSummary summary = summaries.getOrDefault(gameName, GameSummary.EMPTY).record(score, System.currentTimeMillis());
+            summaries.put(gameName, summary);
+            saveSummaries();
+            updateHighscore(gameName, score);
+            fireSummaryChanged(gameName, summary);
+        } finally {
+            lock.release();
+        }
+    }
+    
     /**
-     * Submit a score - automatically tracks only the highest score per game
+     * Offer a highscore set outside this game collection, e.g. imported from a file. Unlike
+     * submitScore it does not count as a play.
      */
-    public void submitScore(String gameName, int score) {
+    public synchronized void importHighscore(String gameName, int score) {
+        ScoreLock lock = ScoreLock.acquire();
+        try {
+            reloadChanged();
+            GameSummary current = summaries.getOrDefault(gameName, GameSummary.EMPTY);
+            GameSummary summary = current.withBest(score);
+            if (summary != current) {
+                summaries.put(gameName, summary);
+                saveSummaries();
+                fireSummaryChanged(gameName, summary);
+            }
+            updateHighscore(gameName, score);
+        } finally {
+            lock.release();
+        }
+    }
+    
+    private void updateHighscore(String gameName, int score) {
         if (score > 0) {
             // Check if we already have a highscore for this game
             ScoreEntry currentHighscore = getHighscore(gameName);
@@ -65,6 +198,7 @@ public class LeaderboardManager {
                 highscores.add(newHighscore);
                 Collections.sort(highscores);
                 saveHighscores();
+                fireHighscoreChanged(gameName, newHighscore);
                 
                 System.out.println("New highscore for " + gameName + ": " + score + " points!");
             } else {
@@ -76,7 +210,7 @@ public class LeaderboardManager {
     /**
      * Get the current highscore for a specific game
      */
-    public ScoreEntry getHighscore(String gameName) {
+    public synchronized ScoreEntry getHighscore(String gameName) {
         for (ScoreEntry entry : highscores) {
             if (entry.getGameName().equals(gameName)) {
                 return entry;
@@ -88,63 +222,169 @@ public class LeaderboardManager {
     /**
      * Get all highscores (one per game)
      */
-    public List<ScoreEntry> getAllHighscores() {
+    public synchronized List<ScoreEntry> getAllHighscores() {
         return new ArrayList<>(highscores);
     }
     
     /**
-     * Get formatted highscore display for a specific game
+     * The running statistics of a game, or GameSummary.EMPTY if it has none. Does not lock.
+     */
+    public GameSummary getSummary(String gameName) {
+        return summaries.getOrDefault(gameName, GameSummary.EMPTY);
+    }
+    
+    /**
+     * Get formatted highscore display for a specific game. Does not lock.
      */
     public String getHighscoreDisplay(String gameName) {
-        ScoreEntry highscore = getHighscore(gameName);
-        if (highscore != null) {
-            return highscore.getScore() + " points";
+        int best = getSummary(gameName).getBest();
+        if (best > 0) {
+            return best + " points";
         } else {
             return "No highscore yet!";
         }
     }
     
+    /**
+     * Get formatted play statistics for a specific game, or "" before its first play
+     */
+    public String getSummaryDisplay(String gameName) {
+        GameSummary summary = getSummary(gameName);
+        if (summary.getPlays() == 0) {
+            return "";
+        }
+        return String.format("Last %d  ·  %d %s  ·  Avg %.1f  ·  Today %s",
+            summary.getLast(), summary.getPlays(), summary.getPlays() == 1 ? "play" : "plays", summary.getAverage(),
+            summary.hasPlayedToday() ? String.valueOf(summary.getBestToday()) : "-");
+    }
+    
     /**
      * Reset highscore for a specific game
      */
-    public void resetHighscore(String gameName) {
-        ScoreEntry highscore = getHighscore(gameName);
-        if (highscore != null) {
-            highscores.remove(highscore);
-            saveHighscores();
-            System.out.println("Highscore reset for " + gameName);
+    public synchronized void resetHighscore(String gameName) {
+        ScoreLock lock = ScoreLock.acquire();
+        try {
+            reloadChanged();
+            ScoreEntry highscore = getHighscore(gameName);
+            if (highscore != null) {
+                highscores.remove(highscore);
+                saveHighscores();
+                fireHighscoreChanged(gameName, null);
+                System.out.println("Highscore reset for " + gameName);
+            }
+            if (summaries.remove(gameName) != null) {
+                saveSummaries();
+                fireSummaryChanged(gameName, GameSummary.EMPTY);
+            }
+        } finally {
+            lock.release();
         }
     }
     
     /**
      * Reset all highscores
      */
-    public void resetAllHighscores() {
-        highscores.clear();
-        saveHighscores();
+    public synchronized void resetAllHighscores() {
+        ScoreLock lock = ScoreLock.acquire();
+        try {
+            reloadChanged();
+            List<ScoreEntry> removed = new ArrayList<>(highscores);
+            highscores.clear();
+            saveHighscores();
+            for (ScoreEntry entry : removed) {
+                fireHighscoreChanged(entry.getGameName(), null);
+            }
+            Set<String> games = new HashSet<>(summaries.keySet());
+            summaries.clear();
+            saveSummaries();
+            for (String game : games) {
+                fireSummaryChanged(game, GameSummary.EMPTY);
+            }
+        } finally {
+            lock.release();
+        }
         System.out.println("All highscores reset!");
     }
     
     @SuppressWarnings("unchecked")
     private List<ScoreEntry> loadHighscores() {
         File file = new File(LEADERBOARD_FILE);
+        highscoresStamp = stamp(LEADERBOARD_FILE);
         if (!file.exists()) {
             return new ArrayList<>();
         }
         
+        GameEvents.LeaderboardIO event = new GameEvents.LeaderboardIO();
+        event.begin();
         try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
-            return (List<ScoreEntry>) ois.readObject();
+            List<ScoreEntry> loaded = (List<ScoreEntry>) ois.readObject();
+            event.entries = loaded.size();
+            return loaded;
         } catch (IOException | ClassNotFoundException e) {
             System.out.println("Could not load highscores, starting fresh: " + e.getMessage());
             return new ArrayList<>();
+        } finally {
+            event.operation = "load";
+            event.file = LEADERBOARD_FILE;
+            event.bytes = file.length();
+            event.commit();
         }
     }
     
     private void saveHighscores() {
+        GameEvents.LeaderboardIO event = new GameEvents.LeaderboardIO();
+        event.begin();
         try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(LEADERBOARD_FILE))) {
             oos.writeObject(highscores);
         } catch (IOException e) {
             System.out.println("Error saving highscores: " + e.getMessage());
         }
+        highscoresStamp = stamp(LEADERBOARD_FILE);
+        event.operation = "save";
+        event.file = LEADERBOARD_FILE;
+        event.entries = highscores.size();
+        event.bytes = new File(LEADERBOARD_FILE).length();
+        event.commit();
+    }
+    
+    @SuppressWarnings("unchecked")
+    private Map<String, GameSummary> loadSummaries() {
+        File file = new File(SUMMARIES_FILE);
+        summariesStamp = stamp(SUMMARIES_FILE);
+        if (!file.exists()) {
+            return Collections.emptyMap();
+        }
+        
+        GameEvents.LeaderboardIO event = new GameEvents.LeaderboardIO();
+        event.begin();
+        try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            Map<String, GameSummary> loaded = (Map<String, GameSummary>) ois.readObject();
+            event.entries = loaded.size();
+            return loaded;
+        } catch (IOException | ClassNotFoundException e) {
+            System.out.println("Could not load game summaries, starting fresh: " + e.getMessage());
+            return Collections.emptyMap();
+        } finally {
+            event.operation = "load";
+            event.file = SUMMARIES_FILE;
+            event.bytes = file.length();
+            event.commit();
+        }
+    }
+    
+    private void saveSummaries() {
+        GameEvents.LeaderboardIO event = new GameEvents.LeaderboardIO();
+        event.begin();
+        try (ObjectOutputStream oos = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(SUMMARIES_FILE)))) {
+            oos.writeObject(new HashMap<>(summaries));
+        } catch (IOException e) {
+            System.out.println("Error saving game summaries: " + e.getMessage());
+        }
+        summariesStamp = stamp(SUMMARIES_FILE);
+        event.operation = "save";
+        event.file = SUMMARIES_FILE;
+        event.entries = summaries.size();
+        event.bytes = new File(SUMMARIES_FILE).length();
+        event.commit();
     }
 }
\ No newline at end of file
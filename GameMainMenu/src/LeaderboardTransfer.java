@@ -0,0 +1,734 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Export and import of the score history (see ScoreHistory) as CSV or JSON Lines, picked by
+ * file extension (.jsonl / .json for JSON Lines, anything else CSV).
+ *
+ * Both directions stream one record at a time through buffered channels and never hold the
+ * whole history. Import validates each record, then merges it into the history with an
+ * external sort: records are sorted in fixed-size chunks, spilled to binary run files, and
+ * the runs are merged back into one time-ordered history, dropping exact duplicates
+ * (same game, score and time). Memory is bounded by CHUNK_RECORDS and the merge fan-in, not
+ * by the number of records. Only games registered with GameRegistry are accepted, by their
+ * highscore key; the best imported score per game is then submitted to the
+ * leaderboard.
+ *
+ * <pre>
+ * CSV:         game,score,time          (header line, game quoted when it needs to be)
+ *              Snake,42,1760870400000
+ * JSON Lines:  {"game":"Snake","score":42,"time":1760870400000}
+ * </pre>
+ *
+ * Usage: java LeaderboardTransfer export FILE | import FILE | generate COUNT FILE
+ */
+public final class LeaderboardTransfer {
+    static final int CHUNK_RECORDS = 1 << 18;
+    static final int MERGE_FAN_IN = 64;
+    static final int MAX_GAME_NAME = 64;
+    private static final int IO_BUFFER_BYTES = 64 * 1024;
+    private static final int RUN_BUFFER_BYTES = 16 * 1024;
+    private static final long MAX_CLOCK_SKEW = TimeUnit.DAYS.toMillis(1);
+
+    private LeaderboardTransfer() {
+    }
+
+    /**
+     * What an import did, in records.
+     */
+    public static final class ImportResult {
+        public long read;
+        public long invalid;
+        public long duplicates;
+        public long added;
+        public long historySize;
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%d read, %d invalid, %d duplicates, %d added, %d in history",
+                read, invalid, duplicates, added, historySize);
+        }
+    }
+
+    /** One record being parsed or written; reused so streaming doesn't allocate per record. */
+    private static final class Record {
+        String game;
+        int score;
+        long time;
+    }
+
+    public static void main(String[] args) throws IOException {
+        String command = args.length > 0 ? args[0] : "";
+        long start = System.nanoTime();
+        switch (command) {
+            case "export": {
+                if (args.length != 2) usage();
+                long records = export(Paths.get(args[1]));
+                report("Exported " + records + " records", Paths.get(args[1]), records, start);
+                break;
+            }
+            case "import": {
+                if (args.length != 2) usage();
+                ImportResult result = importFile(Paths.get(args[1]));
+                report("Imported: " + result, Paths.get(args[1]), result.read, start);
+                break;
+            }
+            case "generate": {
+                if (args.length != 3) usage();
+                long count = Long.parseLong(args[1]);
+                generate(count, Paths.get(args[2]));
+                report("Generated " + count + " records", Paths.get(args[2]), count, start);
+                break;
+            }
+            default:
+                usage();
+        }
+    }
+
+    private static void usage() {
+        System.err.println("Usage: java LeaderboardTransfer export FILE | import FILE | generate COUNT FILE");
+        System.exit(1);
+    }
+
+    private static void report(String summary, Path file, long records, long start) throws IOException {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        Runtime runtime = Runtime.getRuntime();
+        System.out.println(summary);
+        System.out.printf(Locale.ROOT, "%.2f s, %.2f M records/s, %.1f MB/s of %s, heap limit %d MB%n",
+            seconds, records / seconds / 1e6, Files.size(file) / seconds / 1e6, file.getFileName(),
+            runtime.maxMemory() >> 20);
+    }
+
+    private static boolean isJsonLines(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".jsonl") || name.endsWith(".json");
+    }
+
+    private static BufferedReader reader(Path file) throws IOException {
+        return new BufferedReader(Channels.newReader(FileChannel.open(file, StandardOpenOption.READ),
+            StandardCharsets.UTF_8.newDecoder(), IO_BUFFER_BYTES), IO_BUFFER_BYTES);
+    }
+
+    private static BufferedWriter writer(Path file) throws IOException {
+        return new BufferedWriter(Channels.newWriter(FileChannel.open(file, StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING),
+            StandardCharsets.UTF_8.newEncoder(), IO_BUFFER_BYTES), IO_BUFFER_BYTES);
+    }
+
+    /**
+     * Write the whole history to a file. Returns the number of records written.
+     */
+    public static long export(Path target) throws IOException {
+        boolean json = isJsonLines(target);
+        ScoreHistory.ensureExists();
+        ScoreLock lock = ScoreLock.acquire();
+        try {
+            long records = 0;
+            Record record = new Record();
+            StringBuilder line = new StringBuilder(128);
+            try (BufferedReader in = reader(ScoreHistory.path()); BufferedWriter out = writer(target)) {
+                if (!json) out.write(ScoreHistory.HEADER + "\n");
+                String text;
+                while ((text = in.readLine()) != null) {
+                    if (!parseCsv(text, record)) continue;
+                    line.setLength(0);
+                    if (json) {
+                        appendJson(line, record.game, record.score, record.time);
+                    } else {
+                        appendCsv(line, record.game, record.score, record.time);
+                    }
+                    out.append(line);
+                    records++;
+                }
+            }
+            return records;
+        } finally {
+            lock.release();
+        }
+    }
+
+    /**
+     * Validate the records in a file and merge them into the history and the leaderboard.
+     */
+    public static ImportResult importFile(Path source) throws IOException {
+        ImportResult result = new ImportResult();
+        Map<String, Integer> best = new HashMap<>();
+        Set<String> games = registeredGames();
+        ScoreHistory.ensureExists();
+        // Held until the new history replaces the old, so a run the menu finishes meanwhile
+        // is appended after the move rather than to the file being replaced
+        ScoreLock lock = ScoreLock.acquire();
+        try {
+            Path history = ScoreHistory.path().toAbsolutePath();
+            Path work = Files.createTempDirectory(history.getParent(), "score-import-");
+            try {
+                List<Path> runs = new ArrayList<>();
+                ChunkSorter sorter = new ChunkSorter(work, runs);
+                long historyRecords = spill(history, false, sorter, null, null, null);
+                result.read = spill(source, isJsonLines(source), sorter, result, best, games);
+                sorter.flush();
+
+                while (runs.size() > MERGE_FAN_IN) {
+                    List<Path> group = new ArrayList<>(runs.subList(0, MERGE_FAN_IN));
+                    runs.subList(0, MERGE_FAN_IN).clear();
+                    Path merged = work.resolve("merged-" + runs.size() + "-" + System.nanoTime() + ".run");
+                    try (RunWriter out = new RunWriter(merged)) {
+                        result.duplicates += merge(group, (game, score, time) -> out.write(game, score, time));
+                    }
+                    for (Path run : group) Files.delete(run);
+                    runs.add(merged);
+                }
+
+                Path next = work.resolve(ScoreHistory.FILE);
+                long[] written = new long[1];
+                StringBuilder line = new StringBuilder(128);
+                try (BufferedWriter out = writer(next)) {
+                    out.write(ScoreHistory.HEADER + "\n");
+                    result.duplicates += merge(runs, (game, score, time) -> {
+                        line.setLength(0);
+                        appendCsv(line, game, score, time);
+                        out.append(line);
+                        written[0]++;
+                    });
+                }
+                Files.move(next, history, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                result.historySize = written[0];
+                result.added = Math.max(0, written[0] - historyRecords);
+            } finally {
+                try (java.util.stream.Stream<Path> leftovers = Files.list(work)) {
+                    for (Path file : (Iterable<Path>) leftovers::iterator) Files.deleteIfExists(file);
+                }
+                Files.deleteIfExists(work);
+            }
+        } finally {
+            lock.release();
+        }
+        // Outside ScoreLock, which the leaderboard takes inside its own lock. It reloads
+        // whatever another process saved before applying these
+        for (Map.Entry<String, Integer> entry : best.entrySet()) {
+            LeaderboardManager.getInstance().importHighscore(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Feed every valid record of a file to the sorter. With a result, counts the lines read
+     * and rejected and keeps the best score per game; the history itself is trusted, so its
+     * games are not checked against the registered ones (games is null).
+     */
+    private static long spill(Path file, boolean json, ChunkSorter sorter, ImportResult result,
+                              Map<String, Integer> best, Set<String> games) throws IOException {
+        long records = 0;
+        long maxTime = System.currentTimeMillis() + MAX_CLOCK_SKEW;
+        Record record = new Record();
+        try (BufferedReader in = reader(file)) {
+            String line;
+            boolean first = true;
+            while ((line = in.readLine()) != null) {
+                boolean header = first && !json && line.equals(ScoreHistory.HEADER);
+                first = false;
+                if (header || line.isEmpty()) continue;
+                records++;
+                boolean parsed = json ? parseJson(line, record) : parseCsv(line, record);
+                if (!parsed || !isValid(record, maxTime, games)) {
+                    if (result != null) result.invalid++;
+                    continue;
+                }
+                sorter.add(record.game, record.score, record.time);
+                if (best != null) best.merge(record.game, record.score, Math::max);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * @param games the game names to accept, or null for any well-formed name
+     */
+    static boolean isValid(Record record, long maxTime, Set<String> games) {
+        String game = record.game;
+        if (game == null || game.isEmpty() || game.length() > MAX_GAME_NAME) return false;
+        if (games != null && !games.contains(game)) return false;
+        for (int i = 0; i < game.length(); i++) {
+            if (Character.isISOControl(game.charAt(i))) return false;
+        }
+        return record.score >= 0 && record.time >= 0 && record.time <= maxTime;
+    }
+
+    /**
+     * The names scores are kept under: each registered game's highscore key.
+     */
+    static Set<String> registeredGames() {
+        Set<String> games = new HashSet<>();
+        for (GameModule module : GameRegistry.getModules()) {
+            games.add(module.getHighscoreKey());
+        }
+        return games;
+    }
+
+    // --- Formats ---
+
+    static void appendCsv(StringBuilder line, String game, int score, long time) {
+        boolean quote = false;
+        for (int i = 0; i < game.length() && !quote; i++) {
+            char c = game.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (quote) {
+            line.append('"');
+            for (int i = 0; i < game.length(); i++) {
+                char c = game.charAt(i);
+                if (c == '"') line.append('"');
+                line.append(c);
+            }
+            line.append('"');
+        } else {
+            line.append(game);
+        }
+        line.append(',').append(score).append(',').append(time).append('\n');
+    }
+
+    static boolean parseCsv(String line, Record record) {
+        int comma;
+        if (line.startsWith("\"")) {
+            StringBuilder game = new StringBuilder();
+            int i = 1;
+            while (true) {
+                if (i >= line.length()) return false;
+                char c = line.charAt(i++);
+                if (c == '"') {
+                    if (i < line.length() && line.charAt(i) == '"') {
+                        game.append('"');
+                        i++;
+                    } else {
+                        break;
+                    }
+                } else {
+                    game.append(c);
+                }
+            }
+            if (i >= line.length() || line.charAt(i) != ',') return false;
+            record.game = game.toString();
+            comma = i;
+        } else {
+            comma = line.indexOf(',');
+            if (comma < 0) return false;
+            record.game = line.substring(0, comma);
+        }
+        int second = line.indexOf(',', comma + 1);
+        if (second < 0) return false;
+        try {
+            record.score = Integer.parseInt(line, comma + 1, second, 10);
+            record.time = Long.parseLong(line, second + 1, line.length(), 10);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        return true;
+    }
+
+    static void appendJson(StringBuilder line, String game, int score, long time) {
+        line.append("{\"game\":\"");
+        for (int i = 0; i < game.length(); i++) {
+            char c = game.charAt(i);
+            if (c == '"' || c == '\\') {
+                line.append('\\').append(c);
+            } else if (c < 0x20) {
+                line.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+            } else {
+                line.append(c);
+            }
+        }
+        line.append("\",\"score\":").append(score).append(",\"time\":").append(time).append("}\n");
+    }
+
+    /**
+     * Parse one flat JSON object with "game", "score" and "time"; other string or number
+     * members are ignored.
+     */
+    static boolean parseJson(String line, Record record) {
+        JsonCursor in = new JsonCursor(line);
+        record.game = null;
+        boolean hasScore = false;
+        boolean hasTime = false;
+        try {
+            in.expect('{');
+            if (!in.tryConsume('}')) {
+                do {
+                    String key = in.string();
+                    in.expect(':');
+                    switch (key) {
+                        case "game": record.game = in.string(); break;
+                        case "score": record.score = Math.toIntExact(in.number()); hasScore = true; break;
+                        case "time": record.time = in.number(); hasTime = true; break;
+                        default: in.skipValue();
+                    }
+                } while (in.tryConsume(','));
+                in.expect('}');
+            }
+            in.expectEnd();
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            return false;
+        }
+        return record.game != null && hasScore && hasTime;
+    }
+
+    private static final class JsonCursor {
+        private final String text;
+        private int pos;
+
+        JsonCursor(String text) {
+            this.text = text;
+        }
+
+        private void skipSpace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) pos++;
+        }
+
+        boolean tryConsume(char c) {
+            skipSpace();
+            if (pos < text.length() && text.charAt(pos) == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        void expect(char c) {
+            if (!tryConsume(c)) throw new IllegalArgumentException("Expected " + c + " at " + pos);
+        }
+
+        void expectEnd() {
+            skipSpace();
+            if (pos != text.length()) throw new IllegalArgumentException("Trailing text at " + pos);
+        }
+
+        String string() {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (true) {
+                if (pos >= text.length()) throw new IllegalArgumentException("Unterminated string");
+                char c = text.charAt(pos++);
+                if (c == '"') return value.toString();
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                if (pos >= text.length()) throw new IllegalArgumentException("Unterminated escape");
+                char escape = text.charAt(pos++);
+                switch (escape) {
+                    case '"': case '\\': case '/': value.append(escape); break;
+                    case 'b': value.append('\b'); break;
+                    case 'f': value.append('\f'); break;
+                    case 'n': value.append('\n'); break;
+                    case 'r': value.append('\r'); break;
+                    case 't': value.append('\t'); break;
+                    case 'u':
+                        if (pos + 4 > text.length()) throw new IllegalArgumentException("Bad escape");
+                        value.append((char) Integer.parseInt(text, pos, pos + 4, 16));
+                        pos += 4;
+                        break;
+                    default: throw new IllegalArgumentException("Bad escape");
+                }
+            }
+        }
+
+        long number() {
+            skipSpace();
+            int start = pos;
+            if (pos < text.length() && text.charAt(pos) == '-') pos++;
+            while (pos < text.length() && Character.isDigit(text.charAt(pos))) pos++;
+            // Integers only: fractions or exponents make the record invalid
+            return Long.parseLong(text, start, pos, 10);
+        }
+
+        void skipValue() {
+            skipSpace();
+            if (pos < text.length() && text.charAt(pos) == '"') {
+                string();
+            } else if (text.startsWith("true", pos) || text.startsWith("null", pos)) {
+                pos += 4;
+            } else if (text.startsWith("false", pos)) {
+                pos += 5;
+            } else {
+                number();
+            }
+        }
+    }
+
+    // --- External sort ---
+
+    private interface RecordSink {
+        void accept(String game, int score, long time) throws IOException;
+    }
+
+    /** History order: by time, then game, then score */
+    private static int compare(long timeA, String gameA, int scoreA, long timeB, String gameB, int scoreB) {
+        int order = Long.compare(timeA, timeB);
+        if (order == 0) order = gameA.compareTo(gameB);
+        if (order == 0) order = Integer.compare(scoreA, scoreB);
+        return order;
+    }
+
+    /**
+     * Collects up to CHUNK_RECORDS records in primitive arrays, sorts them and writes them
+     * out as one run file.
+     */
+    private static final class ChunkSorter {
+        private final Path directory;
+        private final List<Path> runs;
+        private final long[] times = new long[CHUNK_RECORDS];
+        private final int[] scores = new int[CHUNK_RECORDS];
+        private final int[] games = new int[CHUNK_RECORDS];
+        private final int[] order = new int[CHUNK_RECORDS];
+        private final int[] scratch = new int[CHUNK_RECORDS];
+        // Game names of this chunk; few distinct ones in practice, never more than the chunk
+        private final Map<String, Integer> gameIds = new HashMap<>();
+        private final List<String> gameNames = new ArrayList<>();
+        private int size;
+
+        ChunkSorter(Path directory, List<Path> runs) {
+            this.directory = directory;
+            this.runs = runs;
+        }
+
+        void add(String game, int score, long time) throws IOException {
+            Integer id = gameIds.get(game);
+            if (id == null) {
+                id = gameNames.size();
+                gameIds.put(game, id);
+                gameNames.add(game);
+            }
+            times[size] = time;
+            scores[size] = score;
+            games[size] = id;
+            size++;
+            if (size == CHUNK_RECORDS) flush();
+        }
+
+        void flush() throws IOException {
+            if (size == 0) return;
+            for (int i = 0; i < size; i++) order[i] = i;
+            sort();
+            Path run = directory.resolve("chunk-" + runs.size() + ".run");
+            try (RunWriter out = new RunWriter(run)) {
+                for (int i = 0; i < size; i++) {
+                    int r = order[i];
+                    out.write(gameNames.get(games[r]), scores[r], times[r]);
+                }
+            }
+            runs.add(run);
+            size = 0;
+            gameIds.clear();
+            gameNames.clear();
+        }
+
+        private int compareAt(int a, int b) {
+            return compare(times[a], gameNames.get(games[a]), scores[a], times[b], gameNames.get(games[b]), scores[b]);
+        }
+
+        /** Bottom-up merge sort of order[0, size), stable and allocation-free */
+        private void sort() {
+            int[] from = order;
+            int[] to = scratch;
+            for (int width = 1; width < size; width *= 2) {
+                for (int lo = 0; lo < size; lo += 2 * width) {
+                    int mid = Math.min(lo + width, size);
+                    int hi = Math.min(lo + 2 * width, size);
+                    int i = lo;
+                    int j = mid;
+                    for (int k = lo; k < hi; k++) {
+                        if (i < mid && (j >= hi || compareAt(from[i], from[j]) <= 0)) {
+                            to[k] = from[i++];
+                        } else {
+                            to[k] = from[j++];
+                        }
+                    }
+                }
+                int[] swap = from;
+                from = to;
+                to = swap;
+            }
+            if (from != order) System.arraycopy(from, 0, order, 0, size);
+        }
+    }
+
+    /**
+     * Merge sorted runs into a sink, dropping exact duplicates. Returns the number dropped.
+     */
+    private static long merge(List<Path> runs, RecordSink sink) throws IOException {
+        PriorityQueue<RunReader> queue = new PriorityQueue<>(Math.max(1, runs.size()),
+            (a, b) -> compare(a.time, a.game, a.score, b.time, b.game, b.score));
+        List<RunReader> readers = new ArrayList<>();
+        long duplicates = 0;
+        try {
+            for (Path run : runs) {
+                RunReader reader = new RunReader(run);
+                readers.add(reader);
+                if (reader.next()) queue.add(reader);
+            }
+            String lastGame = null;
+            int lastScore = 0;
+            long lastTime = 0;
+            while (!queue.isEmpty()) {
+                RunReader reader = queue.poll();
+                if (lastGame != null && reader.time == lastTime && reader.score == lastScore
+                        && reader.game.equals(lastGame)) {
+                    duplicates++;
+                } else {
+                    sink.accept(reader.game, reader.score, reader.time);
+                    lastGame = reader.game;
+                    lastScore = reader.score;
+                    lastTime = reader.time;
+                }
+                if (reader.next()) queue.add(reader);
+            }
+        } finally {
+            for (RunReader reader : readers) reader.close();
+        }
+        return duplicates;
+    }
+
+    /**
+     * Binary run file: per record time:long, score:int, game length:short, game UTF-8 bytes.
+     */
+    private static final class RunWriter implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(RUN_BUFFER_BYTES);
+
+        RunWriter(Path file) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        }
+
+        void write(String game, int score, long time) throws IOException {
+            byte[] name = game.getBytes(StandardCharsets.UTF_8);
+            if (buffer.remaining() < 14 + name.length) drain();
+            buffer.putLong(time).putInt(score).putShort((short) name.length).put(name);
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) channel.write(buffer);
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                drain();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    private static final class RunReader implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(RUN_BUFFER_BYTES);
+        private final byte[] name = new byte[MAX_GAME_NAME * 4];
+        long time;
+        int score;
+        String game;
+
+        RunReader(Path file) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            buffer.limit(0);
+        }
+
+        boolean next() throws IOException {
+            if (!fill(14)) return false;
+            time = buffer.getLong();
+            score = buffer.getInt();
+            int length = buffer.getShort();
+            if (!fill(length)) throw new EOFException("Truncated run file");
+            buffer.get(name, 0, length);
+            game = new String(name, 0, length, StandardCharsets.UTF_8);
+            return true;
+        }
+
+        /** Make sure bytes are buffered; false at a clean end of file */
+        private boolean fill(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes) return true;
+            buffer.compact();
+            while (buffer.position() < bytes) {
+                if (channel.read(buffer) < 0) {
+                    boolean empty = buffer.position() == 0;
+                    buffer.flip();
+                    if (empty) return false;
+                    throw new EOFException("Truncated run file");
+                }
+            }
+            buffer.flip();
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    // --- Test data ---
+
+    /**
+     * Write COUNT random records for trying out imports: about 1% repeat an earlier record
+     * and 0.1% are malformed. Games are the registered games' highscore keys.
+     */
+    static void generate(long count, Path target) throws IOException {
+        boolean json = isJsonLines(target);
+        String[] games = registeredGames().toArray(new String[0]);
+        if (games.length == 0) throw new IOException("No games registered; is META-INF/services on the class path?");
+        Arrays.sort(games); // Same file for the same seed, whatever the set's order
+        Random random = new Random(1);
+        long now = System.currentTimeMillis();
+        long yearAgo = now - TimeUnit.DAYS.toMillis(365);
+        StringBuilder line = new StringBuilder(128);
+        String repeat = null;
+        try (Writer out = writer(target)) {
+            if (!json) out.write(ScoreHistory.HEADER + "\n");
+            for (long i = 0; i < count; i++) {
+                int roll = random.nextInt(1000);
+                if (roll < 1) {
+                    out.write(json ? "{\"game\":\"Snake\",\"score\":-1}\n" : "Snake,not a number,0\n");
+                    continue;
+                }
+                if (roll < 11 && repeat != null) {
+                    out.write(repeat);
+                    continue;
+                }
+                line.setLength(0);
+                String game = games[random.nextInt(games.length)];
+                int score = random.nextInt(5000);
+                long time = yearAgo + (long) (random.nextDouble() * (now - yearAgo));
+                if (json) {
+                    appendJson(line, game, score, time);
+                } else {
+                    appendCsv(line, game, score, time);
+                }
+                out.append(line);
+                if (roll < 100) repeat = line.toString();
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+import java.awt.*;
+import java.awt.event.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import javax.swing.*;
+
+/**
+ * Snake view of a multiplayer arena. Draws the client's replica and predicts the player's
+ * own head from unacknowledged turns, so turning feels immediate even over a slow link.
+ */
+class NetworkPanel extends JPanel {
+    static final int VIEW_SIZE = 640;
+    private static final Color BACKGROUND = Color.black;
+    private static final Color GRID = new Color(40, 40, 40);
+    private static final Color OWN_BODY = new Color(45, 180, 0);
+    private static final Color PREDICTED = new Color(0, 255, 0, 110);
+    private static final Font SCORE_FONT = new Font("Arial", Font.BOLD, 24);
+    private static final Font MESSAGE_FONT = new Font("Arial", Font.BOLD, 40);
+    private static final Color[] OTHER_COLORS = new Color[16];
+    private static final Color[] OTHER_BODIES = new Color[OTHER_COLORS.length];
+
+    static {
+        for (int i = 0; i < OTHER_COLORS.length; i++) {
+            OTHER_COLORS[i] = Color.getHSBColor(i / (float) OTHER_COLORS.length, 0.6f, 0.9f);
+            OTHER_BODIES[i] = OTHER_COLORS[i].darker();
+        }
+    }
+
+    private final SnakeClient client;
+    private final int unit;
+    private final int[] predicted = new int[4];
+    private final GameMetrics metrics = GameMetrics.forGame("Snake");
+    private final PerfOverlay overlay = new PerfOverlay();
+    private final Renderer renderer;
+    private int bestScore;
+
+    NetworkPanel(SnakeClient client) {
+        this.client = client;
+        SnakeArena arena = client.getArena();
+        this.unit = unitFor(arena);
+        this.renderer = new Renderer(unit);
+        setPreferredSize(new Dimension(arena.width * unit, arena.height * unit));
+        setBackground(BACKGROUND);
+        setFocusable(true);
+        addKeyListener(new MyKeyAdapter());
+        overlay.installToggle(this, this);
+        client.setListener(() -> {
+            overlay.onTick();
+            repaint();
+        });
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        long paintStart = metrics.beginPaint(g);
+        super.paintComponent(g);
+        Graphics2D g2 = (Graphics2D) g;
+        SnakeArena arena = client.getArena();
+        int score;
+        synchronized (arena) {
+            int count = client.predictHead(predicted);
+            score = renderer.drawArena(g2, arena, client.getPlayerId(), predicted, count);
+        }
+
+        bestScore = Math.max(bestScore, score);
+        renderer.drawStatus(g2, score, bestScore, client.isClosed(), getWidth(), getHeight());
+
+        overlay.onFrame();
+        overlay.draw(g, 5, 40);
+        metrics.endPaint(paintStart);
+    }
+
+    /**
+     * Draws an arena replica and the player's status. Like GamePanel.Renderer it keeps the
+     * apple, the predicted cell, score widths and messages, so a frame allocates nothing;
+     * RenderAllocationCheck holds it to that.
+     */
+    static final class Renderer {
+        private final int unit;
+        private final NumberText scoreText = new NumberText(SCORE_FONT, "Score: ");
+        private final NumberText bestText = new NumberText(SCORE_FONT, "   Best: ");
+        private BufferedImage apple;
+        private BufferedImage predictedCell;
+        private BufferedImage disconnected;
+        private BufferedImage respawning;
+
+        /**
+         * @param unit pixels per cell
+         */
+        Renderer(int unit) {
+            this.unit = unit;
+        }
+
+        /**
+         * Draw the arena's apples and snakes and the player's predicted head cells. Call with
+         * the arena locked. Returns the player's score, or -1 while their snake is dead.
+         */
+        int drawArena(Graphics2D g, SnakeArena arena, int playerId, int[] predicted, int predictedCount) {
+            int score = -1;
+            g.setColor(GRID);
+            g.drawRect(0, 0, arena.width * unit - 1, arena.height * unit - 1);
+
+            // An image, since fillOval allocates a shape on every call
+            if (apple == null) apple = GamePanel.Renderer.appleImage(g, unit);
+            for (int cell = 0; cell < arena.cells.length; cell++) {
+                if (arena.cells[cell] == SnakeWorld.APPLE) {
+                    g.drawImage(apple, (cell % arena.width) * unit, (cell / arena.width) * unit, null);
+                }
+            }
+
+            for (SnakeArena.Snake snake : arena.snakes) {
+                if (snake == null || !snake.alive) continue;
+                boolean own = snake.id == playerId;
+                g.setColor(own ? OWN_BODY : OTHER_BODIES[snake.id % OTHER_COLORS.length]);
+                for (int i = 0; i < snake.length; i++) {
+                    int cell = snake.cell(i);
+                    if (i == snake.length - 1) {
+                        g.setColor(own ? Color.green : OTHER_COLORS[snake.id % OTHER_COLORS.length]);
+                    }
+                    g.fillRect((cell % arena.width) * unit, (cell / arena.width) * unit, unit, unit);
+                }
+                if (own) score = snake.score;
+            }
+
+            // Also an image: filling in a translucent color allocates on every call
+            if (predictedCell == null) predictedCell = predictedImage(g);
+            for (int i = 0; i < predictedCount; i++) {
+                g.drawImage(predictedCell, (predicted[i] % arena.width) * unit, (predicted[i] / arena.width) * unit, null);
+            }
+            return score;
+        }
+
+        private BufferedImage predictedImage(Graphics2D g) {
+            BufferedImage image = g.getDeviceConfiguration().createCompatibleImage(unit, unit, Transparency.TRANSLUCENT);
+            Graphics2D imageGraphics = image.createGraphics();
+            imageGraphics.setColor(PREDICTED);
+            imageGraphics.fillRect(0, 0, unit, unit);
+            imageGraphics.dispose();
+            return image;
+        }
+
+        /**
+         * The score line and, when the connection is gone or the player's snake is dead
+         * (score -1), a message over the middle of a view of the given size.
+         */
+        void drawStatus(Graphics2D g, int score, int bestScore, boolean closed, int width, int height) {
+            g.setColor(Color.white);
+            // A dead snake's -1 is drawn as 0
+            scoreText.draw(g, score, 10, 28);
+            bestText.draw(g, bestScore, 10 + scoreText.width(g, score), 28);
+
+            g.setColor(Color.red);
+            BufferedImage message = null;
+            if (closed) {
+                if (disconnected == null) disconnected = GamePanel.Renderer.textImage(g, MESSAGE_FONT, "Disconnected");
+                message = disconnected;
+            } else if (score < 0) {
+                if (respawning == null) respawning = GamePanel.Renderer.textImage(g, MESSAGE_FONT, "Respawning...");
+                message = respawning;
+            }
+            if (message != null) {
+                // A picture, as drawing text in a second font in one frame allocates
+                g.drawImage(message, (width - message.getWidth()) / 2,
+                    height / 2 - g.getFontMetrics(MESSAGE_FONT).getAscent(), null);
+            }
+        }
+    }
+
+    /** Pixels per cell that fit the arena in about VIEW_SIZE */
+    static int unitFor(SnakeArena arena) {
+        return Math.max(4, VIEW_SIZE / Math.max(arena.width, arena.height));
+    }
+
+    @Override
+    public void removeNotify() {
+        super.removeNotify();
+        // A multiplayer session counts as one run, scored by the best life
+        GameEventBus.runFinished("Snake", bestScore);
+        try {
+            client.close();
+        } catch (IOException e) {
+            // Closing anyway
+        }
+    }
+
+    public class MyKeyAdapter extends KeyAdapter {
+        @Override
+        public void keyPressed(KeyEvent e) {
+            char turn = GamePanel.turnFor(e.getKeyCode());
+            if (turn == 0) return;
+            char heading;
+            synchronized (client.getArena()) {
+                heading = client.predictedDirection();
+            }
+            if (heading == turn || SnakeClient.isReverse(heading, turn)) return;
+            try {
+                client.sendTurn(turn);
+            } catch (IOException ex) {
+                System.err.println("Could not send turn: " + ex.getMessage());
+            }
+            repaint();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.font.FontRenderContext;
+import java.awt.image.BufferedImage;
+
+/**
+ * Draws a fixed prefix followed by a number, such as "Score: 12", without building a String
+ * every frame: the characters are written into a reused buffer and drawn with drawChars.
+ * The prefix's and digits' widths are measured once, and again only when the Graphics' font
+ * render context changes (for example between a window and an offscreen image).
+ *
+ * Glyph vectors would skip the layout too, but drawGlyphVector allocates on every call in
+ * the JDK's text pipeline, where drawChars does not. Neither is free when the frame has
+ * already drawn text in another font: the switch costs an allocation too, so text in a
+ * frame's second font goes through drawAsImage instead.
+ *
+ * Like the rest of the paint code, use it from one thread only.
+ */
+final class NumberText {
+    private static final int MAX_DIGITS = 10;
+
+    private final Font font;
+    private final char[] text;
+    private final int prefixLength;
+
+    private FontRenderContext context;
+    private int prefixWidth;
+    private final int[] digitWidths = new int[10];
+
+    // drawAsImage's pictures of the digits 0-9 and then the prefix, in imageColor
+    private BufferedImage[] images;
+    private Color imageColor;
+    private int ascent;
+
+    NumberText(Font font, String prefix) {
+        this.font = font;
+        this.prefixLength = prefix.length();
+        this.text = new char[prefixLength + MAX_DIGITS];
+        prefix.getChars(0, prefixLength, text, 0);
+    }
+
+    NumberText(Font font) {
+        this(font, "");
+    }
+
+    /**
+     * Width of the prefix and the number in pixels. Negative numbers are drawn as 0.
+     */
+    int width(Graphics2D g, int value) {
+        measure(g);
+        int width = prefixWidth;
+        int length = format(value);
+        for (int i = prefixLength; i < length; i++) {
+            width += digitWidths[text[i] - '0'];
+        }
+        return width;
+    }
+
+    /**
+     * Draw with the left end of the baseline at (x, y), in the Graphics' current color.
+     * Leaves the Graphics' font set to this text's font.
+     */
+    void draw(Graphics2D g, int value, int x, int y) {
+        g.setFont(font);
+        g.drawChars(text, 0, format(value), x, y);
+    }
+
+    void drawCentered(Graphics2D g, int value, int centerX, int y) {
+        draw(g, value, centerX - width(g, value) / 2, y);
+    }
+
+    /**
+     * Like draw, but copies pictures of the prefix and each digit, drawn once in the
+     * Graphics' current color, and leaves the Graphics' font alone. For text in a frame's
+     * second font, such as a label over the score.
+     */
+    void drawAsImage(Graphics2D g, int value, int x, int y) {
+        measure(g);
+        if (images == null || !g.getColor().equals(imageColor)) {
+            images = new BufferedImage[11];
+            imageColor = g.getColor();
+            for (int digit = 0; digit < 10; digit++) {
+                images[digit] = picture(g, (char) ('0' + digit), digitWidths[digit]);
+            }
+            if (prefixLength > 0) images[10] = picture(g, text, prefixLength, prefixWidth);
+        }
+        int length = format(value);
+        int top = y - ascent;
+        if (prefixLength > 0) {
+            g.drawImage(images[10], x, top, null);
+            x += prefixWidth;
+        }
+        for (int i = prefixLength; i < length; i++) {
+            int digit = text[i] - '0';
+            g.drawImage(images[digit], x, top, null);
+            x += digitWidths[digit];
+        }
+    }
+
+    private BufferedImage picture(Graphics2D g, char c, int width) {
+        return picture(g, new char[] {c}, 1, width);
+    }
+
+    private BufferedImage picture(Graphics2D g, char[] chars, int length, int width) {
+        FontMetrics metrics = g.getFontMetrics(font);
+        BufferedImage picture = g.getDeviceConfiguration().createCompatibleImage(
+            Math.max(1, width), metrics.getHeight(), Transparency.BITMASK);
+        Graphics2D pictureGraphics = picture.createGraphics();
+        pictureGraphics.setColor(imageColor);
+        pictureGraphics.setFont(font);
+        pictureGraphics.drawChars(chars, 0, length, 0, ascent);
+        pictureGraphics.dispose();
+        return picture;
+    }
+
+    /** Write the digits after the prefix; returns the length of the text */
+    private int format(int value) {
+        value = Math.max(0, value);
+        int digits = 1;
+        for (int rest = value / 10; rest > 0; rest /= 10) digits++;
+        int end = prefixLength + digits;
+        for (int i = end - 1; i >= prefixLength; i--) {
+            text[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return end;
+    }
+
+    private void measure(Graphics2D g) {
+        FontRenderContext current = g.getFontRenderContext();
+        if (current.equals(context)) return;
+        context = current;
+        images = null;
+        FontMetrics metrics = g.getFontMetrics(font);
+        ascent = metrics.getAscent();
+        prefixWidth = metrics.charsWidth(text, 0, prefixLength);
+        for (int digit = 0; digit < 10; digit++) {
+            digitWidths[digit] = metrics.charWidth((char) ('0' + digit));
+        }
+    }
+}
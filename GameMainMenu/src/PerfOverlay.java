@@ -0,0 +1,145 @@
+import java.awt.*;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+
+/**
+ * Debug overlay showing FPS, ticks/sec, p99 frame time, heap use and allocation rate.
+ * Toggled with F3 once installed on a component.
+ *
+ * Counters are updated on every frame and tick, but the text is only rebuilt once a second,
+ * so drawing the overlay reuses the same strings and font for the rest of the second.
+ */
+public class PerfOverlay {
+    public static final int TOGGLE_KEY = KeyEvent.VK_F3;
+
+    private static final int WINDOW_FRAMES = 120;
+    private static final long SECOND = 1_000_000_000L;
+    private static final Font FONT = new Font(Font.MONOSPACED, Font.BOLD, 13);
+    private static final Color BACKGROUND = new Color(0, 0, 0, 170);
+    private static final Color TEXT = new Color(120, 255, 120);
+    private static final int LINE_HEIGHT = 16;
+    private static final int LINES = 5;
+
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+    private boolean visible;
+
+    // Rolling window of frame-to-frame intervals
+    private final long[] frameTimes = new long[WINDOW_FRAMES];
+    private final long[] sortedFrameTimes = new long[WINDOW_FRAMES];
+    private int frameIndex;
+    private int frameSamples;
+    private long lastFrame;
+
+    private long windowStart;
+    private int framesInWindow;
+    private int ticksInWindow;
+    private long allocatedAtWindowStart = -1;
+
+    private final String[] lines = {"FPS    --", "Ticks  --", "p99    --", "Heap   --", "Alloc  --"};
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+            if (sunBean.isThreadAllocatedMemorySupported()) {
+                sunBean.setThreadAllocatedMemoryEnabled(true);
+                return sunBean;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Toggle the overlay with F3 on the given component and repaint it.
+     */
+    public void installToggle(Component component, Component repaintTarget) {
+        component.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                if (e.getKeyCode() == TOGGLE_KEY) {
+                    visible = !visible;
+                    repaintTarget.repaint();
+                }
+            }
+        });
+    }
+
+    public void onTick() {
+        ticksInWindow++;
+    }
+
+    /**
+     * Call once per painted frame, from the painting thread.
+     */
+    public void onFrame() {
+        long now = System.nanoTime();
+        if (lastFrame != 0) {
+            frameTimes[frameIndex] = now - lastFrame;
+            frameIndex = (frameIndex + 1) % WINDOW_FRAMES;
+            if (frameSamples < WINDOW_FRAMES) frameSamples++;
+        }
+        lastFrame = now;
+        framesInWindow++;
+
+        if (windowStart == 0) {
+            windowStart = now;
+            allocatedAtWindowStart = allocatedBytes();
+        } else if (now - windowStart >= SECOND) {
+            updateLines(now);
+        }
+    }
+
+    private long allocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private void updateLines(long now) {
+        double seconds = (now - windowStart) / (double) SECOND;
+        lines[0] = String.format("FPS   %5.1f", framesInWindow / seconds);
+        lines[1] = String.format("Ticks %5.1f/s", ticksInWindow / seconds);
+
+        if (frameSamples > 0) {
+            System.arraycopy(frameTimes, 0, sortedFrameTimes, 0, frameSamples);
+            Arrays.sort(sortedFrameTimes, 0, frameSamples);
+            long p99 = sortedFrameTimes[Math.min(frameSamples - 1, (int) Math.ceil(frameSamples * 0.99) - 1)];
+            lines[2] = String.format("p99   %5.1f ms", p99 / 1e6);
+        }
+
+        long used = MEMORY.getHeapMemoryUsage().getUsed();
+        long max = MEMORY.getHeapMemoryUsage().getMax();
+        lines[3] = String.format("Heap  %d / %d MB", used >> 20, max >> 20);
+
+        long allocated = allocatedBytes();
+        if (allocated >= 0 && allocatedAtWindowStart >= 0) {
+            lines[4] = String.format("Alloc %.1f KB/s", (allocated - allocatedAtWindowStart) / 1024.0 / seconds);
+        } else {
+            lines[4] = "Alloc n/a";
+        }
+
+        windowStart = now;
+        framesInWindow = 0;
+        ticksInWindow = 0;
+        // Read after formatting so the overlay's own strings are not counted as game allocation
+        allocatedAtWindowStart = allocatedBytes();
+    }
+
+    /**
+     * Draw the overlay at the given top-left corner if it is switched on.
+     */
+    public void draw(Graphics g, int x, int y) {
+        if (!visible) return;
+        g.setColor(BACKGROUND);
+        g.fillRect(x, y, 170, LINES * LINE_HEIGHT + 8);
+        g.setColor(TEXT);
+        g.setFont(FONT);
+        for (int i = 0; i < LINES; i++) {
+            g.drawString(lines[i], x + 6, y + (i + 1) * LINE_HEIGHT);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Locale;
+
+/**
+ * Checks that the games' paint code allocates nothing once warmed up: each game's renderer
+ * draws its simulation (see RenderScenes) into an offscreen image for a number of frames while the thread's
+ * allocated bytes are counted, and any byte is a failure (exit status 1). Runs headless.
+ *
+ * Each game is played from a fixed seed until warmed up, which caches fonts, text and tile
+ * images and gets the paint code compiled, then replayed from the same seed while measured;
+ * only the drawing is counted, not the game steps.
+ *
+ * Usage: java RenderAllocationCheck [--frames N]
+ */
+public class RenderAllocationCheck {
+    private static final int WARM_UP_FRAMES = 20_000;
+
+    private static com.sun.management.ThreadMXBean threads;
+    private static int failures;
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        int frames = 5_000;
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--frames": frames = Integer.parseInt(value); i++; break;
+                default:
+                    System.err.println("Unknown argument: " + args[i]);
+                    System.err.println("Usage: java RenderAllocationCheck [--frames N]");
+                    System.exit(1);
+            }
+        }
+
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)
+                || !((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+            System.err.println("This JVM cannot count allocated bytes per thread");
+            System.exit(1);
+        }
+        threads = (com.sun.management.ThreadMXBean) bean;
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        System.out.printf(Locale.ROOT, "%d frames per game%n", frames);
+        check("Snake", new RenderScenes.SnakeLaps(), frames);
+        check("Snake (game over)", new RenderScenes.SnakeOver(), frames);
+        check("Snake world", new RenderScenes.WorldCrawl(), frames);
+        check("Snake world (over)", new RenderScenes.WorldOver(), frames);
+        check("Multiplayer", new RenderScenes.ArenaPlay(false), frames);
+        check("Multiplayer (closed)", new RenderScenes.ArenaPlay(true), frames);
+        check("Flappy Bird", new RenderScenes.FlappyPlay(false), frames);
+        check("Flappy Bird (turbo)", new RenderScenes.FlappyPlay(true), frames);
+        check("2048", new RenderScenes.BoardPlay(Board2048.DEFAULT_SIZE, false), frames);
+        check("2048 (8x8)", new RenderScenes.BoardPlay(Board2048.MAX_SIZE, false), frames);
+        check("2048 (animated)", new RenderScenes.BoardPlay(Board2048.DEFAULT_SIZE, true), frames);
+        check("2048 (8x8, animated)", new RenderScenes.BoardPlay(Board2048.MAX_SIZE, true), frames);
+
+        if (failures > 0) {
+            System.err.println(failures + " game(s) allocated while drawing");
+            System.exit(1);
+        }
+    }
+
+    private static void check(String name, RenderScenes.Scene scene, int frames) {
+        BufferedImage image = new BufferedImage(scene.width(), scene.height(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        // Long enough for the JIT to compile the paint code, whose allocations it mostly removes
+        for (int warm = 0; warm < WARM_UP_FRAMES; warm += frames) {
+            run(scene, g, frames);
+        }
+        long bytes = run(scene, g, frames);
+        g.dispose();
+
+        if (bytes != 0) failures++;
+        System.out.printf(Locale.ROOT, "%-20s %10d bytes drawing, %8.1f per frame  %s%n",
+            name, bytes, (double) bytes / frames, bytes == 0 ? "ok" : "FAIL");
+    }
+
+    /** Play the scene from its seed; returns the bytes allocated by the draws alone */
+    private static long run(RenderScenes.Scene scene, Graphics2D g, int frames) {
+        long thread = Thread.currentThread().getId();
+        long allocated = 0;
+        scene.reset();
+        for (int frame = 0; frame < frames; frame++) {
+            scene.step(frame);
+            long before = threads.getThreadAllocatedBytes(thread);
+            scene.paint(g);
+            allocated += threads.getThreadAllocatedBytes(thread) - before;
+        }
+        return allocated;
+    }
+}
@@ -0,0 +1,249 @@
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Toolkit;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Times the games' paint code under growing load, for comparing a rendering change against
+ * a baseline run on the same machine. Each game's renderer (see RenderScenes) draws into an
+ * offscreen image at stepped load levels: longer snakes, more pipes, larger 2048 boards and
+ * bigger menu backgrounds. Every frame is timed on its own; frames per second, mean, p99 and
+ * worst frame time per level go to a CSV file.
+ *
+ * With a display (or Xvfb) frames are drawn into a VolatileImage and each frame waits for
+ * the pipeline with Toolkit.sync, so accelerated pipelines are measured; headless, or with
+ * --target image, into a BufferedImage by the software loops. Only the drawing is timed,
+ * not setting up the next frame's state.
+ *
+ * --baseline reads an earlier results file and prints each level's change next to it.
+ *
+ * Usage: java RenderBenchmark [--game snake|flappy|2048|menu|all] [--frames N] [--warm-up N]
+ *                             [--target volatile|image] [--out FILE] [--baseline FILE]
+ */
+public class RenderBenchmark {
+    private static final String HEADER = "game,load,width,height,target,frames,fps,mean_ms,p99_ms,max_ms";
+
+    private static final int[] SNAKE_LENGTHS = {SnakeSimulation.START_PARTS, 48, 144, 288, SnakeSimulation.GAME_UNITS - 1};
+    private static final int[] PIPE_PAIRS = {0, 2, 8, 32, 128};
+    private static final int[][] MENU_SIZES = {{800, 600}, {1280, 720}, {1920, 1080}, {2560, 1440}};
+
+    private final int frames;
+    private final int warmUp;
+    private final boolean volatileTarget;
+    private final StringBuilder results = new StringBuilder();
+    private final Map<String, double[]> baseline;
+
+    private RenderBenchmark(int frames, int warmUp, boolean volatileTarget, Map<String, double[]> baseline) {
+        this.frames = frames;
+        this.warmUp = warmUp;
+        this.volatileTarget = volatileTarget;
+        this.baseline = baseline;
+    }
+
+    public static void main(String[] args) throws IOException {
+        String game = "all";
+        int frames = 2_000;
+        int warmUp = 3_000;
+        String target = GraphicsEnvironment.isHeadless() ? "image" : "volatile";
+        String out = "render_benchmark.csv";
+        String baselineFile = null;
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--game": game = value; i++; break;
+                case "--frames": frames = Integer.parseInt(value); i++; break;
+                case "--warm-up": warmUp = Integer.parseInt(value); i++; break;
+                case "--target": target = value; i++; break;
+                case "--out": out = value; i++; break;
+                case "--baseline": baselineFile = value; i++; break;
+                default:
+                    usage("Unknown argument: " + args[i]);
+            }
+        }
+        if (!game.matches("snake|flappy|2048|menu|all")) usage("Unknown game: " + game);
+        if (!"volatile".equals(target) && !"image".equals(target)) usage("Unknown target: " + target);
+        if ("volatile".equals(target) && GraphicsEnvironment.isHeadless()) {
+            System.err.println("--target volatile needs a display; run under Xvfb or use --target image");
+            System.exit(1);
+        }
+        if (frames < 1 || warmUp < 0) usage("--frames must be positive and --warm-up not negative");
+        Map<String, double[]> baseline = baselineFile == null ? null : readResults(Paths.get(baselineFile));
+
+        System.out.printf(Locale.ROOT, "Java %s (%s), %s %s %s, %d CPUs, target %s%n",
+            System.getProperty("java.version"), System.getProperty("java.vm.name"),
+            System.getProperty("os.name"), System.getProperty("os.version"), System.getProperty("os.arch"),
+            Runtime.getRuntime().availableProcessors(), target);
+        System.out.printf(Locale.ROOT, "%d frames per level after %d warm-up frames%n%n", frames, warmUp);
+        System.out.printf(Locale.ROOT, "%-6s %-10s %9s %10s %10s %10s%s%n", "game", "load", "size", "fps",
+            "p99 ms", "max ms", baseline == null ? "" : "   vs baseline fps, p99");
+
+        RenderBenchmark benchmark = new RenderBenchmark(frames, warmUp, "volatile".equals(target), baseline);
+        boolean all = "all".equals(game);
+        if (all || "snake".equals(game)) {
+            for (int length : SNAKE_LENGTHS) benchmark.run("snake", length + " parts", new RenderScenes.SnakeLength(length));
+        }
+        if (all || "flappy".equals(game)) {
+            for (int pairs : PIPE_PAIRS) benchmark.run("flappy", pairs + " pipes", new RenderScenes.FlappyPipes(pairs));
+        }
+        if (all || "2048".equals(game)) {
+            for (int size = Board2048.MIN_SIZE; size <= Board2048.MAX_SIZE; size++) {
+                benchmark.run("2048", size + "x" + size, new RenderScenes.BoardPlay(size, true));
+            }
+        }
+        if (all || "menu".equals(game)) {
+            for (int[] size : MENU_SIZES) benchmark.run("menu", size[0] + "x" + size[1], new RenderScenes.MenuBackground(size[0], size[1]));
+        }
+
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(Paths.get(out), StandardCharsets.UTF_8))) {
+            writer.println(HEADER);
+            writer.print(benchmark.results);
+        }
+        System.out.println();
+        System.out.println("Results written to " + out);
+        System.exit(0);
+    }
+
+    private static void usage(String problem) {
+        System.err.println(problem);
+        System.err.println("Usage: java RenderBenchmark [--game snake|flappy|2048|menu|all] [--frames N] [--warm-up N]");
+        System.err.println("                            [--target volatile|image] [--out FILE] [--baseline FILE]");
+        System.exit(1);
+    }
+
+    private void run(String game, String load, RenderScenes.Scene scene) {
+        Target target = volatileTarget ? new VolatileTarget(scene) : new ImageTarget(scene);
+        scene.reset();
+        for (int frame = 0; frame < warmUp; frame++) {
+            frame(scene, target, frame);
+        }
+        LatencyHistogram histogram = new LatencyHistogram();
+        long total = 0;
+        for (int frame = 0; frame < frames; frame++) {
+            long nanos = frame(scene, target, warmUp + frame);
+            histogram.record(nanos);
+            total += nanos;
+        }
+        target.dispose();
+
+        double fps = total == 0 ? 0 : frames * 1e9 / total;
+        double meanMillis = total / 1e6 / frames;
+        double p99Millis = histogram.getPercentile(0.99) / 1e6;
+        double maxMillis = histogram.getMax() / 1e6;
+        results.append(String.format(Locale.ROOT, "%s,%s,%d,%d,%s,%d,%.1f,%.4f,%.4f,%.4f%n", game, load,
+            scene.width(), scene.height(), volatileTarget ? "volatile" : "image", frames, fps, meanMillis, p99Millis, maxMillis));
+
+        String comparison = "";
+        if (baseline != null) {
+            double[] before = baseline.get(game + "," + load);
+            comparison = before == null ? "   (not in baseline)"
+                : String.format(Locale.ROOT, "   %+6.1f%%, %+6.1f%%", change(before[0], fps), change(before[1], p99Millis));
+        }
+        System.out.printf(Locale.ROOT, "%-6s %-10s %9s %10.1f %10.3f %10.3f%s%n", game, load,
+            scene.width() + "x" + scene.height(), fps, p99Millis, maxMillis, comparison);
+    }
+
+    /** Draw one frame as the panel would; returns how long it took */
+    private static long frame(RenderScenes.Scene scene, Target target, int frame) {
+        scene.step(frame);
+        Graphics2D g = target.begin();
+        long start = System.nanoTime();
+        scene.paint(g);
+        target.finish();
+        return System.nanoTime() - start;
+    }
+
+    private static double change(double before, double after) {
+        return before == 0 ? 0 : (after - before) * 100 / before;
+    }
+
+    /**
+     * fps and p99 by "game,load" from a results file
+     */
+    private static Map<String, double[]> readResults(Path file) throws IOException {
+        Map<String, double[]> results = new HashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            if (!HEADER.equals(line)) {
+                System.err.println(file + " is not a RenderBenchmark results file");
+                System.exit(1);
+            }
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(",");
+                if (fields.length != 10) continue;
+                results.put(fields[0] + "," + fields[1],
+                    new double[] {Double.parseDouble(fields[6]), Double.parseDouble(fields[8])});
+            }
+        }
+        return results;
+    }
+
+    /** Where frames are drawn; one Graphics for the whole level, as a panel gets per paint */
+    private interface Target {
+        Graphics2D begin();
+        void finish();
+        void dispose();
+    }
+
+    private static class ImageTarget implements Target {
+        private final BufferedImage image;
+        private final Graphics2D g;
+
+        ImageTarget(RenderScenes.Scene scene) {
+            image = new BufferedImage(scene.width(), scene.height(), BufferedImage.TYPE_INT_RGB);
+            g = image.createGraphics();
+        }
+
+        public Graphics2D begin() { return g; }
+        public void finish() { }
+        public void dispose() { g.dispose(); }
+    }
+
+    /**
+     * An accelerated image like Swing's back buffer. Toolkit.sync makes the frame's time
+     * include the pipeline finishing it rather than only queueing it.
+     */
+    private static class VolatileTarget implements Target {
+        private final GraphicsConfiguration configuration = GraphicsEnvironment.getLocalGraphicsEnvironment()
+            .getDefaultScreenDevice().getDefaultConfiguration();
+        private final RenderScenes.Scene scene;
+        private VolatileImage image;
+        private Graphics2D g;
+
+        VolatileTarget(RenderScenes.Scene scene) {
+            this.scene = scene;
+            image = configuration.createCompatibleVolatileImage(scene.width(), scene.height());
+        }
+
+        public Graphics2D begin() {
+            // The image's contents may be dropped at any time; only its surface matters here
+            if (image.validate(configuration) == VolatileImage.IMAGE_INCOMPATIBLE) {
+                dispose();
+                image = configuration.createCompatibleVolatileImage(scene.width(), scene.height());
+            }
+            if (g == null) g = image.createGraphics();
+            return g;
+        }
+
+        public void finish() {
+            Toolkit.getDefaultToolkit().sync();
+        }
+
+        public void dispose() {
+            if (g != null) g.dispose();
+            g = null;
+        }
+    }
+}
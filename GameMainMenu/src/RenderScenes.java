@@ -0,0 +1,396 @@
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+/**
+ * The scenes RenderAllocationCheck and RenderBenchmark draw: each game's renderer, the one
+ * its panel's paintComponent calls, with the state it draws, advanced a frame at a time.
+ * Played scenes run a game from a fixed seed; load scenes set up a fixed amount of work
+ * (a snake's length, a number of pipes, a window size) and only move it along.
+ *
+ * The panels themselves are not built, as their constructors start timers, load
+ * checkpoints and scores and join the event bus.
+ */
+final class RenderScenes {
+    static final long SEED = 47;
+
+    private RenderScenes() {
+    }
+
+    /** One paint path and its state */
+    interface Scene {
+        int width();
+        int height();
+        Color background();
+        /** Back to the first frame */
+        void reset();
+        void step(int frame);
+        void draw(Graphics2D g);
+
+        /** Draw a frame as the panel does */
+        default void paint(Graphics2D g) {
+            // What the panel's super.paintComponent does with its background color
+            g.setColor(background());
+            g.fillRect(0, 0, width(), height());
+            draw(g);
+        }
+    }
+
+    /** Snake running laps of a 10x10 square, eating any apple on the way */
+    static class SnakeLaps implements Scene {
+        final SnakeSimulation game = new SnakeSimulation();
+        final GamePanel.Renderer renderer = new GamePanel.Renderer();
+        // Actions: 4 right, 2 down, 3 left, 1 up
+        private static final int[] LAP = {4, 2, 3, 1};
+
+        public int width() { return SnakeSimulation.SCREEN_WIDTH; }
+        public int height() { return SnakeSimulation.SCREEN_HEIGHT; }
+        public Color background() { return Color.black; }
+        public void reset() { game.reset(SEED); }
+        public void step(int frame) {
+            if (game.running && !game.step(frame % 10 == 0 ? LAP[frame / 10 % 4] : 0)) game.reset(SEED);
+        }
+        public void draw(Graphics2D g) { renderer.draw(g, game); }
+    }
+
+    static class SnakeOver extends SnakeLaps {
+        @Override
+        public void reset() {
+            super.reset();
+            game.running = false;
+            game.applesEaten = 12;
+        }
+
+        @Override
+        public void step(int frame) {
+        }
+    }
+
+    /**
+     * A snake of the given length winding row by row across the board and crawling one
+     * cell a frame, the apple just ahead of its head.
+     */
+    static class SnakeLength implements Scene {
+        private static final int COLUMNS = SnakeSimulation.SCREEN_WIDTH / SnakeSimulation.UNIT_SIZE;
+        final SnakeSimulation game = new SnakeSimulation();
+        final GamePanel.Renderer renderer = new GamePanel.Renderer();
+        final int length;
+
+        SnakeLength(int length) {
+            this.length = length;
+        }
+
+        public int width() { return SnakeSimulation.SCREEN_WIDTH; }
+        public int height() { return SnakeSimulation.SCREEN_HEIGHT; }
+        public Color background() { return Color.black; }
+        public void reset() {
+            game.reset(SEED);
+            game.bodyParts = length;
+        }
+        public void step(int frame) {
+            int head = frame + length - 1;
+            for (int i = 0; i < length; i++) {
+                game.x[i] = x(head - i);
+                game.y[i] = y(head - i);
+            }
+            game.appleX = x(head + 1);
+            game.appleY = y(head + 1);
+            game.applesEaten = frame % 1000;
+        }
+        public void draw(Graphics2D g) { renderer.draw(g, game); }
+
+        // Pixel position of step n of a serpentine path through every cell
+        private static int x(int n) {
+            int cell = n % SnakeSimulation.GAME_UNITS;
+            int column = cell / COLUMNS % 2 == 0 ? cell % COLUMNS : COLUMNS - 1 - cell % COLUMNS;
+            return column * SnakeSimulation.UNIT_SIZE;
+        }
+
+        private static int y(int n) {
+            return n % SnakeSimulation.GAME_UNITS / COLUMNS * SnakeSimulation.UNIT_SIZE;
+        }
+    }
+
+    /**
+     * Big World Snake crawling right along a row near the bottom edge, eating the apples in
+     * its way and wrapping round at the side, with the camera following it into the corners.
+     */
+    static class WorldCrawl implements Scene {
+        private static final int SIZE = WorldPanel.WORLD_SIZE;
+        private static final int LENGTH = 40;
+        private static final int ROW = SIZE - 5;
+        final WorldPanel.Renderer renderer = new WorldPanel.Renderer();
+        SnakeWorld world;
+        boolean running = true;
+        int applesEaten;
+        private int headX;
+
+        public int width() { return SnakeSimulation.SCREEN_WIDTH; }
+        public int height() { return SnakeSimulation.SCREEN_HEIGHT; }
+        public Color background() { return Color.black; }
+        public void reset() {
+            world = new SnakeWorld(SIZE, SIZE);
+            Random random = new Random(SEED);
+            for (int chunkY = 0; chunkY < world.getChunksY(); chunkY++) {
+                for (int chunkX = 0; chunkX < world.getChunksX(); chunkX++) {
+                    for (int i = 0; i < WorldPanel.APPLES_PER_CHUNK; i++) {
+                        world.placeApple(chunkX, chunkY, random);
+                    }
+                }
+            }
+            for (int x = 0; x < LENGTH; x++) {
+                world.set(x, ROW, SnakeWorld.SNAKE);
+            }
+            headX = LENGTH - 1;
+            applesEaten = 0;
+        }
+        public void step(int frame) {
+            headX = (headX + 1) % SIZE;
+            if (world.get(headX, ROW) == SnakeWorld.APPLE) applesEaten++;
+            world.set(headX, ROW, SnakeWorld.SNAKE);
+            world.set(Math.floorMod(headX - LENGTH, SIZE), ROW, SnakeWorld.EMPTY);
+        }
+        public void draw(Graphics2D g) {
+            renderer.draw(g, world, WorldPanel.camera(headX), WorldPanel.camera(ROW), ROW * SIZE + headX,
+                applesEaten, running);
+        }
+    }
+
+    static class WorldOver extends WorldCrawl {
+        @Override
+        public void reset() {
+            super.reset();
+            running = false;
+            applesEaten = 12;
+        }
+
+        @Override
+        public void step(int frame) {
+        }
+    }
+
+    /**
+     * A multiplayer arena as a client sees it: snakes crawling along every fourth row past
+     * rows of apples, the player's among them with its predicted next cell. The player's
+     * snake dies for a stretch every PLAYER_LIFE frames, showing the respawn message;
+     * closed, the view shows the connection lost.
+     */
+    static class ArenaPlay implements Scene {
+        private static final int SIZE = 32;
+        private static final int SNAKES = 8;
+        private static final int LENGTH = 12;
+        private static final int PLAYER = 0;
+        private static final int PLAYER_LIFE = 300;
+        final SnakeArena arena = new SnakeArena(SIZE, SIZE);
+        final NetworkPanel.Renderer renderer = new NetworkPanel.Renderer(NetworkPanel.unitFor(arena));
+        final int[] predicted = new int[1];
+        final boolean closed;
+        private int bestScore;
+
+        ArenaPlay(boolean closed) {
+            this.closed = closed;
+        }
+
+        public int width() { return SIZE * NetworkPanel.unitFor(arena); }
+        public int height() { return SIZE * NetworkPanel.unitFor(arena); }
+        public Color background() { return Color.black; }
+        public void reset() {
+            arena.clear();
+            for (int row = 2; row < SIZE; row += 4) {
+                for (int x = row % 3; x < SIZE; x += 3) {
+                    arena.addApple(row * SIZE + x);
+                }
+            }
+            for (int id = 0; id < SNAKES; id++) {
+                spawn(id);
+            }
+            bestScore = 0;
+        }
+        public void step(int frame) {
+            if (frame % PLAYER_LIFE == PLAYER_LIFE - 50) arena.kill(PLAYER);
+            if (frame % PLAYER_LIFE == 0 && !arena.snakes[PLAYER].alive) spawn(PLAYER);
+            for (SnakeArena.Snake snake : arena.snakes) {
+                if (snake == null || !snake.alive) continue;
+                arena.removeTail(snake.id);
+                arena.addHead(snake.id, next(snake.head()));
+                snake.score = frame % PLAYER_LIFE / 25;
+            }
+        }
+        public void draw(Graphics2D g) {
+            SnakeArena.Snake player = arena.snakes[PLAYER];
+            int count = 0;
+            if (player.alive) predicted[count++] = next(player.head());
+            int score = renderer.drawArena(g, arena, PLAYER, predicted, count);
+            bestScore = Math.max(bestScore, score);
+            renderer.drawStatus(g, score, bestScore, closed, width(), height());
+        }
+
+        private void spawn(int id) {
+            int row = id * 4;
+            arena.spawn(id, row * SIZE);
+            for (int x = 1; x < LENGTH; x++) {
+                arena.addHead(id, row * SIZE + x);
+            }
+        }
+
+        // The cell right of a cell, wrapping round to the start of its row
+        private static int next(int cell) {
+            return cell - cell % SIZE + (cell % SIZE + 1) % SIZE;
+        }
+    }
+
+    /** Flappy Bird flapping through the gaps, restarting whenever it hits a pipe */
+    static class FlappyPlay implements Scene {
+        final FlappySimulation game;
+        final FlappyBird.Renderer renderer = new FlappyBird.Renderer();
+        final BufferedImage bird = birdSprite();
+        final int[] observation;
+
+        FlappyPlay(boolean turbo) {
+            game = new FlappySimulation(turbo);
+            observation = new int[game.getObservationSize()];
+        }
+
+        public int width() { return FlappySimulation.SCREEN_WIDTH; }
+        public int height() { return FlappySimulation.SCREEN_HEIGHT; }
+        public Color background() { return Color.CYAN; }
+        public void reset() { game.reset(SEED); }
+        public void step(int frame) {
+            // Show the game over screen for a few frames before the next run
+            if (game.gameOver) {
+                if (frame % 30 == 0) game.reset(SEED + frame);
+                return;
+            }
+            game.observe(observation);
+            boolean flap = observation[0] + FlappySimulation.BIRD_HEIGHT + observation[1] + 1 > observation[4] - 20;
+            game.step(flap ? 1 : 0);
+        }
+        public void draw(Graphics2D g) { renderer.draw(g, game, true, bird); }
+    }
+
+    /**
+     * Flappy Bird mid-run with the given number of pipe pairs spread evenly over the screen
+     * and scrolling at PIPE_SPEED; the bird bobs around the middle.
+     */
+    static class FlappyPipes implements Scene {
+        private static final int TRACK = FlappySimulation.SCREEN_WIDTH + FlappySimulation.PIPE_WIDTH;
+        final FlappySimulation game = new FlappySimulation(false);
+        final FlappyBird.Renderer renderer = new FlappyBird.Renderer();
+        final BufferedImage bird = birdSprite();
+        final int pairs;
+
+        FlappyPipes(int pairs) {
+            this.pairs = pairs;
+        }
+
+        public int width() { return FlappySimulation.SCREEN_WIDTH; }
+        public int height() { return FlappySimulation.SCREEN_HEIGHT; }
+        public Color background() { return Color.CYAN; }
+        public void reset() {
+            game.reset(SEED);
+            Random random = new Random(SEED);
+            for (int i = 0; i < pairs; i++) {
+                int gapTop = 50 + random.nextInt(FlappySimulation.SCREEN_HEIGHT - 300);
+                int gapBottom = gapTop + 200;
+                game.topPipes.add(new Rectangle(0, 0, FlappySimulation.PIPE_WIDTH, gapTop));
+                game.bottomPipes.add(new Rectangle(0, gapBottom, FlappySimulation.PIPE_WIDTH,
+                    FlappySimulation.SCREEN_HEIGHT - gapBottom));
+            }
+        }
+        public void step(int frame) {
+            int scrolled = frame * FlappySimulation.PIPE_SPEED;
+            for (int i = 0; i < pairs; i++) {
+                int x = Math.floorMod(i * TRACK / pairs - scrolled, TRACK) - FlappySimulation.PIPE_WIDTH;
+                game.topPipes.get(i).x = x;
+                game.bottomPipes.get(i).x = x;
+            }
+            game.bird.y = FlappySimulation.SCREEN_HEIGHT / 2 + (frame % 60 < 30 ? frame % 30 : 30 - frame % 30) * 3;
+            game.score = frame / 90;
+        }
+        public void draw(Graphics2D g) { renderer.draw(g, game, true, bird); }
+    }
+
+    /** A stand-in for the game's sprite, already at the bird's size and with transparency */
+    private static BufferedImage birdSprite() {
+        BufferedImage sprite = new BufferedImage(FlappySimulation.BIRD_WIDTH, FlappySimulation.BIRD_HEIGHT,
+            BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = sprite.createGraphics();
+        g.setColor(Color.YELLOW);
+        g.fillOval(0, 0, FlappySimulation.BIRD_WIDTH, FlappySimulation.BIRD_HEIGHT);
+        g.setColor(Color.BLACK);
+        g.fillOval(FlappySimulation.BIRD_WIDTH - 12, 5, 5, 5);
+        g.dispose();
+        return sprite;
+    }
+
+    /**
+     * 2048 kept to the bottom-left corner, restarting when no move is left. Animated, each
+     * move is drawn over FRAMES_PER_MOVE frames, as Game2048_GUI does at 60 FPS.
+     */
+    static class BoardPlay implements Scene {
+        private static final int[] CORNER = {Board2048.DOWN, Board2048.LEFT, Board2048.RIGHT, Board2048.UP};
+        private static final int FRAMES_PER_MOVE = 13;
+        final Board2048 board;
+        final Game2048_GUI.BoardRenderer renderer;
+        final TileMoves moves = new TileMoves();
+        final boolean animated;
+        final int pixels;
+        private Random random;
+        private int attempt;
+        private double progress = 1.0;
+
+        BoardPlay(int size, boolean animated) {
+            board = new Board2048(size);
+            renderer = new Game2048_GUI.BoardRenderer(size);
+            this.animated = animated;
+            pixels = Math.max(400, size * 75); // Game2048_GUI's board size
+        }
+
+        public int width() { return pixels; }
+        public int height() { return pixels; }
+        public Color background() { return Color.lightGray; }
+        public void reset() {
+            random = new Random(SEED);
+            board.clear();
+            board.addRandomTile(random);
+            board.addRandomTile(random);
+            moves.clear();
+        }
+        public void step(int frame) {
+            if (animated && frame % FRAMES_PER_MOVE != 0) {
+                progress = (double) (frame % FRAMES_PER_MOVE) / (FRAMES_PER_MOVE - 1);
+                return;
+            }
+            progress = animated ? 0.0 : 1.0;
+            if (board.move(CORNER[attempt & 3], moves)) {
+                attempt = 0;
+                moves.spawnCell = board.addRandomTile(random);
+            } else if (!board.canMove()) {
+                reset();
+            } else {
+                attempt++;
+            }
+        }
+        public void draw(Graphics2D g) { renderer.draw(g, board, pixels, pixels, moves, progress); }
+    }
+
+    /** The main menu's backdrop at a window size */
+    static class MenuBackground implements Scene {
+        private final int width;
+        private final int height;
+
+        MenuBackground(int width, int height) {
+            this.width = width;
+            this.height = height;
+        }
+
+        public int width() { return width; }
+        public int height() { return height; }
+        public Color background() { return Color.darkGray; }
+        public void reset() { }
+        public void step(int frame) { }
+        public void draw(Graphics2D g) { GameMainMenu.paintBackground(g, width, height); }
+    }
+}
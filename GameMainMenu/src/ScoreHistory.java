@@ -0,0 +1,90 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Every finished run, one CSV line each, in score_history.csv: "game,score,time" with the
+ * time in epoch milliseconds. The leaderboard keeps only the best score per game; this keeps
+ * the rest. GameEventBus appends to it and LeaderboardTransfer exports and merges into it.
+ *
+ * Every read and write holds ScoreLock, which other processes honour too, so an import run
+ * from the command line while the menu is open can replace the file without losing a run
+ * appended meanwhile.
+ */
+public final class ScoreHistory {
+    public static final String FILE = "score_history.csv";
+    static final String HEADER = "game,score,time";
+
+    private ScoreHistory() {
+    }
+
+    static Path path() {
+        return Paths.get(FILE);
+    }
+
+    /**
+     * Record one finished run. Called on the event bus thread.
+     */
+    public static void append(String game, int score, long time) {
+        try {
+            ensureExists();
+            ScoreLock lock = ScoreLock.acquire();
+            try (FileChannel channel = FileChannel.open(path(), StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                StringBuilder line = new StringBuilder(game.length() + 24);
+                LeaderboardTransfer.appendCsv(line, game, score, time);
+                channel.write(StandardCharsets.UTF_8.encode(line.toString()));
+            } finally {
+                lock.release();
+            }
+        } catch (IOException e) {
+            System.err.println("Could not append to " + FILE + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Create the file now if it doesn't exist. Call before the run being recorded reaches
+     * the leaderboard, or its score would be seeded into the new file and then appended too.
+     */
+    public static void seed() {
+        try {
+            ensureExists();
+        } catch (IOException e) {
+            System.err.println("Could not create " + FILE + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Create the file if needed, starting it with the current highscores so results from
+     * before the history existed are not lost. The leaderboard takes ScoreLock inside its
+     * own lock, so call this without holding ScoreLock.
+     */
+    static void ensureExists() throws IOException {
+        if (Files.exists(path())) return;
+        List<LeaderboardManager.ScoreEntry> highscores = LeaderboardManager.getInstance().getAllHighscores();
+        ScoreLock lock = ScoreLock.acquire();
+        try {
+            if (Files.exists(path())) return; // another process got there first
+            try (BufferedWriter writer = new BufferedWriter(Channels.newWriter(
+                    FileChannel.open(path(), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE),
+                    StandardCharsets.UTF_8))) {
+                writer.write(HEADER);
+                writer.write('\n');
+                StringBuilder line = new StringBuilder();
+                for (LeaderboardManager.ScoreEntry entry : highscores) {
+                    line.setLength(0);
+                    LeaderboardTransfer.appendCsv(line, entry.getGameName(), entry.getScore(), entry.getDate().getTime());
+                    writer.append(line);
+                }
+            }
+        } finally {
+            lock.release();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lock over the score files (score_history.csv, highscores.dat, game_summaries.dat) shared
+ * by every process using them, so the menu and a LeaderboardTransfer run take turns instead
+ * of overwriting each other. Held as an OS lock on scores.lock. The OS lock belongs to the
+ * whole JVM, so threads of one process queue on LOCAL first; a thread that already holds it
+ * may acquire it again.
+ *
+ * <pre>
+ * ScoreLock lock = ScoreLock.acquire();
+ * try { ... read, change and write the files ... } finally { lock.release(); }
+ * </pre>
+ */
+final class ScoreLock {
+    static final String FILE = "scores.lock";
+    private static final ReentrantLock LOCAL = new ReentrantLock();
+
+    private final FileChannel channel; // null when nested, or when the file couldn't be locked
+
+    private ScoreLock(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Block until this thread holds the lock. If the lock file can't be opened or locked
+     * this warns and holds only the in-process lock, so scores are still saved.
+     */
+    static ScoreLock acquire() {
+        LOCAL.lock();
+        if (LOCAL.getHoldCount() > 1) return new ScoreLock(null);
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(Paths.get(FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            channel.lock();
+            return new ScoreLock(channel);
+        } catch (IOException e) {
+            System.err.println("Could not lock " + FILE + ", other processes may overwrite scores: " + e.getMessage());
+            closeQuietly(channel);
+            return new ScoreLock(null);
+        } catch (RuntimeException e) {
+            closeQuietly(channel);
+            LOCAL.unlock();
+            throw e;
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        try {
+            if (channel != null) channel.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    /** Release the lock; closing the channel drops the OS lock with it */
+    void release() {
+        try {
+            if (channel != null) channel.close();
+        } catch (IOException e) {
+            System.err.println("Could not release " + FILE + ": " + e.getMessage());
+        } finally {
+            LOCAL.unlock();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Plays the games through GameSimulation as fast as possible, without a display, and
+ * reports steps per second. Runs in headless mode, so it works in containers and CI.
+ *
+ * The "simple" policy reads each game's observation: Snake heads for the apple, Flappy
+ * Bird flaps when it is about to drop below the gap, and 2048 keeps to the bottom-left
+ * corner. "random" picks any action; a random Flappy Bird flaps up past the top of the
+ * pipes, where the game has no ceiling, and never ends its run. Run i of a game is seeded
+ * with seed + i.
+ *
+ * Usage: java SimulationRunner [--game snake|flappy|flappy-turbo|2048|all] [--steps N]
+ *                              [--policy simple|random] [--seed S]
+ */
+public class SimulationRunner {
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        String gameName = "all";
+        long steps = 5_000_000;
+        String policy = "simple";
+        long seed = 46;
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--game": gameName = value; i++; break;
+                case "--steps": steps = Long.parseLong(value); i++; break;
+                case "--policy": policy = value; i++; break;
+                case "--seed": seed = Long.parseLong(value); i++; break;
+                default:
+                    System.err.println("Unknown argument: " + args[i]);
+                    System.err.println("Usage: java SimulationRunner [--game snake|flappy|flappy-turbo|2048|all] "
+                        + "[--steps N] [--policy simple|random] [--seed S]");
+                    System.exit(1);
+            }
+        }
+        if (!policy.equals("simple") && !policy.equals("random")) {
+            System.err.println("Unknown policy: " + policy);
+            System.exit(1);
+        }
+
+        String[] names = gameName.equals("all")
+            ? new String[] {"snake", "flappy", "flappy-turbo", "2048"}
+            : new String[] {gameName};
+        System.out.printf(Locale.ROOT, "%d steps per game, %s policy, seed %d%n", steps, policy, seed);
+        for (String name : names) {
+            GameSimulation game = simulationByName(name);
+            // Same run once untimed, so the timed run measures compiled code
+            play(game, Math.min(steps, 200_000), policy, seed);
+            long start = System.nanoTime();
+            Result result = play(game, steps, policy, seed);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf(Locale.ROOT,
+                "%-20s %10.0f steps/s (%6.1f ns/step) | %d runs, avg score %.1f, best %d, avg %.0f steps per run%n",
+                game.getName(), steps / seconds, seconds * 1e9 / steps, result.runs,
+                result.runs == 0 ? 0.0 : (double) result.totalScore / result.runs, result.maxScore,
+                result.runs == 0 ? (double) steps : (double) steps / result.runs);
+        }
+    }
+
+    public static GameSimulation simulationByName(String name) {
+        switch (name) {
+            case "snake": return new SnakeSimulation();
+            case "flappy": return new FlappySimulation(false);
+            case "flappy-turbo": return new FlappySimulation(true);
+            case "2048": return new Game2048Simulation(Board2048.DEFAULT_SIZE);
+            default: throw new IllegalArgumentException("Unknown game: " + name);
+        }
+    }
+
+    private static final class Result {
+        long runs;
+        long totalScore;
+        int maxScore;
+    }
+
+    /**
+     * Step the game the given number of times, starting a new run whenever one ends.
+     * Only finished runs are counted, but the best score includes the one still going.
+     */
+    static Result play(GameSimulation game, long steps, String policy, long seed) {
+        Result result = new Result();
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] observation = new int[game.getObservationSize()];
+        int[] previous = new int[observation.length];
+        int attempt = 0;
+        boolean randomPolicy = policy.equals("random");
+
+        game.reset(seed);
+        for (long i = 0; i < steps; i++) {
+            int action;
+            if (randomPolicy) {
+                action = random.nextInt(game.getActionCount());
+            } else {
+                System.arraycopy(observation, 0, previous, 0, observation.length);
+                game.observe(observation);
+                // 2048: try the next direction while the last one changed nothing
+                attempt = Arrays.equals(observation, previous) ? attempt + 1 : 0;
+                action = choose(game, observation, attempt);
+            }
+            if (!game.step(action)) {
+                result.runs++;
+                result.totalScore += game.getScore();
+                result.maxScore = Math.max(result.maxScore, game.getScore());
+                game.reset(seed + result.runs);
+            }
+        }
+        result.maxScore = Math.max(result.maxScore, game.getScore());
+        return result;
+    }
+
+    private static int choose(GameSimulation game, int[] observation, int attempt) {
+        if (game instanceof SnakeSimulation) return chooseSnake(observation);
+        if (game instanceof FlappySimulation) return chooseFlappy(observation);
+        return CORNER[attempt & 3];
+    }
+
+    private static final int[] CORNER = {Board2048.DOWN, Board2048.LEFT, Board2048.RIGHT, Board2048.UP};
+
+    /** Towards the apple, first along the longer axis, never into a wall or the body */
+    private static int chooseSnake(int[] cells) {
+        int columns = SnakeSimulation.SCREEN_WIDTH / SnakeSimulation.UNIT_SIZE;
+        int head = -1;
+        int apple = -1;
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] == 2) head = i;
+            else if (cells[i] == 3) apple = i;
+        }
+        if (head < 0) return 0;
+        int dx = apple % columns - head % columns;
+        int dy = apple / columns - head / columns;
+        // Actions: 1 up, 2 down, 3 left, 4 right
+        int horizontal = dx < 0 ? 3 : 4;
+        int vertical = dy < 0 ? 1 : 2;
+        int[] order = Math.abs(dx) >= Math.abs(dy)
+            ? new int[] {horizontal, vertical, 7 - horizontal, 3 - vertical}
+            : new int[] {vertical, horizontal, 3 - vertical, 7 - horizontal};
+        for (int action : order) {
+            int x = head % columns + (action == 3 ? -1 : action == 4 ? 1 : 0);
+            int y = head / columns + (action == 1 ? -1 : action == 2 ? 1 : 0);
+            if (x >= 0 && y >= 0 && x < columns && y * columns < cells.length && cells[y * columns + x] != 1) {
+                return action;
+            }
+        }
+        return 0;
+    }
+
+    /** Flap when the bird's next position would sink past the bottom of the coming gap */
+    private static int chooseFlappy(int[] observation) {
+        int y = observation[0];
+        int velocity = observation[1];
+        int gapBottom = observation[4];
+        return y + FlappySimulation.BIRD_HEIGHT + velocity + 1 > gapBottom - 20 ? 1 : 0;
+    }
+}
@@ -0,0 +1,145 @@
+import java.util.Arrays;
+
+/**
+ * Grid and snakes of a multiplayer Snake game.
+ *
+ * The server keeps the authoritative copy and every client keeps a replica. Both apply the
+ * same small operations (move a head, free a tail, add or remove an apple), which are exactly
+ * the events SnakeProtocol sends each tick. Cells are numbered y * width + x and use the
+ * SnakeWorld cell values.
+ */
+public class SnakeArena {
+    public static final int MAX_PLAYERS = 256;
+    // Keeps cell numbers in an unsigned short and a full snapshot inside one frame
+    public static final int MAX_CELLS = 128 * 128;
+
+    final int width;
+    final int height;
+    final byte[] cells;
+    final Snake[] snakes = new Snake[MAX_PLAYERS];
+    int apples;
+
+    /**
+     * One player's snake; the body is a ring buffer of cells from tail to head.
+     */
+    static final class Snake {
+        final int id;
+        int[] body = new int[16];
+        int tail;
+        int length;
+        boolean alive;
+        int score;
+
+        Snake(int id) {
+            this.id = id;
+        }
+
+        int head() {
+            return body[(tail + length - 1) & (body.length - 1)];
+        }
+
+        /** Cell i of the body, counting from the tail */
+        int cell(int i) {
+            return body[(tail + i) & (body.length - 1)];
+        }
+
+        void pushHead(int cell) {
+            if (length == body.length) {
+                int[] grown = new int[body.length * 2];
+                for (int i = 0; i < length; i++) grown[i] = cell(i);
+                body = grown;
+                tail = 0;
+            }
+            body[(tail + length) & (body.length - 1)] = cell;
+            length++;
+        }
+
+        int popTail() {
+            int cell = body[tail];
+            tail = (tail + 1) & (body.length - 1);
+            length--;
+            return cell;
+        }
+    }
+
+    public SnakeArena(int width, int height) {
+        if (width < 8 || height < 8 || width * height > MAX_CELLS) {
+            throw new IllegalArgumentException("Arena must be at least 8x8 and at most " + MAX_CELLS + " cells");
+        }
+        this.width = width;
+        this.height = height;
+        this.cells = new byte[width * height];
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    Snake snake(int id) {
+        Snake snake = snakes[id];
+        if (snake == null) {
+            snake = new Snake(id);
+            snakes[id] = snake;
+        }
+        return snake;
+    }
+
+    void spawn(int id, int cell) {
+        Snake snake = snake(id);
+        snake.alive = true;
+        snake.tail = 0;
+        snake.length = 0;
+        snake.score = 0;
+        addHead(id, cell);
+    }
+
+    void addHead(int id, int cell) {
+        cells[cell] = SnakeWorld.SNAKE;
+        snakes[id].pushHead(cell);
+    }
+
+    void removeTail(int id) {
+        cells[snakes[id].popTail()] = SnakeWorld.EMPTY;
+    }
+
+    /**
+     * Remove a snake's whole body from the grid
+     */
+    void kill(int id) {
+        Snake snake = snakes[id];
+        if (snake == null) return;
+        while (snake.length > 0) {
+            cells[snake.popTail()] = SnakeWorld.EMPTY;
+        }
+        snake.alive = false;
+    }
+
+    void remove(int id) {
+        kill(id);
+        snakes[id] = null;
+    }
+
+    void addApple(int cell) {
+        cells[cell] = SnakeWorld.APPLE;
+        apples++;
+    }
+
+    /**
+     * The given snake eats the apple on the cell; its head moves there separately
+     */
+    void eatApple(int id, int cell) {
+        cells[cell] = SnakeWorld.EMPTY;
+        apples--;
+        if (snakes[id] != null) snakes[id].score++;
+    }
+
+    void clear() {
+        Arrays.fill(cells, SnakeWorld.EMPTY);
+        Arrays.fill(snakes, null);
+        apples = 0;
+    }
+}
@@ -0,0 +1,262 @@
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Connection to a SnakeServer and the client's replica of the arena.
+ *
+ * A reader thread applies snapshots and deltas to the replica; readers of the replica must
+ * synchronize on getArena(). Turns are sent immediately and kept until the server acknowledges
+ * them, so the player's own head can be predicted ahead of the server (see predictHead).
+ */
+public class SnakeClient implements Closeable {
+    private static final int MAX_PENDING = 8;
+
+    private final SocketChannel channel;
+    private final SnakeArena arena;
+    private final int playerId;
+    private final int delayMillis;
+    private final LatencyHistogram tickJitter;
+    private final ByteBuffer in = ByteBuffer.allocate(SnakeProtocol.MAX_FRAME_BYTES);
+    private final ByteBuffer out = ByteBuffer.allocate(SnakeProtocol.INPUT_FRAME_BYTES);
+
+    private volatile Runnable listener;
+    private volatile boolean closed;
+    private long lastFrame;
+    private volatile long bytesReceived;
+    private volatile int serverTick;
+
+    // Turns sent but not yet applied by the server, oldest first; guarded by arena
+    private final int[] pendingSeq = new int[MAX_PENDING];
+    private final char[] pendingDirection = new char[MAX_PENDING];
+    private final long[] pendingSentAt = new long[MAX_PENDING];
+    private int pendingCount;
+    private int nextSeq = 1;
+    private final LatencyHistogram inputLatency = new LatencyHistogram();
+
+    private SnakeClient(SocketChannel channel, int playerId, int width, int height, int delayMillis,
+                        LatencyHistogram tickJitter) {
+        this.channel = channel;
+        this.playerId = playerId;
+        this.arena = new SnakeArena(width, height);
+        this.delayMillis = delayMillis;
+        this.tickJitter = tickJitter;
+    }
+
+    public static SnakeClient connect(String host, int port) throws IOException {
+        return connect(host, port, new LatencyHistogram());
+    }
+
+    /**
+     * Connect, wait for the server's welcome and start the reader thread.
+     *
+     * @param tickJitter records how far apart server frames arrive compared to the tick delay
+     */
+    public static SnakeClient connect(String host, int port, LatencyHistogram tickJitter) throws IOException {
+        SocketChannel channel = SocketChannel.open(new InetSocketAddress(host, port));
+        channel.socket().setTcpNoDelay(true);
+        ByteBuffer welcome = ByteBuffer.allocate(11);
+        while (welcome.hasRemaining()) {
+            if (channel.read(welcome) < 0) throw new EOFException("Server closed the connection");
+        }
+        welcome.flip();
+        welcome.getShort();
+        if (welcome.get() != SnakeProtocol.WELCOME) {
+            channel.close();
+            throw new IOException("Not a snake server");
+        }
+        int id = welcome.getShort() & 0xFFFF;
+        int width = welcome.getShort() & 0xFFFF;
+        int height = welcome.getShort() & 0xFFFF;
+        int delay = welcome.getShort() & 0xFFFF;
+
+        SnakeClient client = new SnakeClient(channel, id, width, height, delay, tickJitter);
+        Thread reader = new Thread(client::readLoop, "snake-client-" + id);
+        reader.setDaemon(true);
+        reader.start();
+        return client;
+    }
+
+    public int getPlayerId() {
+        return playerId;
+    }
+
+    public int getDelayMillis() {
+        return delayMillis;
+    }
+
+    public SnakeArena getArena() {
+        return arena;
+    }
+
+    /** Called on the reader thread after every applied frame */
+    public void setListener(Runnable listener) {
+        this.listener = listener;
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    public int getServerTick() {
+        return serverTick;
+    }
+
+    /** Time from sending a turn until the server acknowledged applying it */
+    public LatencyHistogram getInputLatency() {
+        return inputLatency;
+    }
+
+    private void readLoop() {
+        try {
+            while (!closed) {
+                if (channel.read(in) < 0) break;
+                in.flip();
+                while (in.remaining() >= 2) {
+                    int length = in.getShort(in.position()) & 0xFFFF;
+                    if (in.remaining() < 2 + length) break;
+                    int frameEnd = in.position() + 2 + length;
+                    in.position(in.position() + 2);
+                    handleFrame(in.get());
+                    in.position(frameEnd);
+                    bytesReceived += 2 + length;
+                }
+                in.compact();
+            }
+        } catch (IOException e) {
+            if (!closed) System.err.println("Lost connection to snake server: " + e.getMessage());
+        } finally {
+            closed = true;
+            Runnable l = listener;
+            if (l != null) l.run();
+        }
+    }
+
+    private void handleFrame(byte type) {
+        if (type == SnakeProtocol.ACK) {
+            acknowledge(in.getInt());
+            return;
+        }
+        if (type != SnakeProtocol.SNAPSHOT && type != SnakeProtocol.DELTA) return;
+
+        long now = System.nanoTime();
+        if (lastFrame != 0) {
+            tickJitter.record(Math.abs(now - lastFrame - delayMillis * 1_000_000L));
+        }
+        lastFrame = now;
+        synchronized (arena) {
+            serverTick = SnakeProtocol.apply(type, in, arena);
+        }
+        Runnable l = listener;
+        if (l != null) l.run();
+    }
+
+    private void acknowledge(int seq) {
+        long now = System.nanoTime();
+        synchronized (arena) {
+            int acked = 0;
+            while (acked < pendingCount && pendingSeq[acked] - seq <= 0) {
+                if (pendingSeq[acked] == seq) inputLatency.record(now - pendingSentAt[acked]);
+                acked++;
+            }
+            System.arraycopy(pendingSeq, acked, pendingSeq, 0, pendingCount - acked);
+            System.arraycopy(pendingDirection, acked, pendingDirection, 0, pendingCount - acked);
+            System.arraycopy(pendingSentAt, acked, pendingSentAt, 0, pendingCount - acked);
+            pendingCount -= acked;
+        }
+    }
+
+    /**
+     * Send a turn ('U', 'D', 'L' or 'R'). Ignored while too many turns are unacknowledged.
+     */
+    public void sendTurn(char direction) throws IOException {
+        // Held across numbering and writing so turns reach the server in sequence order
+        synchronized (out) {
+            int seq;
+            synchronized (arena) {
+                if (pendingCount == MAX_PENDING) return;
+                seq = nextSeq++;
+                pendingSeq[pendingCount] = seq;
+                pendingDirection[pendingCount] = direction;
+                pendingSentAt[pendingCount] = System.nanoTime();
+                pendingCount++;
+            }
+            out.clear();
+            SnakeProtocol.putInput(out, seq, direction);
+            out.flip();
+            while (out.hasRemaining()) channel.write(out);
+        }
+    }
+
+    /**
+     * Direction the player's snake will be heading once the server has applied every pending
+     * turn, or 0 if it isn't known yet. Call while holding the arena lock.
+     */
+    char predictedDirection() {
+        char direction = currentDirection();
+        for (int i = 0; i < pendingCount; i++) {
+            if (direction == 0 || !isReverse(direction, pendingDirection[i])) direction = pendingDirection[i];
+        }
+        return direction;
+    }
+
+    /**
+     * Cells the player's head is expected to move through as pending turns are applied, one
+     * per tick. Writes into cells and returns how many; call while holding the arena lock.
+     */
+    int predictHead(int[] cells) {
+        SnakeArena.Snake snake = arena.snakes[playerId];
+        if (snake == null || !snake.alive || snake.length == 0) return 0;
+        char direction = currentDirection();
+        int head = snake.head();
+        int count = 0;
+        for (int i = 0; i < pendingCount && count < cells.length; i++) {
+            if (direction == 0 || !isReverse(direction, pendingDirection[i])) direction = pendingDirection[i];
+            int x = head % arena.width;
+            int y = head / arena.width;
+            switch (direction) {
+                case 'U': y--; break;
+                case 'D': y++; break;
+                case 'L': x--; break;
+                case 'R': x++; break;
+            }
+            if (x < 0 || x >= arena.width || y < 0 || y >= arena.height) break;
+            head = y * arena.width + x;
+            cells[count++] = head;
+        }
+        return count;
+    }
+
+    /**
+     * Direction of the last step the server made, from the two cells nearest the head
+     */
+    private char currentDirection() {
+        SnakeArena.Snake snake = arena.snakes[playerId];
+        if (snake == null || snake.length < 2) return 0;
+        int head = snake.head();
+        int neck = snake.cell(snake.length - 2);
+        if (head == neck - arena.width) return 'U';
+        if (head == neck + arena.width) return 'D';
+        if (head == neck - 1) return 'L';
+        if (head == neck + 1) return 'R';
+        return 0;
+    }
+
+    static boolean isReverse(char current, char next) {
+        return (current == 'U' && next == 'D') || (current == 'D' && next == 'U')
+            || (current == 'L' && next == 'R') || (current == 'R' && next == 'L');
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        channel.close();
+    }
+}
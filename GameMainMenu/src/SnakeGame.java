@@ -1,214 +1,80 @@
-import java.awt.*;
-import java.awt.event.*;
 import java.io.*;
-import java.util.Random;
 import javax.swing.*;
 
+/**
+ * Standalone launcher for Snake. From the menu, SnakeModule opens the same panels in-process;
+ * either way scores reach the leaderboard through GameEventBus.
+ */
 public class SnakeGame {
-    private static int finalScore = 0;
-
     public static void main(String[] args) {
-        SwingUtilities.invokeLater(() -> {
-            GameFrame frame = new GameFrame();
-            
-            // Add window listener to detect when game closes
-            frame.addWindowListener(new WindowAdapter() {
-                @Override
-                public void windowClosed(WindowEvent e) {
-                    // Write score to file when window closes
-                    writeScoreToFile(finalScore);
-                }
-            });
-        });
-    }
-
-    public static void setFinalScore(int score) {
-        finalScore = score;
-    }
-
-    private static void writeScoreToFile(int score) {
-        try (PrintWriter writer = new PrintWriter(new FileWriter("snake_score.tmp"))) {
-            writer.println(score);
-            System.out.println("Score written to file: " + score);
-        } catch (IOException e) {
-            System.err.println("Error writing score to file: " + e.getMessage());
-        }
-    }
-}
-
-class GameFrame extends JFrame {
-    GameFrame() {
-        GamePanel panel = new GamePanel();
-        this.add(panel);
-        this.setTitle("Snake Game");
-        this.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
-        this.setResizable(false);
-        this.pack();
-        this.setVisible(true);
-        this.setLocationRelativeTo(null);
-    }
-}
-
-class GamePanel extends JPanel implements ActionListener {
-    static final int SCREEN_WIDTH = 600;
-    static final int SCREEN_HEIGHT = 600;
-    static final int UNIT_SIZE = 25;
-    static final int GAME_UNITS = (SCREEN_WIDTH * SCREEN_HEIGHT) / (UNIT_SIZE * UNIT_SIZE);
-    static final int DELAY = 75;
-
-    final int[] x = new int[GAME_UNITS];
-    final int[] y = new int[GAME_UNITS];
-    int bodyParts = 6;
-    int applesEaten = 0;
-    int appleX;
-    int appleY;
-    char direction = 'R';
-    boolean running = false;
-    Timer timer;
-    Random random;
-
-    GamePanel() {
-        random = new Random();
-        this.setPreferredSize(new Dimension(SCREEN_WIDTH, SCREEN_HEIGHT));
-        this.setBackground(Color.black);
-        this.setFocusable(true);
-        this.addKeyListener(new MyKeyAdapter());
-        startGame();
-    }
-
-    public void startGame() {
-        newApple();
-        running = true;
-        timer = new Timer(DELAY, this);
-        timer.start();
-    }
-
-    public void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        draw(g);
-    }
-
-    public void draw(Graphics g) {
-        if (running) {
-            // Grid lines
-            g.setColor(new Color(40, 40, 40));
-            for (int i = 0; i < SCREEN_WIDTH / UNIT_SIZE; i++) {
-                g.drawLine(i * UNIT_SIZE, 0, i * UNIT_SIZE, SCREEN_HEIGHT);
-            }
-            for (int i = 0; i < SCREEN_HEIGHT / UNIT_SIZE; i++) {
-                g.drawLine(0, i * UNIT_SIZE, SCREEN_WIDTH, i * UNIT_SIZE);
-            }
-
-            // Apple
-            g.setColor(Color.red);
-            g.fillOval(appleX, appleY, UNIT_SIZE, UNIT_SIZE);
-
-            // Snake
-            for (int i = 0; i < bodyParts; i++) {
-                if (i == 0) {
-                    g.setColor(Color.green);
-                } else {
-                    g.setColor(new Color(45, 180, 0));
-                }
-                g.fillRect(x[i], y[i], UNIT_SIZE, UNIT_SIZE);
+        boolean bigWorld = false;
+        boolean resume = false;
+        String server = null;
+        int delay = GamePanel.DELAY;
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--world": bigWorld = true; break;
+                case "--resume": resume = true; break;
+                case "--connect":
+                    if (value == null) usage("--connect needs host:port");
+                    server = value;
+                    i++;
+                    break;
+                case "--delay":
+                    if (value == null) usage("--delay needs a number of milliseconds");
+                    try {
+                        delay = Integer.parseInt(value);
+                    } catch (NumberFormatException e) {
+                        usage("Not a number of milliseconds: " + value);
+                    }
+                    i++;
+                    break;
+                default:
+                    usage("Unknown argument: " + args[i]);
             }
-
-            // Score
-            g.setColor(Color.red);
-            g.setFont(new Font("Arial", Font.BOLD, 40));
-            FontMetrics metrics = getFontMetrics(g.getFont());
-            g.drawString("Score: " + applesEaten, (SCREEN_WIDTH - metrics.stringWidth("Score: " + applesEaten)) / 2, g.getFont().getSize());
-        } else {
-            gameOver(g);
-        }
-    }
-
-    public void newApple() {
-        appleX = random.nextInt((int) (SCREEN_WIDTH / UNIT_SIZE)) * UNIT_SIZE;
-        appleY = random.nextInt((int) (SCREEN_HEIGHT / UNIT_SIZE)) * UNIT_SIZE;
-    }
-
-    public void move() {
-        for (int i = bodyParts; i > 0; i--) {
-            x[i] = x[i - 1];
-            y[i] = y[i - 1];
-        }
-
-        switch (direction) {
-            case 'U': y[0] = y[0] - UNIT_SIZE; break;
-            case 'D': y[0] = y[0] + UNIT_SIZE; break;
-            case 'L': x[0] = x[0] - UNIT_SIZE; break;
-            case 'R': x[0] = x[0] + UNIT_SIZE; break;
-        }
-    }
-
-    public void checkApple() {
-        if ((x[0] == appleX) && (y[0] == appleY)) {
-            bodyParts++;
-            applesEaten++;
-            newApple();
         }
-    }
-
-    public void checkCollisions() {
-        for (int i = bodyParts; i > 0; i--) {
-            if ((x[0] == x[i]) && (y[0] == y[i])) {
-                running = false;
+        GameEvents.launchStarted("Snake",
+            server != null ? "Multiplayer" : bigWorld ? "Big World" : resume ? "Resume" : "Classic");
+
+        SnakeClient client = null;
+        if (server != null) {
+            int colon = server.lastIndexOf(':');
+            String host = colon < 0 ? server : server.substring(0, colon);
+            int port = colon < 0 ? SnakeServer.DEFAULT_PORT : Integer.parseInt(server.substring(colon + 1));
+            try {
+                client = SnakeClient.connect(host, port);
+            } catch (IOException e) {
+                System.err.println("Could not connect to snake server " + server + ": " + e.getMessage());
+                System.exit(1);
             }
         }
-        if (x[0] < 0 || x[0] >= SCREEN_WIDTH || y[0] < 0 || y[0] >= SCREEN_HEIGHT) {
-            running = false;
-        }
-        if (!running) {
-            timer.stop();
-        }
-    }
+        SnakeClient connection = client;
+        boolean world = bigWorld;
+        boolean saved = resume;
+        int tickDelay = delay;
 
-    public void gameOver(Graphics g) {
-        g.setColor(Color.red);
-        g.setFont(new Font("Arial", Font.BOLD, 75));
-        FontMetrics metrics1 = getFontMetrics(g.getFont());
-        g.drawString("Game Over", (SCREEN_WIDTH - metrics1.stringWidth("Game Over")) / 2, SCREEN_HEIGHT / 2);
-
-        g.setFont(new Font("Arial", Font.BOLD, 40));
-        FontMetrics metrics2 = getFontMetrics(g.getFont());
-        g.drawString("Score: " + applesEaten, (SCREEN_WIDTH - metrics2.stringWidth("Score: " + applesEaten)) / 2, g.getFont().getSize() * 2);
-        
-        // Set the final score
-        SnakeGame.setFinalScore(applesEaten);
+        SwingUtilities.invokeLater(() -> {
+            if (connection != null) {
+                new GameFrame(new NetworkPanel(connection));
+            } else if (world) {
+                new GameFrame(new WorldPanel());
+            } else {
+                // --delay only changes the classic game; a resumed game keeps the normal speed
+                new GameFrame(saved ? resumeOrNew() : new GamePanel(null, tickDelay));
+            }
+        });
     }
 
-    @Override
-    public void actionPerformed(ActionEvent e) {
-        if (running) {
-            move();
-            checkApple();
-            checkCollisions();
-        }
-        repaint();
+    private static void usage(String problem) {
+        System.err.println(problem);
+        System.err.println("Usage: java SnakeGame [--world | --resume | --connect host:port] [--delay MS]");
+        System.exit(1);
     }
 
-    public class MyKeyAdapter extends KeyAdapter {
-        @Override
-        public void keyPressed(KeyEvent e) {
-            switch (e.getKeyCode()) {
-                case KeyEvent.VK_LEFT:
-                case KeyEvent.VK_A:
-                    if (direction != 'R') direction = 'L';
-                    break;
-                case KeyEvent.VK_RIGHT:
-                case KeyEvent.VK_D:
-                    if (direction != 'L') direction = 'R';
-                    break;
-                case KeyEvent.VK_UP:
-                case KeyEvent.VK_W:
-                    if (direction != 'D') direction = 'U';
-                    break;
-                case KeyEvent.VK_DOWN:
-                case KeyEvent.VK_S:
-                    if (direction != 'U') direction = 'D';
-                    break;
-            }
-        }
+    static GamePanel resumeOrNew() {
+        GamePanel panel = GamePanel.resume();
+        return panel != null ? panel : new GamePanel();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,135 @@
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+/**
+ * Measures key-to-move latency of Snake's input handling at several tick rates.
+ *
+ * A simulated player presses keys on the EDT at random moments, often two within one tick
+ * (a quick corner), while a Swing Timer runs the tick exactly as GamePanel does: take one
+ * turn from a TurnQueue, record how long ago it was pressed. The same presses are also
+ * replayed against the old handling, where a key overwrote a single direction field, to
+ * count the presses it lost and the turns that reversed the snake into itself.
+ *
+ * Usage: java SnakeInputLatency [--delays MS,MS,...] [--seconds S]
+ */
+public class SnakeInputLatency {
+    public static void main(String[] args) throws Exception {
+        String delays = GamePanel.DELAY + ",40,16";
+        int seconds = 20;
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--delays": delays = value; i++; break;
+                case "--seconds": seconds = Integer.parseInt(value); i++; break;
+                default:
+                    System.err.println("Unknown argument: " + args[i]);
+                    System.err.println("Usage: java SnakeInputLatency [--delays MS,MS,...] [--seconds S]");
+                    System.exit(1);
+            }
+        }
+
+        for (String delay : delays.split(",")) {
+            run(Integer.parseInt(delay.trim()), seconds);
+        }
+    }
+
+    /**
+     * Both snakes as the tick sees them. Only touched on the EDT.
+     */
+    private static final class Session {
+        final TurnQueue turns = new TurnQueue();
+        final LatencyHistogram latency = new LatencyHistogram();
+        char direction = 'R';
+        long presses;
+        long applied;
+
+        // The old handling: one direction field, checked against itself, read by the tick
+        char oldPending = 'R';
+        char oldCommitted = 'R';
+        long oldLost;
+        long oldReversals;
+        boolean oldPendingUnread;
+
+        void press(char turn) {
+            presses++;
+            turns.offer(turn, System.nanoTime());
+
+            if (oldPending != TurnQueue.opposite(turn) && oldPending != turn) {
+                if (oldPendingUnread) oldLost++;
+                oldPending = turn;
+                oldPendingUnread = true;
+            } else if (oldPending != turn) {
+                oldLost++;
+            }
+        }
+
+        void tick() {
+            char turn = turns.next(direction);
+            if (turn != 0) {
+                direction = turn;
+                applied++;
+                latency.record(System.nanoTime() - turns.lastPressedAt());
+            }
+
+            if (oldPending == TurnQueue.opposite(oldCommitted)) {
+                oldReversals++;
+                oldPending = oldCommitted; // The real game would end here; keep counting
+            }
+            oldCommitted = oldPending;
+            oldPendingUnread = false;
+        }
+    }
+
+    private static void run(int delay, int seconds) throws Exception {
+        Session session = new Session();
+        Timer timer = new Timer(delay, e -> session.tick());
+        timer.start();
+
+        // The player turns left or right of their last key three or four times a second, and
+        // one time in three follows up with a second turn 20-60% of a tick later
+        Random random = new Random(42);
+        char intended = 'R';
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        while (System.nanoTime() < end) {
+            Thread.sleep(100 + random.nextInt(400));
+            intended = perpendicular(intended, random);
+            pressOnEdt(session, intended);
+            if (random.nextInt(3) == 0) {
+                Thread.sleep(Math.max(1, delay * (20 + random.nextInt(40)) / 100));
+                intended = perpendicular(intended, random);
+                pressOnEdt(session, intended);
+            }
+        }
+        Thread.sleep(delay * (TurnQueue.CAPACITY + 2L));
+        CountDownLatch stopped = new CountDownLatch(1);
+        SwingUtilities.invokeLater(() -> {
+            timer.stop();
+            stopped.countDown();
+        });
+        stopped.await();
+
+        LatencyHistogram latency = session.latency;
+        System.out.printf(Locale.ROOT, "Tick %d ms: %d presses, %d applied, %d dropped by a full queue%n",
+            delay, session.presses, session.applied, session.turns.getDropped());
+        System.out.printf(Locale.ROOT, "  key-to-move: p50 %.1f ms, p99 %.1f ms, max %.1f ms (%.2f / %.2f ticks)%n",
+            latency.getPercentile(0.5) / 1e6, latency.getPercentile(0.99) / 1e6, latency.getMax() / 1e6,
+            latency.getPercentile(0.5) / 1e6 / delay, latency.getPercentile(0.99) / 1e6 / delay);
+        System.out.printf(Locale.ROOT, "  old handling: %d presses lost (%.1f%%), %d turns into itself%n",
+            session.oldLost, 100.0 * session.oldLost / Math.max(1, session.presses), session.oldReversals);
+    }
+
+    private static char perpendicular(char direction, Random random) {
+        boolean vertical = direction == 'U' || direction == 'D';
+        if (vertical) return random.nextBoolean() ? 'L' : 'R';
+        return random.nextBoolean() ? 'U' : 'D';
+    }
+
+    private static void pressOnEdt(Session session, char turn) {
+        SwingUtilities.invokeLater(() -> session.press(turn));
+    }
+}
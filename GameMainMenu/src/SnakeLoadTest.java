@@ -0,0 +1,121 @@
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Loopback load test for multiplayer Snake: starts a SnakeServer in this JVM (or uses a running
+ * one), connects many bot clients that turn at random, and reports how steady the tick stayed.
+ *
+ * Usage: java SnakeLoadTest [--clients N] [--seconds S] [--size cells] [--connect host:port]
+ *
+ * Reported: server tick duration and timer jitter, how far apart frames reached the clients
+ * compared to the tick delay, turn-to-acknowledgement latency and bytes per client per tick.
+ */
+public class SnakeLoadTest {
+    private static final char[] TURNS = {'U', 'D', 'L', 'R'};
+
+    private static String ms(long nanos) {
+        return String.format(Locale.ROOT, "%.2f ms", nanos / 1e6);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = 64;
+        int seconds = 20;
+        int size = SnakeServer.DEFAULT_SIZE;
+        String connect = null;
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--clients": clients = Integer.parseInt(value); i++; break;
+                case "--seconds": seconds = Integer.parseInt(value); i++; break;
+                case "--size": size = Integer.parseInt(value); i++; break;
+                case "--connect": connect = value; i++; break;
+                default:
+                    System.err.println("Unknown argument: " + args[i]);
+                    System.err.println("Usage: java SnakeLoadTest [--clients N] [--seconds S] [--size cells] "
+                        + "[--connect host:port]");
+                    System.exit(1);
+            }
+        }
+
+        SnakeServer server = null;
+        String host = "localhost";
+        int port;
+        if (connect == null) {
+            server = new SnakeServer(0, size);
+            Thread serverThread = new Thread(server, "snake-server");
+            serverThread.setDaemon(true);
+            serverThread.start();
+            port = server.getPort();
+        } else {
+            int colon = connect.lastIndexOf(':');
+            host = connect.substring(0, colon);
+            port = Integer.parseInt(connect.substring(colon + 1));
+        }
+
+        LatencyHistogram frameJitter = new LatencyHistogram();
+        List<SnakeClient> bots = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            bots.add(SnakeClient.connect(host, port, frameJitter));
+        }
+        System.out.printf(Locale.ROOT, "%d clients connected to %s:%d, running for %d s%n", clients, host, port, seconds);
+
+        // Let everyone spawn and receive a first snapshot before measuring
+        Thread.sleep(1000);
+        frameJitter.reset();
+        if (server != null) server.getMetrics().reset();
+        long startBytes = totalBytes(bots);
+        int startTick = bots.get(0).getServerTick();
+
+        Random random = new Random(36);
+        int delay = bots.get(0).getDelayMillis();
+        long end = System.nanoTime() + seconds * 1_000_000_000L;
+        while (System.nanoTime() < end) {
+            for (SnakeClient bot : bots) {
+                if (random.nextInt(4) == 0) {
+                    bot.sendTurn(TURNS[random.nextInt(TURNS.length)]);
+                }
+            }
+            Thread.sleep(delay);
+        }
+
+        int ticks = bots.get(0).getServerTick() - startTick;
+        long bytes = totalBytes(bots) - startBytes;
+        LatencyHistogram inputLatency = new LatencyHistogram();
+        int disconnected = 0;
+        for (SnakeClient bot : bots) {
+            if (bot.isClosed()) disconnected++;
+            LatencyHistogram h = bot.getInputLatency();
+            if (h.getPercentile(0.99) > inputLatency.getPercentile(0.99)) inputLatency = h;
+        }
+
+        System.out.printf(Locale.ROOT, "Ticks: %d in %d s (%.1f/s, target %.1f/s)%n",
+            ticks, seconds, ticks / (double) seconds, 1000.0 / delay);
+        if (server != null) {
+            GameMetrics m = server.getMetrics();
+            System.out.printf(Locale.ROOT, "Server tick duration: p50 %.0f us, p99 %.0f us, max %.0f us%n",
+                m.getTickP50Micros(), m.getTickP99Micros(), m.getTickMaxMicros());
+            System.out.printf(Locale.ROOT, "Server timer jitter:  p50 %.0f us, p99 %.0f us, max %.0f us%n",
+                m.getTimerJitterP50Micros(), m.getTimerJitterP99Micros(), m.getTimerJitterMaxMicros());
+            System.out.printf(Locale.ROOT, "Snapshots sent: %d (1 per client is the initial join)%n", server.getSnapshotsSent());
+        }
+        System.out.printf(Locale.ROOT, "Client frame jitter:  p50 %s, p99 %s, max %s%n",
+            ms(frameJitter.getPercentile(0.5)), ms(frameJitter.getPercentile(0.99)), ms(frameJitter.getMax()));
+        System.out.printf(Locale.ROOT, "Turn to ack (worst client): p50 %s, p99 %s%n",
+            ms(inputLatency.getPercentile(0.5)), ms(inputLatency.getPercentile(0.99)));
+        System.out.printf(Locale.ROOT, "Traffic: %.1f bytes per client per tick%n", bytes / (double) clients / Math.max(1, ticks));
+        System.out.printf("Disconnected clients: %d%n", disconnected);
+
+        for (SnakeClient bot : bots) bot.close();
+        if (server != null) server.stop();
+    }
+
+    private static long totalBytes(List<SnakeClient> bots) {
+        long total = 0;
+        for (SnakeClient bot : bots) total += bot.getBytesReceived();
+        return total;
+    }
+}
@@ -0,0 +1,69 @@
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Dimension;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+
+/**
+ * Snake in classic, big world or multiplayer mode.
+ */
+public class SnakeModule implements GameModule {
+    @Override public String getName() { return "SNAKE GAME"; }
+    @Override public String getDescription() { return "A classic snake game. Eat apples and grow longer!"; }
+    @Override public Color getAccentColor() { return Color.GREEN; }
+    @Override public String getHighscoreKey() { return "Snake"; }
+    @Override public String getHighscoreTitle() { return "🐍 Snake"; }
+
+    @Override
+    public void launch(Component parent) throws Exception {
+        String[] modes = Checkpoint.forGame(getHighscoreKey()).exists()
+            ? new String[] {"Classic", "Big World", "Multiplayer", "Resume"}
+            : new String[] {"Classic", "Big World", "Multiplayer"};
+        int mode = JOptionPane.showOptionDialog(parent,
+            "Classic fits on one screen. Big World is " + WorldPanel.WORLD_SIZE + "x" + WorldPanel.WORLD_SIZE
+                + " cells with a scrolling camera.\nMultiplayer joins a server, or hosts one on this machine.",
+            "Snake Game",
+            JOptionPane.DEFAULT_OPTION,
+            JOptionPane.QUESTION_MESSAGE,
+            null,
+            modes,
+            modes[0]);
+        if (mode < 0) return;
+
+        String server = null;
+        if (mode == 2) {
+            server = JOptionPane.showInputDialog(parent,
+                "Server address (host:port), or leave empty to host a game here:",
+                "Snake Multiplayer",
+                JOptionPane.QUESTION_MESSAGE);
+            if (server == null) return;
+            server = server.trim();
+            if (server.isEmpty()) {
+                SnakeServer host = SnakeServer.startInBackground(SnakeServer.DEFAULT_PORT);
+                server = "localhost:" + host.getPort();
+            }
+        }
+
+        System.out.println("Launching Snake Game (" + modes[mode] + ")...");
+        GameEvents.launchStarted("Snake", modes[mode]);
+        // Scores go to the leaderboard through GameEventBus when a run ends
+        JPanel panel;
+        if (mode == 2) {
+            int colon = server.lastIndexOf(':');
+            String host = colon < 0 ? server : server.substring(0, colon);
+            int port = colon < 0 ? SnakeServer.DEFAULT_PORT : Integer.parseInt(server.substring(colon + 1));
+            panel = new NetworkPanel(SnakeClient.connect(host, port));
+        } else if (mode == 1) {
+            panel = new WorldPanel();
+        } else {
+            panel = mode == 3 ? SnakeGame.resumeOrNew() : new GamePanel();
+        }
+
+        if (FullscreenHost.isFullscreenEnabled()) {
+            Dimension size = panel.getPreferredSize();
+            FullscreenHost.open("Snake Game", panel, panel, size.width, size.height, true);
+        } else {
+            new GameFrame(panel);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+import java.nio.ByteBuffer;
+
+/**
+ * Binary wire format of multiplayer Snake.
+ *
+ * Every frame is an unsigned 16-bit length followed by that many bytes: a type byte and the
+ * body. Numbers are big-endian; cells and player ids are unsigned shorts.
+ *
+ * <pre>
+ * server to client
+ *   WELCOME   id, width, height, delayMillis
+ *   SNAPSHOT  tick:int, snakes:short, {id, alive:byte, score, length, cell * length (tail first)},
+ *             apples:short, cell * apples
+ *   DELTA     tick:int, events:short, {kind:byte, id, cell} * events
+ *   ACK       seq:int                  last input the server applied for this client
+ * client to server
+ *   INPUT     seq:int, direction:byte  'U', 'D', 'L' or 'R'
+ * </pre>
+ *
+ * A delta event is 5 bytes and every client gets every snake's events, so a normal tick costs
+ * each client about 10 bytes per snake (a head and a tail event), whatever the arena size.
+ * Events must be applied in order: tails are freed before heads move into the same cells.
+ */
+public final class SnakeProtocol {
+    public static final byte WELCOME = 1;
+    public static final byte SNAPSHOT = 2;
+    public static final byte DELTA = 3;
+    public static final byte ACK = 4;
+    public static final byte INPUT = 10;
+
+    // Delta event kinds
+    public static final byte HEAD = 1;
+    public static final byte TAIL = 2;
+    public static final byte APPLE_ADDED = 3;
+    public static final byte APPLE_EATEN = 4;
+    public static final byte DIED = 5;
+    public static final byte SPAWNED = 6;
+    public static final byte LEFT = 7;
+
+    public static final int EVENT_BYTES = 5;
+    public static final int DELTA_HEADER_BYTES = 2 + 1 + 4 + 2;
+    public static final int INPUT_FRAME_BYTES = 2 + 1 + 4 + 1;
+    public static final int MAX_FRAME_BYTES = 2 + 0xFFFF;
+
+    private SnakeProtocol() {
+    }
+
+    /**
+     * Start a delta frame; finish it with endDelta once the events are written.
+     */
+    static void beginDelta(ByteBuffer buffer, int tick) {
+        buffer.clear();
+        buffer.putShort((short) 0);
+        buffer.put(DELTA);
+        buffer.putInt(tick);
+        buffer.putShort((short) 0);
+    }
+
+    static void putEvent(ByteBuffer buffer, byte kind, int id, int cell) {
+        buffer.put(kind);
+        buffer.putShort((short) id);
+        buffer.putShort((short) cell);
+    }
+
+    static void endDelta(ByteBuffer buffer) {
+        int events = (buffer.position() - DELTA_HEADER_BYTES) / EVENT_BYTES;
+        buffer.putShort(0, (short) (buffer.position() - 2));
+        buffer.putShort(DELTA_HEADER_BYTES - 2, (short) events);
+        buffer.flip();
+    }
+
+    static void putWelcome(ByteBuffer buffer, int id, SnakeArena arena, int delayMillis) {
+        buffer.putShort((short) 9);
+        buffer.put(WELCOME);
+        buffer.putShort((short) id);
+        buffer.putShort((short) arena.width);
+        buffer.putShort((short) arena.height);
+        buffer.putShort((short) delayMillis);
+    }
+
+    static void putAck(ByteBuffer buffer, int seq) {
+        buffer.putShort((short) 5);
+        buffer.put(ACK);
+        buffer.putInt(seq);
+    }
+
+    static void putInput(ByteBuffer buffer, int seq, char direction) {
+        buffer.putShort((short) 6);
+        buffer.put(INPUT);
+        buffer.putInt(seq);
+        buffer.put((byte) direction);
+    }
+
+    /**
+     * Write the whole arena as one frame into an empty buffer, which is left flipped.
+     */
+    static void putSnapshot(ByteBuffer buffer, SnakeArena arena, int tick) {
+        buffer.clear();
+        buffer.putShort((short) 0);
+        buffer.put(SNAPSHOT);
+        buffer.putInt(tick);
+        int countAt = buffer.position();
+        buffer.putShort((short) 0);
+        int count = 0;
+        for (SnakeArena.Snake snake : arena.snakes) {
+            if (snake == null) continue;
+            buffer.putShort((short) snake.id);
+            buffer.put((byte) (snake.alive ? 1 : 0));
+            buffer.putShort((short) snake.score);
+            buffer.putShort((short) snake.length);
+            for (int i = 0; i < snake.length; i++) {
+                buffer.putShort((short) snake.cell(i));
+            }
+            count++;
+        }
+        buffer.putShort(countAt, (short) count);
+
+        buffer.putShort((short) arena.apples);
+        for (int cell = 0; cell < arena.cells.length; cell++) {
+            if (arena.cells[cell] == SnakeWorld.APPLE) buffer.putShort((short) cell);
+        }
+        buffer.putShort(0, (short) (buffer.position() - 2));
+        buffer.flip();
+    }
+
+    /**
+     * Apply a SNAPSHOT or DELTA body (after the type byte) to a client's replica.
+     *
+     * @return the server tick the frame describes
+     */
+    static int apply(byte type, ByteBuffer body, SnakeArena arena) {
+        int tick = body.getInt();
+        if (type == SNAPSHOT) {
+            arena.clear();
+            int snakes = body.getShort() & 0xFFFF;
+            for (int s = 0; s < snakes; s++) {
+                int id = body.getShort() & 0xFFFF;
+                boolean alive = body.get() != 0;
+                int score = body.getShort() & 0xFFFF;
+                int length = body.getShort() & 0xFFFF;
+                SnakeArena.Snake snake = arena.snake(id);
+                for (int i = 0; i < length; i++) {
+                    arena.addHead(id, body.getShort() & 0xFFFF);
+                }
+                snake.alive = alive;
+                snake.score = score;
+            }
+            int apples = body.getShort() & 0xFFFF;
+            for (int i = 0; i < apples; i++) {
+                arena.addApple(body.getShort() & 0xFFFF);
+            }
+            return tick;
+        }
+
+        int events = body.getShort() & 0xFFFF;
+        for (int i = 0; i < events; i++) {
+            byte kind = body.get();
+            int id = body.getShort() & 0xFFFF;
+            int cell = body.getShort() & 0xFFFF;
+            switch (kind) {
+                case HEAD: arena.addHead(id, cell); break;
+                case TAIL: arena.removeTail(id); break;
+                case APPLE_ADDED: arena.addApple(cell); break;
+                case APPLE_EATEN: arena.eatApple(id, cell); break;
+                case DIED: arena.kill(id); break;
+                case SPAWNED: arena.spawn(id, cell); break;
+                case LEFT: arena.remove(id); break;
+            }
+        }
+        return tick;
+    }
+}
@@ -0,0 +1,503 @@
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Authoritative multiplayer Snake server.
+ *
+ * One thread runs a non-blocking Selector loop that accepts players, reads their inputs and
+ * runs the game tick every GamePanel.DELAY ms. After each tick the events are encoded once
+ * into a delta frame (see SnakeProtocol) and the same bytes are queued to every client.
+ * A client that falls more than MAX_BACKLOG bytes behind has its queue dropped and gets a
+ * full snapshot instead, so one slow reader can't stall the tick or grow memory.
+ *
+ * Run headless with "java SnakeServer [--port n] [--size cells]", or start inside the menu
+ * with startInBackground.
+ */
+public class SnakeServer implements Runnable {
+    public static final int DEFAULT_PORT = 47474;
+    public static final int DEFAULT_SIZE = 80;
+
+    private static final int START_LENGTH = 6;
+    private static final int RESPAWN_TICKS = 20;
+    private static final int INPUT_QUEUE = 8;
+    private static final int MAX_BACKLOG = 64 * 1024;
+
+    private static SnakeServer background;
+
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final SnakeArena arena;
+    private final int delayMillis;
+    private final Player[] players = new Player[SnakeArena.MAX_PLAYERS];
+    private final List<Player> connected = new ArrayList<>();
+    private final Random random = new Random();
+    private final GameMetrics metrics = GameMetrics.forGame("Snake Server");
+
+    private final ByteBuffer delta = ByteBuffer.allocate(SnakeProtocol.MAX_FRAME_BYTES);
+    private final ByteBuffer snapshot = ByteBuffer.allocate(SnakeProtocol.MAX_FRAME_BYTES);
+    private final ByteBuffer control = ByteBuffer.allocate(64);
+    private final int[] nextHeads = new int[SnakeArena.MAX_PLAYERS];
+    private final List<Integer> pendingLeaves = new ArrayList<>();
+
+    private volatile boolean running = true;
+    private volatile int playerCount;
+    private volatile int tick;
+    private long lastTickStart;
+    private final AtomicLong bytesQueued = new AtomicLong();
+    private final AtomicLong snapshotsSent = new AtomicLong();
+
+    /**
+     * Server-side state of one connection.
+     */
+    private static final class Player {
+        final int id;
+        final SocketChannel channel;
+        final SelectionKey key;
+        final ByteBuffer in = ByteBuffer.allocate(256);
+        final ArrayDeque<ByteBuffer> out = new ArrayDeque<>();
+        int queuedBytes;
+        boolean needsSnapshot = true;
+
+        // Inputs waiting for a tick; one is applied per tick
+        final int[] inputSeq = new int[INPUT_QUEUE];
+        final char[] inputDirection = new char[INPUT_QUEUE];
+        int inputHead;
+        int inputCount;
+        int appliedSeq;
+        int ackedSeq;
+
+        char direction = 'R';
+        int growth;
+        int respawnIn;
+
+        Player(int id, SocketChannel channel, SelectionKey key) {
+            this.id = id;
+            this.channel = channel;
+            this.key = key;
+        }
+    }
+
+    public SnakeServer(int port, int size) throws IOException {
+        this(port, size, GamePanel.DELAY);
+    }
+
+    public SnakeServer(int port, int size, int delayMillis) throws IOException {
+        this.arena = new SnakeArena(size, size);
+        this.delayMillis = delayMillis;
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port));
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    /**
+     * The menu's shared server, started on a daemon thread the first time it is asked for.
+     */
+    public static synchronized SnakeServer startInBackground(int port) throws IOException {
+        if (background == null || !background.running) {
+            background = new SnakeServer(port, DEFAULT_SIZE);
+            Thread thread = new Thread(background, "snake-server");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return background;
+    }
+
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    public int getTick() {
+        return tick;
+    }
+
+    /** Bytes queued to clients since the server started */
+    public long getBytesQueued() {
+        return bytesQueued.get();
+    }
+
+    public long getSnapshotsSent() {
+        return snapshotsSent.get();
+    }
+
+    public GameMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void stop() {
+        running = false;
+        selector.wakeup();
+    }
+
+    @Override
+    public void run() {
+        System.out.println("Snake server listening on port " + getPort());
+        long delayNanos = delayMillis * 1_000_000L;
+        long nextTick = System.nanoTime() + delayNanos;
+        try {
+            while (running) {
+                long wait = nextTick - System.nanoTime();
+                if (wait > 0) {
+                    // Round up: firing up to 1 ms late beats spinning on selectNow
+                    selector.select((wait + 999_999) / 1_000_000);
+                } else {
+                    selector.selectNow();
+                }
+                handleKeys();
+
+                long now = System.nanoTime();
+                if (now >= nextTick) {
+                    tick();
+                    nextTick += delayNanos;
+                    if (now - nextTick > 5 * delayNanos) {
+                        nextTick = now + delayNanos; // Paused for a long time; don't replay missed ticks
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Snake server stopped: " + e.getMessage());
+        } finally {
+            running = false;
+            try {
+                selector.close();
+                serverChannel.close();
+                for (Player player : connected) player.channel.close();
+            } catch (IOException e) {
+                System.err.println("Error closing snake server: " + e.getMessage());
+            }
+        }
+    }
+
+    private void handleKeys() throws IOException {
+        Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+        while (it.hasNext()) {
+            SelectionKey key = it.next();
+            it.remove();
+            if (!key.isValid()) continue;
+            if (key.isAcceptable()) {
+                accept();
+                continue;
+            }
+            Player player = (Player) key.attachment();
+            try {
+                if (key.isReadable()) read(player);
+                if (key.isValid() && key.isWritable()) flush(player);
+            } catch (IOException e) {
+                disconnect(player);
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            int id = freeId();
+            if (id < 0) {
+                channel.close();
+                continue;
+            }
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+            Player player = new Player(id, channel, key);
+            key.attach(player);
+            players[id] = player;
+            connected.add(player);
+            playerCount = connected.size();
+            player.respawnIn = 1; // Spawns on the next tick
+
+            control.clear();
+            SnakeProtocol.putWelcome(control, id, arena, delayMillis);
+            control.flip();
+            queue(player, copy(control));
+        }
+    }
+
+    private int freeId() {
+        for (int id = 0; id < players.length; id++) {
+            if (players[id] == null) return id;
+        }
+        return -1;
+    }
+
+    private void read(Player player) throws IOException {
+        if (player.channel.read(player.in) < 0) {
+            disconnect(player);
+            return;
+        }
+        ByteBuffer in = player.in;
+        in.flip();
+        while (in.remaining() >= 2) {
+            int length = in.getShort(in.position()) & 0xFFFF;
+            if (in.remaining() < 2 + length) break;
+            int frameEnd = in.position() + 2 + length;
+            in.position(in.position() + 2);
+            if (length == 6 && in.get() == SnakeProtocol.INPUT) {
+                int seq = in.getInt();
+                char direction = (char) in.get();
+                if (player.inputCount < INPUT_QUEUE) {
+                    int slot = (player.inputHead + player.inputCount) % INPUT_QUEUE;
+                    player.inputSeq[slot] = seq;
+                    player.inputDirection[slot] = direction;
+                    player.inputCount++;
+                }
+            }
+            in.position(frameEnd);
+        }
+        in.compact();
+        if (!in.hasRemaining()) {
+            disconnect(player); // A full buffer means the client isn't speaking the protocol
+        }
+    }
+
+    private void disconnect(Player player) {
+        if (players[player.id] != player) return;
+        players[player.id] = null;
+        connected.remove(player);
+        playerCount = connected.size();
+        player.key.cancel();
+        try {
+            player.channel.close();
+        } catch (IOException e) {
+            // Already gone
+        }
+        if (arena.snakes[player.id] != null) {
+            arena.remove(player.id);
+            pendingLeaves.add(player.id);
+        }
+    }
+
+    /**
+     * One authoritative game step, then broadcast of its events
+     */
+    private void tick() throws IOException {
+        long tickStart = metrics.beginTick(lastTickStart, delayMillis);
+        lastTickStart = tickStart;
+        tick++;
+        SnakeProtocol.beginDelta(delta, tick);
+
+        for (int id : pendingLeaves) {
+            SnakeProtocol.putEvent(delta, SnakeProtocol.LEFT, id, 0);
+        }
+        pendingLeaves.clear();
+
+        // Apply one queued input per player
+        for (Player player : connected) {
+            if (player.inputCount > 0) {
+                char direction = player.inputDirection[player.inputHead];
+                player.appliedSeq = player.inputSeq[player.inputHead];
+                player.inputHead = (player.inputHead + 1) % INPUT_QUEUE;
+                player.inputCount--;
+                if (!isReverse(player.direction, direction)) {
+                    player.direction = direction;
+                }
+            }
+        }
+
+        // Free tails first so a snake may follow another's tail into the cell it leaves
+        for (Player player : connected) {
+            SnakeArena.Snake snake = arena.snakes[player.id];
+            if (snake == null || !snake.alive) continue;
+            nextHeads[player.id] = step(snake.head(), player.direction);
+            if (player.growth > 0) {
+                player.growth--;
+            } else {
+                arena.removeTail(player.id);
+                SnakeProtocol.putEvent(delta, SnakeProtocol.TAIL, player.id, 0);
+            }
+        }
+
+        // Move heads in id order, so two heads meeting in one cell resolve the same way every time
+        for (int id = 0; id < players.length; id++) {
+            Player player = players[id];
+            if (player == null) continue;
+            SnakeArena.Snake snake = arena.snakes[id];
+            if (snake == null || !snake.alive) continue;
+            int next = nextHeads[id];
+            if (next < 0 || arena.cells[next] == SnakeWorld.SNAKE) {
+                arena.kill(id);
+                player.respawnIn = RESPAWN_TICKS;
+                SnakeProtocol.putEvent(delta, SnakeProtocol.DIED, id, 0);
+                continue;
+            }
+            if (arena.cells[next] == SnakeWorld.APPLE) {
+                arena.eatApple(id, next);
+                player.growth++;
+                SnakeProtocol.putEvent(delta, SnakeProtocol.APPLE_EATEN, id, next);
+            }
+            arena.addHead(id, next);
+            SnakeProtocol.putEvent(delta, SnakeProtocol.HEAD, id, next);
+        }
+
+        for (Player player : connected) {
+            SnakeArena.Snake snake = arena.snakes[player.id];
+            if ((snake == null || !snake.alive) && --player.respawnIn <= 0) {
+                respawn(player);
+            }
+        }
+
+        int targetApples = Math.max(3, connected.size());
+        for (int tries = 0; arena.apples < targetApples && tries < 100; tries++) {
+            int cell = random.nextInt(arena.cells.length);
+            if (arena.cells[cell] == SnakeWorld.EMPTY) {
+                arena.addApple(cell);
+                SnakeProtocol.putEvent(delta, SnakeProtocol.APPLE_ADDED, 0, cell);
+            }
+        }
+
+        SnakeProtocol.endDelta(delta);
+        broadcast();
+        metrics.endTick(tickStart);
+    }
+
+    private void respawn(Player player) {
+        for (int tries = 0; tries < 100; tries++) {
+            int x = 2 + random.nextInt(arena.width - 4);
+            int y = 2 + random.nextInt(arena.height - 4);
+            int cell = y * arena.width + x;
+            if (arena.cells[cell] != SnakeWorld.EMPTY) continue;
+            arena.spawn(player.id, cell);
+            player.direction = x < arena.width / 2 ? 'R' : 'L';
+            player.growth = START_LENGTH - 1;
+            if (player.inputCount > 0) {
+                // Turns queued while dead are dropped; acknowledge them so the client forgets them too
+                player.appliedSeq = player.inputSeq[(player.inputHead + player.inputCount - 1) % INPUT_QUEUE];
+                player.inputCount = 0;
+            }
+            SnakeProtocol.putEvent(delta, SnakeProtocol.SPAWNED, player.id, cell);
+            return;
+        }
+        player.respawnIn = 1; // Arena is crowded; try again next tick
+    }
+
+    private static boolean isReverse(char current, char next) {
+        return (current == 'U' && next == 'D') || (current == 'D' && next == 'U')
+            || (current == 'L' && next == 'R') || (current == 'R' && next == 'L');
+    }
+
+    /**
+     * Cell one step from the given one, or -1 past the arena's edge
+     */
+    private int step(int cell, char direction) {
+        int x = cell % arena.width;
+        int y = cell / arena.width;
+        switch (direction) {
+            case 'U': y--; break;
+            case 'D': y++; break;
+            case 'L': x--; break;
+            case 'R': x++; break;
+        }
+        if (x < 0 || x >= arena.width || y < 0 || y >= arena.height) return -1;
+        return y * arena.width + x;
+    }
+
+    private void broadcast() throws IOException {
+        // Frames can sit in a slow client's queue past the next tick, so they get their own copy
+        ByteBuffer sharedDelta = copy(delta);
+        boolean snapshotReady = false;
+        for (int i = connected.size() - 1; i >= 0; i--) {
+            Player player = connected.get(i);
+            if (player.needsSnapshot) {
+                if (!snapshotReady) {
+                    SnakeProtocol.putSnapshot(snapshot, arena, tick);
+                    snapshotReady = true;
+                }
+                queue(player, copy(snapshot));
+                player.needsSnapshot = false;
+                snapshotsSent.incrementAndGet();
+            } else {
+                queue(player, sharedDelta.duplicate());
+            }
+            if (player.appliedSeq != player.ackedSeq) {
+                control.clear();
+                SnakeProtocol.putAck(control, player.appliedSeq);
+                control.flip();
+                // A dropped ACK stays owed and goes out with the next tick's frames
+                if (queue(player, copy(control))) player.ackedSeq = player.appliedSeq;
+            }
+            try {
+                flush(player);
+            } catch (IOException e) {
+                disconnect(player);
+            }
+        }
+    }
+
+    private static ByteBuffer copy(ByteBuffer frame) {
+        ByteBuffer copy = ByteBuffer.allocate(frame.remaining());
+        copy.put(frame.duplicate()).flip();
+        return copy;
+    }
+
+    /**
+     * Queue a frame for the player; returns false if it was dropped for a resync instead
+     */
+    private boolean queue(Player player, ByteBuffer frame) {
+        if (player.queuedBytes + frame.remaining() > MAX_BACKLOG) {
+            // Too far behind: drop queued frames (keeping one already half written) and resync
+            ByteBuffer partial = player.out.peekFirst();
+            player.out.clear();
+            player.queuedBytes = 0;
+            if (partial != null && partial.position() > 0) {
+                player.out.add(partial);
+                player.queuedBytes = partial.remaining();
+            }
+            player.needsSnapshot = true;
+            return false;
+        }
+        player.out.add(frame);
+        player.queuedBytes += frame.remaining();
+        bytesQueued.addAndGet(frame.remaining());
+        return true;
+    }
+
+    /**
+     * Write as much as the socket takes; wait for OP_WRITE if anything is left
+     */
+    private void flush(Player player) throws IOException {
+        while (!player.out.isEmpty()) {
+            ByteBuffer frame = player.out.peekFirst();
+            int written = player.channel.write(frame);
+            player.queuedBytes -= written;
+            if (frame.hasRemaining()) {
+                player.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                return;
+            }
+            player.out.pollFirst();
+        }
+        player.key.interestOps(SelectionKey.OP_READ);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = DEFAULT_PORT;
+        int size = DEFAULT_SIZE;
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--port": port = Integer.parseInt(value); i++; break;
+                case "--size": size = Integer.parseInt(value); i++; break;
+                default:
+                    System.err.println("Unknown argument: " + args[i]);
+                    System.err.println("Usage: java SnakeServer [--port n] [--size cells]");
+                    System.exit(1);
+            }
+        }
+        new SnakeServer(port, size).run();
+    }
+}
@@ -0,0 +1,118 @@
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Classic Snake rules, as played by GamePanel: a 24x24 board in pixel coordinates (one cell
+ * is UNIT_SIZE pixels), one cell per tick, an apple adds one part, and the run ends on
+ * hitting a wall or the body.
+ *
+ * Actions: 0 keep going, 1 up, 2 down, 3 left, 4 right. A turn back into the body is ignored.
+ * Observation: one int per cell, row-major: 0 empty, 1 body, 2 head, 3 apple.
+ */
+public class SnakeSimulation implements GameSimulation {
+    static final int SCREEN_WIDTH = 600;
+    static final int SCREEN_HEIGHT = 600;
+    static final int UNIT_SIZE = 25;
+    static final int GAME_UNITS = (SCREEN_WIDTH * SCREEN_HEIGHT) / (UNIT_SIZE * UNIT_SIZE);
+    static final int START_PARTS = 6;
+    private static final char[] TURNS = {0, 'U', 'D', 'L', 'R'};
+    private static final int COLUMNS = SCREEN_WIDTH / UNIT_SIZE;
+    private static final int ROWS = SCREEN_HEIGHT / UNIT_SIZE;
+
+    final int[] x = new int[GAME_UNITS];
+    final int[] y = new int[GAME_UNITS];
+    int bodyParts = START_PARTS;
+    int applesEaten = 0;
+    int appleX;
+    int appleY;
+    char direction = 'R';
+    boolean running = false;
+    Random random = new Random();
+
+    public String getName() { return "Snake"; }
+    public int getActionCount() { return TURNS.length; }
+    public boolean isOver() { return !running; }
+    public int getScore() { return applesEaten; }
+    public int getObservationSize() { return GAME_UNITS; }
+
+    public void reset(long seed) {
+        random = new Random(seed);
+        bodyParts = START_PARTS;
+        applesEaten = 0;
+        direction = 'R';
+        for (int i = 0; i <= START_PARTS; i++) {
+            x[i] = 0;
+            y[i] = 0;
+        }
+        newApple();
+        running = true;
+    }
+
+    public boolean step(int action) {
+        return tick(TURNS[action]);
+    }
+
+    /**
+     * Turn (unless it is 0 or a reversal), then move, eat and check collisions.
+     */
+    boolean tick(char turn) {
+        if (!running) return false;
+        if (turn != 0 && turn != TurnQueue.opposite(direction)) direction = turn;
+        move();
+        checkApple();
+        checkCollisions();
+        return running;
+    }
+
+    public void observe(int[] observation) {
+        Arrays.fill(observation, 0, GAME_UNITS, 0);
+        for (int i = bodyParts - 1; i >= 0; i--) {
+            int cell = cell(x[i], y[i]);
+            if (cell >= 0) observation[cell] = i == 0 ? 2 : 1;
+        }
+        observation[cell(appleX, appleY)] = 3;
+    }
+
+    private static int cell(int px, int py) {
+        if (px < 0 || py < 0 || px >= SCREEN_WIDTH || py >= SCREEN_HEIGHT) return -1;
+        return (py / UNIT_SIZE) * COLUMNS + px / UNIT_SIZE;
+    }
+
+    void newApple() {
+        appleX = random.nextInt(COLUMNS) * UNIT_SIZE;
+        appleY = random.nextInt(ROWS) * UNIT_SIZE;
+    }
+
+    void move() {
+        for (int i = bodyParts; i > 0; i--) {
+            x[i] = x[i - 1];
+            y[i] = y[i - 1];
+        }
+
+        switch (direction) {
+            case 'U': y[0] = y[0] - UNIT_SIZE; break;
+            case 'D': y[0] = y[0] + UNIT_SIZE; break;
+            case 'L': x[0] = x[0] - UNIT_SIZE; break;
+            case 'R': x[0] = x[0] + UNIT_SIZE; break;
+        }
+    }
+
+    void checkApple() {
+        if ((x[0] == appleX) && (y[0] == appleY)) {
+            bodyParts++;
+            applesEaten++;
+            newApple();
+        }
+    }
+
+    void checkCollisions() {
+        for (int i = bodyParts; i > 0; i--) {
+            if ((x[0] == x[i]) && (y[0] == y[i])) {
+                running = false;
+            }
+        }
+        if (x[0] < 0 || x[0] >= SCREEN_WIDTH || y[0] < 0 || y[0] >= SCREEN_HEIGHT) {
+            running = false;
+        }
+    }
+}
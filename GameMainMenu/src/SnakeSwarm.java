@@ -0,0 +1,622 @@
+import java.awt.*;
+import java.awt.event.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.Phaser;
+import javax.swing.*;
+
+/**
+ * Arena mode: thousands of AI snakes on one big grid, simulated in parallel.
+ *
+ * Every snake follows GamePanel's rules: one cell per tick, an apple grows it by one, and
+ * walls and bodies kill it, including the cell its own tail is leaving this tick. Two heads
+ * moving into the same cell both die. As every tail cell counts as body, no snake's fate
+ * depends on another's move in the same tick.
+ *
+ * The grid is split into horizontal stripes of rows and each worker thread owns a range of
+ * stripes. A stripe owns the snakes whose head is on its rows and the cells on its rows. A
+ * tick runs in four phases separated by a Phaser barrier:
+ * <ol>
+ * <li>decide: each stripe picks a direction for its snakes and posts the target cell to the
+ *     inbox of the stripe owning that cell (its own or a neighbour);</li>
+ * <li>resolve: each stripe claims its target cells and decides move, eat or die;</li>
+ * <li>apply: each stripe moves its snakes, and hands snakes whose head crossed a border to
+ *     the neighbour;</li>
+ * <li>settle: each stripe takes in arriving snakes, respawns its dead ones and tops up its
+ *     apples.</li>
+ * </ol>
+ * Every inbox has exactly one writer and is read only after the next barrier, and within a
+ * phase no two threads write the same cell, so there are no locks. Stripes are processed in
+ * a fixed order with their own random streams, so for a given seed and stripe count the
+ * arena is the same whatever the number of threads.
+ *
+ * Usage: java SnakeSwarm [--size N] [--snakes N] [--apples N] [--stripes N] [--ticks N]
+ *                        [--threads T] [--seed S] [--view]
+ */
+public class SnakeSwarm {
+    static final int INITIAL_LENGTH = 6; // GamePanel's starting bodyParts
+    private static final char[] DIRECTIONS = {'U', 'D', 'L', 'R'};
+    private static final int SIGHT = 8;
+    private static final int PLACE_ATTEMPTS = 16;
+
+    private static final int MOVE = 0;
+    private static final int EAT = 1;
+    private static final int DIE = 2;
+    private static final int CONFLICT = -1;
+
+    final int width;
+    final int height;
+    final byte[] cells;
+    private final int rowsPerStripe;
+    private final Stripe[] stripes;
+    private final int applesPerStripe;
+
+    // Per snake, indexed by id
+    private final SnakeArena.Snake[] snakes;
+    private final char[] directions;
+    private final int[] growth;
+    private final int[] targets;
+    private final int[] outcomes;
+    private final SplittableRandom[] randoms;
+
+    // Per cell: the tick a cell was last claimed in, and by which snake (or CONFLICT)
+    private final int[] claimTicks;
+    private final int[] claimers;
+    private int tick = 1;
+
+    /** Growable int list with a single writer */
+    private static final class Ints {
+        int[] values = new int[16];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+    }
+
+    private static final class Stripe {
+        final int index;
+        final int firstCell;
+        final int endCell;
+        final SplittableRandom random;
+        final Ints snakes = new Ints();
+        final Ints dead = new Ints();
+        // Indexed by source stripe - this stripe + 1
+        final Ints[] inbox = {new Ints(), new Ints(), new Ints()};
+        final Ints[] arrivals = {new Ints(), new Ints(), new Ints()};
+        int apples;
+        long eaten;
+        long deaths;
+
+        Stripe(int index, int firstCell, int endCell, SplittableRandom random) {
+            this.index = index;
+            this.firstCell = firstCell;
+            this.endCell = endCell;
+            this.random = random;
+        }
+    }
+
+    public SnakeSwarm(int size, int snakeCount, int apples, int stripeCount, long seed) {
+        if (size < 16 || (long) size * size > Integer.MAX_VALUE / 2) {
+            throw new IllegalArgumentException("Arena size must be between 16 and " + (int) Math.sqrt(Integer.MAX_VALUE / 2));
+        }
+        if (stripeCount < 1 || stripeCount > size / 2) {
+            throw new IllegalArgumentException("Stripes must be between 1 and " + size / 2);
+        }
+        this.width = size;
+        this.height = size;
+        this.cells = new byte[size * size];
+        this.claimTicks = new int[size * size];
+        this.claimers = new int[size * size];
+        this.rowsPerStripe = (size + stripeCount - 1) / stripeCount;
+        this.stripes = new Stripe[(size + rowsPerStripe - 1) / rowsPerStripe];
+        this.applesPerStripe = Math.max(1, apples / stripes.length);
+
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < stripes.length; i++) {
+            int endRow = Math.min(size, (i + 1) * rowsPerStripe);
+            stripes[i] = new Stripe(i, i * rowsPerStripe * width, endRow * width, random.split());
+        }
+        snakes = new SnakeArena.Snake[snakeCount];
+        directions = new char[snakeCount];
+        growth = new int[snakeCount];
+        targets = new int[snakeCount];
+        outcomes = new int[snakeCount];
+        randoms = new SplittableRandom[snakeCount];
+        for (int id = 0; id < snakeCount; id++) {
+            snakes[id] = new SnakeArena.Snake(id);
+            randoms[id] = random.split();
+            Stripe stripe = stripes[random.nextInt(stripes.length)];
+            if (!spawn(stripe, id)) stripe.dead.add(id);
+        }
+        for (Stripe stripe : stripes) settle(stripe);
+    }
+
+    int stripeOf(int cell) {
+        return cell / width / rowsPerStripe;
+    }
+
+    public int getTick() {
+        return tick - 1;
+    }
+
+    public int getAlive() {
+        int alive = 0;
+        for (Stripe stripe : stripes) alive += stripe.snakes.size;
+        return alive;
+    }
+
+    public long getApplesEaten() {
+        long eaten = 0;
+        for (Stripe stripe : stripes) eaten += stripe.eaten;
+        return eaten;
+    }
+
+    public long getDeaths() {
+        long deaths = 0;
+        for (Stripe stripe : stripes) deaths += stripe.deaths;
+        return deaths;
+    }
+
+    public int getLongest() {
+        int longest = 0;
+        for (SnakeArena.Snake snake : snakes) {
+            if (snake.alive) longest = Math.max(longest, snake.length);
+        }
+        return longest;
+    }
+
+    /**
+     * Hash of the grid and every snake, to check that runs with different thread counts match.
+     */
+    public long checksum() {
+        long hash = Arrays.hashCode(cells);
+        for (SnakeArena.Snake snake : snakes) {
+            hash = hash * 31 + (snake.alive ? snake.head() : -1);
+            hash = hash * 31 + snake.length * 7919L + snake.score;
+        }
+        return hash;
+    }
+
+    /**
+     * Put a snake on a random empty cell of a stripe, head only; it grows to its full length
+     * over the next moves like a new GamePanel snake.
+     */
+    private boolean spawn(Stripe stripe, int id) {
+        int cell = randomEmptyCell(stripe);
+        if (cell < 0) return false;
+        SnakeArena.Snake snake = snakes[id];
+        snake.tail = 0;
+        snake.length = 0;
+        snake.score = 0;
+        snake.alive = true;
+        snake.pushHead(cell);
+        cells[cell] = SnakeWorld.SNAKE;
+        growth[id] = INITIAL_LENGTH - 1;
+        directions[id] = DIRECTIONS[stripe.random.nextInt(DIRECTIONS.length)];
+        stripe.snakes.add(id);
+        return true;
+    }
+
+    private int randomEmptyCell(Stripe stripe) {
+        for (int attempt = 0; attempt < PLACE_ATTEMPTS; attempt++) {
+            int cell = stripe.firstCell + stripe.random.nextInt(stripe.endCell - stripe.firstCell);
+            if (cells[cell] == SnakeWorld.EMPTY) return cell;
+        }
+        return -1;
+    }
+
+    // --- Phase 1: decide ---
+
+    private void decide(Stripe stripe) {
+        for (int offset = -1; offset <= 1; offset++) {
+            Stripe destination = neighbour(stripe, offset);
+            if (destination != null) destination.inbox[1 - offset].size = 0;
+        }
+        Ints list = stripe.snakes;
+        for (int i = 0; i < list.size; i++) {
+            int id = list.values[i];
+            int head = snakes[id].head();
+            char direction = chooseDirection(id, head % width, head / width);
+            directions[id] = direction;
+            int target = step(head, direction);
+            targets[id] = target;
+            if (target < 0) {
+                outcomes[id] = DIE;
+                continue;
+            }
+            int offset = stripeOf(target) - stripe.index;
+            stripes[stripe.index + offset].inbox[1 - offset].add(id);
+        }
+    }
+
+    private Stripe neighbour(Stripe stripe, int offset) {
+        int index = stripe.index + offset;
+        return index >= 0 && index < stripes.length ? stripes[index] : null;
+    }
+
+    /** The cell one step from a cell, or -1 past the arena edge */
+    private int step(int cell, char direction) {
+        int x = cell % width;
+        int y = cell / width;
+        switch (direction) {
+            case 'U': y--; break;
+            case 'D': y++; break;
+            case 'L': x--; break;
+            case 'R': x++; break;
+        }
+        return x >= 0 && y >= 0 && x < width && y < height ? y * width + x : -1;
+    }
+
+    /**
+     * Never reverse; avoid walls and bodies; go for apples in reach or in sight straight
+     * ahead; prefer cells with room around them and going straight on, with some noise.
+     */
+    private char chooseDirection(int id, int x, int y) {
+        char current = directions[id];
+        char reverse = TurnQueue.opposite(current);
+        SplittableRandom random = randoms[id];
+        char best = current;
+        int bestValue = Integer.MIN_VALUE;
+        for (char direction : DIRECTIONS) {
+            if (direction == reverse) continue;
+            int value = evaluate(x, y, direction) + random.nextInt(4) + (direction == current ? 2 : 0);
+            if (value > bestValue) {
+                bestValue = value;
+                best = direction;
+            }
+        }
+        return best;
+    }
+
+    private int evaluate(int x, int y, char direction) {
+        int dx = direction == 'L' ? -1 : direction == 'R' ? 1 : 0;
+        int dy = direction == 'U' ? -1 : direction == 'D' ? 1 : 0;
+        int nx = x + dx;
+        int ny = y + dy;
+        if (!isOpen(nx, ny)) return -1000;
+        if (cells[ny * width + nx] == SnakeWorld.APPLE) return 100;
+
+        int value = 0;
+        if (isOpen(nx + 1, ny)) value += 4;
+        if (isOpen(nx - 1, ny)) value += 4;
+        if (isOpen(nx, ny + 1)) value += 4;
+        if (isOpen(nx, ny - 1)) value += 4;
+        for (int distance = 2; distance <= SIGHT; distance++) {
+            int sx = x + dx * distance;
+            int sy = y + dy * distance;
+            if (!isOpen(sx, sy)) break;
+            if (cells[sy * width + sx] == SnakeWorld.APPLE) {
+                value += (SIGHT + 1 - distance) * 3;
+                break;
+            }
+        }
+        return value;
+    }
+
+    private boolean isOpen(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height && cells[y * width + x] != SnakeWorld.SNAKE;
+    }
+
+    // --- Phase 2: resolve ---
+
+    private void resolve(Stripe stripe) {
+        for (Ints intents : stripe.inbox) {
+            for (int i = 0; i < intents.size; i++) {
+                int id = intents.values[i];
+                int target = targets[id];
+                if (claimTicks[target] != tick) {
+                    claimTicks[target] = tick;
+                    claimers[target] = id;
+                } else {
+                    claimers[target] = CONFLICT;
+                }
+            }
+        }
+        for (Ints intents : stripe.inbox) {
+            for (int i = 0; i < intents.size; i++) {
+                int id = intents.values[i];
+                int target = targets[id];
+                byte cell = cells[target];
+                if (claimers[target] == CONFLICT) {
+                    outcomes[id] = DIE;
+                } else if (cell == SnakeWorld.APPLE) {
+                    outcomes[id] = EAT;
+                    stripe.apples--;
+                    stripe.eaten++;
+                } else if (cell == SnakeWorld.SNAKE) {
+                    outcomes[id] = DIE;
+                } else {
+                    outcomes[id] = MOVE;
+                }
+            }
+        }
+    }
+
+    // --- Phase 3: apply ---
+
+    private void apply(Stripe stripe) {
+        for (int offset = -1; offset <= 1; offset += 2) {
+            Stripe destination = neighbour(stripe, offset);
+            if (destination != null) destination.arrivals[1 - offset].size = 0;
+        }
+        Ints list = stripe.snakes;
+        int kept = 0;
+        for (int i = 0; i < list.size; i++) {
+            int id = list.values[i];
+            SnakeArena.Snake snake = snakes[id];
+            int target = targets[id];
+            switch (outcomes[id]) {
+                case DIE:
+                    while (snake.length > 0) cells[snake.popTail()] = SnakeWorld.EMPTY;
+                    snake.alive = false;
+                    stripe.deaths++;
+                    stripe.dead.add(id);
+                    continue;
+                case EAT:
+                    snake.score++;
+                    break;
+                default:
+                    if (growth[id] > 0) {
+                        growth[id]--;
+                    } else {
+                        cells[snake.popTail()] = SnakeWorld.EMPTY;
+                    }
+            }
+            snake.pushHead(target);
+            cells[target] = SnakeWorld.SNAKE;
+
+            int offset = stripeOf(target) - stripe.index;
+            if (offset == 0) {
+                list.values[kept++] = id;
+            } else {
+                stripes[stripe.index + offset].arrivals[1 - offset].add(id);
+            }
+        }
+        list.size = kept;
+    }
+
+    // --- Phase 4: settle ---
+
+    private void settle(Stripe stripe) {
+        for (int source = 0; source < 3; source += 2) {
+            Ints arrivals = stripe.arrivals[source];
+            for (int i = 0; i < arrivals.size; i++) stripe.snakes.add(arrivals.values[i]);
+        }
+
+        Ints dead = stripe.dead;
+        int waiting = 0;
+        for (int i = 0; i < dead.size; i++) {
+            int id = dead.values[i];
+            if (!spawn(stripe, id)) dead.values[waiting++] = id;
+        }
+        dead.size = waiting;
+
+        for (int attempt = 0; stripe.apples < applesPerStripe && attempt < PLACE_ATTEMPTS; attempt++) {
+            int cell = randomEmptyCell(stripe);
+            if (cell >= 0) {
+                cells[cell] = SnakeWorld.APPLE;
+                stripe.apples++;
+            }
+        }
+    }
+
+    // --- Running ---
+
+    /**
+     * Called between ticks while every worker waits, so the grid can be read consistently.
+     */
+    public interface TickListener {
+        /** Return true to stop the run */
+        boolean afterTick(SnakeSwarm swarm);
+    }
+
+    /**
+     * Run the given number of ticks (or until the listener stops it) on that many threads,
+     * each owning a contiguous range of stripes.
+     */
+    public void run(int ticks, int threads, TickListener listener) throws InterruptedException {
+        int workers = Math.max(1, Math.min(threads, stripes.length));
+        int lastTick = tick + ticks;
+        boolean[] finished = new boolean[1];
+        Phaser phaser = new Phaser(workers) {
+            @Override
+            protected boolean onAdvance(int phase, int registeredParties) {
+                if (phase % 4 == 3) {
+                    tick++;
+                    if (tick >= lastTick || (listener != null && listener.afterTick(SnakeSwarm.this))) {
+                        finished[0] = true;
+                    }
+                }
+                return false;
+            }
+        };
+
+        Thread[] threadArray = new Thread[workers];
+        for (int w = 0; w < workers; w++) {
+            int from = w * stripes.length / workers;
+            int to = (w + 1) * stripes.length / workers;
+            threadArray[w] = new Thread(() -> {
+                while (!finished[0]) {
+                    for (int s = from; s < to; s++) decide(stripes[s]);
+                    phaser.arriveAndAwaitAdvance();
+                    for (int s = from; s < to; s++) resolve(stripes[s]);
+                    phaser.arriveAndAwaitAdvance();
+                    for (int s = from; s < to; s++) apply(stripes[s]);
+                    phaser.arriveAndAwaitAdvance();
+                    for (int s = from; s < to; s++) settle(stripes[s]);
+                    phaser.arriveAndAwaitAdvance();
+                }
+            }, "swarm-worker-" + w);
+            threadArray[w].start();
+        }
+        for (Thread thread : threadArray) thread.join();
+    }
+
+    /**
+     * Draw the arena into an ARGB image, one pixel per scale x scale block of cells; a block
+     * shows a snake if it has one, else an apple if it has one.
+     */
+    void downsample(int[] pixels, int imageWidth, int scale) {
+        Arrays.fill(pixels, 0xFF000000);
+        for (int y = 0; y < height; y++) {
+            int row = (y / scale) * imageWidth;
+            int rowStart = y * width;
+            for (int x = 0; x < width; x++) {
+                byte cell = cells[rowStart + x];
+                if (cell == SnakeWorld.EMPTY) continue;
+                int pixel = row + x / scale;
+                if (cell == SnakeWorld.SNAKE) {
+                    pixels[pixel] = 0xFF2DB400;
+                } else if (pixels[pixel] == 0xFF000000) {
+                    pixels[pixel] = 0xFFE03030;
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int size = 1024;
+        int snakeCount = 4096;
+        int apples = 16384;
+        int stripeCount = 64;
+        int ticks = 2000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = 45;
+        boolean view = false;
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--size": size = Integer.parseInt(value); i++; break;
+                case "--snakes": snakeCount = Integer.parseInt(value); i++; break;
+                case "--apples": apples = Integer.parseInt(value); i++; break;
+                case "--stripes": stripeCount = Integer.parseInt(value); i++; break;
+                case "--ticks": ticks = Integer.parseInt(value); i++; break;
+                case "--threads": threads = Integer.parseInt(value); i++; break;
+                case "--seed": seed = Long.parseLong(value); i++; break;
+                case "--view": view = true; break;
+                default:
+                    System.err.println("Unknown argument: " + args[i]);
+                    System.err.println("Usage: java SnakeSwarm [--size N] [--snakes N] [--apples N] [--stripes N] "
+                        + "[--ticks N] [--threads T] [--seed S] [--view]");
+                    System.exit(1);
+            }
+        }
+
+        if (view) {
+            SnakeSwarm swarm = new SnakeSwarm(size, snakeCount, apples, stripeCount, seed);
+            SwarmView.show(swarm, threads);
+            return;
+        }
+
+        System.out.printf(Locale.ROOT, "%dx%d arena, %d snakes, %d apples, %d stripes, %d ticks, seed %d%n",
+            size, size, snakeCount, apples, stripeCount, ticks, seed);
+        // Warm up the JIT so the single-threaded baseline is not penalised
+        new SnakeSwarm(size, snakeCount, apples, stripeCount, seed).run(Math.min(ticks, 500), 1, null);
+
+        double baseline = 0;
+        long baselineChecksum = 0;
+        for (int t = 1; t <= threads; t = t < threads && t * 2 > threads ? threads : t * 2) {
+            SnakeSwarm swarm = new SnakeSwarm(size, snakeCount, apples, stripeCount, seed);
+            long start = System.nanoTime();
+            swarm.run(ticks, t, null);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            double rate = ticks / seconds;
+            long checksum = swarm.checksum();
+            if (t == 1) {
+                baseline = rate;
+                baselineChecksum = checksum;
+            }
+            System.out.printf(Locale.ROOT,
+                "%3d threads: %8.1f ticks/s, %6.2f M snake moves/s, speedup %5.2fx, efficiency %5.1f%% | "
+                    + "alive %d, longest %d, eaten %d, deaths %d, checksum %016x%s%n",
+                t, rate, rate * snakeCount / 1e6, rate / baseline, 100 * rate / baseline / t,
+                swarm.getAlive(), swarm.getLongest(), swarm.getApplesEaten(), swarm.getDeaths(), checksum,
+                checksum == baselineChecksum ? "" : " MISMATCH");
+        }
+    }
+}
+
+/**
+ * Downsampled live picture of a running SnakeSwarm. Between ticks the simulation draws a new
+ * frame once the last one has been painted, so painting never blocks the workers and never
+ * sees a frame being drawn.
+ */
+class SwarmView extends JPanel {
+    private static final int MAX_IMAGE_SIZE = 512;
+    private static final int FRAME_DELAY = 33;
+
+    private final BufferedImage image;
+    private final int[] pixels;
+    private final int scale;
+    private volatile boolean frameReady;
+    private volatile boolean stopped;
+    private volatile int ticks;
+
+    private SwarmView(SnakeSwarm swarm) {
+        scale = (Math.max(swarm.width, swarm.height) + MAX_IMAGE_SIZE - 1) / MAX_IMAGE_SIZE;
+        image = new BufferedImage((swarm.width + scale - 1) / scale, (swarm.height + scale - 1) / scale,
+            BufferedImage.TYPE_INT_ARGB);
+        pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        setPreferredSize(new Dimension(image.getWidth() * 2, image.getHeight() * 2));
+        setBackground(Color.black);
+    }
+
+    /**
+     * Open a window showing the swarm and run it until the window is closed.
+     */
+    static void show(SnakeSwarm swarm, int threads) throws InterruptedException {
+        SwarmView view = new SwarmView(swarm);
+        SwingUtilities.invokeLater(() -> {
+            JFrame frame = new JFrame("Snake Arena");
+            frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+            frame.add(view);
+            frame.pack();
+            frame.setLocationRelativeTo(null);
+            frame.addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowClosed(WindowEvent e) {
+                    view.stopped = true;
+                }
+            });
+            long[] last = {System.nanoTime(), 0};
+            Timer timer = new Timer(FRAME_DELAY, e -> {
+                if (!view.frameReady) return;
+                long now = System.nanoTime();
+                if (now - last[0] >= 1_000_000_000L) {
+                    frame.setTitle(String.format(Locale.ROOT, "Snake Arena - tick %d, %.0f ticks/s, %d alive",
+                        view.ticks, (view.ticks - last[1]) * 1e9 / (now - last[0]), swarm.getAlive()));
+                    last[0] = now;
+                    last[1] = view.ticks;
+                }
+                view.repaint();
+            });
+            timer.start();
+            frame.setVisible(true);
+        });
+        swarm.run(Integer.MAX_VALUE - swarm.getTick() - 1, threads, s -> {
+            view.ticks = s.getTick();
+            if (!view.frameReady) {
+                s.downsample(view.pixels, view.image.getWidth(), view.scale);
+                view.frameReady = true;
+            }
+            return view.stopped;
+        });
+        System.exit(0);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        if (!frameReady) return;
+        Graphics2D g2 = (Graphics2D) g;
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        g2.drawImage(image, 0, 0, getWidth(), getHeight(), null);
+        frameReady = false;
+    }
+}
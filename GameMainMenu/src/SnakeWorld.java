@@ -0,0 +1,73 @@
+import java.util.Random;
+
+/**
+ * Large Snake world stored as one byte per cell, split into square chunks.
+ *
+ * Chunks are CHUNK_SIZE x CHUNK_SIZE cells so a renderer can visit only the chunks that
+ * overlap its viewport. Cells are addressed by a single int index (y * width + x).
+ */
+public class SnakeWorld {
+    static final byte EMPTY = 0;
+    static final byte SNAKE = 1;
+    static final byte APPLE = 2;
+
+    static final int CHUNK_SHIFT = 6;
+    static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final int width;
+    private final int height;
+    private final int chunksX;
+    private final int chunksY;
+    private final byte[][] chunks;
+
+    public SnakeWorld(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.chunksX = (width + CHUNK_SIZE - 1) >> CHUNK_SHIFT;
+        this.chunksY = (height + CHUNK_SIZE - 1) >> CHUNK_SHIFT;
+        this.chunks = new byte[chunksX * chunksY][CHUNK_SIZE * CHUNK_SIZE];
+    }
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public int getChunksX() { return chunksX; }
+    public int getChunksY() { return chunksY; }
+
+    public boolean contains(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+
+    public byte get(int x, int y) {
+        return chunks[(y >> CHUNK_SHIFT) * chunksX + (x >> CHUNK_SHIFT)][((y & CHUNK_MASK) << CHUNK_SHIFT) | (x & CHUNK_MASK)];
+    }
+
+    public void set(int x, int y, byte value) {
+        chunks[(y >> CHUNK_SHIFT) * chunksX + (x >> CHUNK_SHIFT)][((y & CHUNK_MASK) << CHUNK_SHIFT) | (x & CHUNK_MASK)] = value;
+    }
+
+    /**
+     * Raw cells of one chunk, row-major, CHUNK_SIZE cells per row. Cells past the world edge stay EMPTY.
+     */
+    byte[] chunk(int chunkX, int chunkY) {
+        return chunks[chunkY * chunksX + chunkX];
+    }
+
+    /**
+     * Put an apple on a random empty cell of the given chunk. Gives up after a few tries
+     * on a crowded chunk rather than scanning it.
+     */
+    public boolean placeApple(int chunkX, int chunkY, Random random) {
+        int chunkWidth = Math.min(CHUNK_SIZE, width - (chunkX << CHUNK_SHIFT));
+        int chunkHeight = Math.min(CHUNK_SIZE, height - (chunkY << CHUNK_SHIFT));
+        byte[] cells = chunk(chunkX, chunkY);
+        for (int attempt = 0; attempt < 16; attempt++) {
+            int local = (random.nextInt(chunkHeight) << CHUNK_SHIFT) | random.nextInt(chunkWidth);
+            if (cells[local] == EMPTY) {
+                cells[local] = APPLE;
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,126 @@
+import java.awt.Rectangle;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures what spectating costs the game loop: publishes a synthetic Flappy Bird run at the
+ * game's tick rate to many loopback viewers, some of which never read, and reports the time
+ * spent in SpectatorPublisher.publish.
+ *
+ * Usage: java SpectatorBenchmark [--viewers N] [--stalled N] [--seconds S]
+ */
+public class SpectatorBenchmark {
+    private static final int TICK_MILLIS = 16;
+
+    public static void main(String[] args) throws Exception {
+        int viewers = 100;
+        int stalled = 10;
+        int seconds = 10;
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--viewers": viewers = Integer.parseInt(value); i++; break;
+                case "--stalled": stalled = Integer.parseInt(value); i++; break;
+                case "--seconds": seconds = Integer.parseInt(value); i++; break;
+                default:
+                    System.err.println("Unknown argument: " + args[i]);
+                    System.err.println("Usage: java SpectatorBenchmark [--viewers N] [--stalled N] [--seconds S]");
+                    System.exit(1);
+            }
+        }
+
+        SpectatorPublisher publisher = SpectatorPublisher.open(0);
+        AtomicLong framesRead = new AtomicLong();
+        List<SocketChannel> channels = new ArrayList<>();
+        for (int i = 0; i < viewers; i++) {
+            SocketChannel channel = SocketChannel.open(new InetSocketAddress("localhost", publisher.getPort()));
+            // Stalled viewers keep a tiny receive buffer and never read, so their rings fill up
+            if (i < stalled) {
+                channel.socket().setReceiveBufferSize(1024);
+            } else {
+                Thread reader = new Thread(() -> read(channel, framesRead), "viewer-" + i);
+                reader.setDaemon(true);
+                reader.start();
+            }
+            channels.add(channel);
+        }
+        while (publisher.getViewerCount() < viewers) Thread.sleep(10);
+        System.out.printf(Locale.ROOT, "%d viewers attached (%d stalled), publishing every %d ms for %d s%n",
+            viewers, stalled, TICK_MILLIS, seconds);
+
+        Rectangle bird = new Rectangle(FlappyBird.SCREEN_WIDTH / 3, 300, FlappyBird.BIRD_WIDTH, FlappyBird.BIRD_HEIGHT);
+        List<Rectangle> topPipes = new ArrayList<>();
+        List<Rectangle> bottomPipes = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            topPipes.add(new Rectangle(300 + i * 360, 0, FlappyBird.PIPE_WIDTH, 150));
+            bottomPipes.add(new Rectangle(300 + i * 360, 350, FlappyBird.PIPE_WIDTH, 250));
+        }
+
+        // Warm up so publish is JIT-compiled before measuring; the burst overflows the rings, which is fine
+        for (int i = 0; i < 20_000; i++) {
+            publisher.publish(0, bird, 0, SpectatorPublisher.WAITING, false, topPipes, bottomPipes);
+        }
+        Thread.sleep(1000);
+        publisher.getPublishTimes().reset();
+        long droppedBefore = publisher.getDroppedFrames();
+        long readBefore = framesRead.get();
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long publishCpu = 0;
+        long ticks = 0;
+        long end = System.nanoTime() + seconds * 1_000_000_000L;
+        while (System.nanoTime() < end) {
+            bird.y = 250 + (int) (50 * Math.sin(ticks / 20.0));
+            for (int i = 0; i < topPipes.size(); i++) {
+                topPipes.get(i).x = (int) ((300 + i * 360 - ticks * 4) % 1080 + 1080) % 1080 - 100;
+                bottomPipes.get(i).x = topPipes.get(i).x;
+            }
+            long cpuStart = threads.getCurrentThreadCpuTime();
+            publisher.publish((int) (ticks / 90), bird, 0, SpectatorPublisher.PLAYING, false, topPipes, bottomPipes);
+            publishCpu += threads.getCurrentThreadCpuTime() - cpuStart;
+            ticks++;
+            Thread.sleep(TICK_MILLIS);
+        }
+        Thread.sleep(200);
+
+        LatencyHistogram publish = publisher.getPublishTimes();
+        int readers = viewers - stalled;
+        System.out.printf(Locale.ROOT, "Published %d frames%n", ticks);
+        System.out.printf(Locale.ROOT, "publish() per tick: p50 %.1f us, p99 %.1f us, max %.1f us (%.3f%% of a %d ms tick at p99)%n",
+            publish.getPercentile(0.5) / 1e3, publish.getPercentile(0.99) / 1e3, publish.getMax() / 1e3,
+            publish.getPercentile(0.99) / 1e4 / TICK_MILLIS, TICK_MILLIS);
+        // Wall time includes being preempted by the sender and viewer threads; CPU time does not
+        System.out.printf(Locale.ROOT, "publish() CPU time per tick: avg %.1f us on %d cores%n",
+            publishCpu / 1e3 / ticks, Runtime.getRuntime().availableProcessors());
+        System.out.printf(Locale.ROOT, "Reading viewers received %.1f%% of frames%n",
+            readers == 0 ? 0.0 : 100.0 * (framesRead.get() - readBefore) / ((double) ticks * readers));
+        System.out.printf(Locale.ROOT, "Frames dropped for stalled viewers: %d%n", publisher.getDroppedFrames() - droppedBefore);
+
+        publisher.close();
+        for (SocketChannel channel : channels) channel.close();
+    }
+
+    private static void read(SocketChannel channel, AtomicLong framesRead) {
+        ByteBuffer buffer = ByteBuffer.allocate(SpectatorPublisher.FRAME_BYTES * 64);
+        long bytes = 0;
+        try {
+            int n;
+            while ((n = channel.read(buffer)) >= 0) {
+                bytes += n;
+                framesRead.addAndGet((bytes / SpectatorPublisher.FRAME_BYTES) - ((bytes - n) / SpectatorPublisher.FRAME_BYTES));
+                buffer.clear();
+            }
+        } catch (IOException e) {
+            // Closed at the end of the run
+        }
+    }
+}
@@ -0,0 +1,227 @@
+import java.awt.Rectangle;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Streams a running Flappy Bird game to any number of SpectatorViewer windows.
+ *
+ * Every tick the game calls publish, which encodes one fixed-size frame and copies it into a
+ * small ring buffer per viewer. A sender thread drains the rings into the sockets with a
+ * Selector. publish never waits for a viewer: when a viewer's ring is full the frame is
+ * dropped for that viewer only, and it catches up once its socket drains.
+ *
+ * <pre>
+ * frame (FRAME_BYTES, big-endian)
+ *   seq:int, score:short, birdX:short, birdY:short, birdVelocityY:short,
+ *   state:byte (WAITING, PLAYING, OVER), turbo:byte, pipes:byte, unused:byte,
+ *   {x:short, gapTop:short, gapBottom:short} * MAX_PIPES
+ * </pre>
+ */
+public class SpectatorPublisher implements Closeable {
+    public static final int DEFAULT_PORT = 47475;
+    public static final int MAX_PIPES = 6;
+    public static final int FRAME_BYTES = 16 + MAX_PIPES * 6;
+
+    public static final byte WAITING = 0;
+    public static final byte PLAYING = 1;
+    public static final byte OVER = 2;
+
+    private static final int RING_FRAMES = 32;
+    private static final int SEND_BUFFER_BYTES = 8 * 1024;
+
+    private final ServerSocketChannel serverChannel;
+    private final Selector selector;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ByteBuffer frame = ByteBuffer.allocate(FRAME_BYTES);
+    private final LatencyHistogram publishTimes = new LatencyHistogram();
+    private volatile boolean running = true;
+    private int seq;
+
+    /**
+     * One viewer: a single-producer, single-consumer ring of frames.
+     */
+    private static final class Subscriber {
+        final SocketChannel channel;
+        final byte[] ring = new byte[RING_FRAMES * FRAME_BYTES];
+        final ByteBuffer view = ByteBuffer.wrap(ring);
+        // Frames written by the game thread and fully sent by the sender thread
+        volatile long written;
+        volatile long sent;
+        // Bytes of the frame at sent already on the wire
+        int partial;
+        long dropped;
+
+        Subscriber(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    private SpectatorPublisher(ServerSocketChannel serverChannel) throws IOException {
+        this.serverChannel = serverChannel;
+        this.selector = Selector.open();
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        Thread sender = new Thread(this::sendLoop, "spectator-publisher");
+        sender.setDaemon(true);
+        sender.start();
+    }
+
+    /**
+     * Listen for viewers on the given port (0 for any free port) of the loopback address only,
+     * so a game is never exposed to the network.
+     */
+    public static SpectatorPublisher open(int port) throws IOException {
+        ServerSocketChannel channel = ServerSocketChannel.open();
+        try {
+            channel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new SpectatorPublisher(channel);
+    }
+
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    public int getViewerCount() {
+        return subscribers.size();
+    }
+
+    /** Time spent in publish calls that had at least one viewer */
+    public LatencyHistogram getPublishTimes() {
+        return publishTimes;
+    }
+
+    public long getDroppedFrames() {
+        long dropped = 0;
+        for (Subscriber subscriber : subscribers) dropped += subscriber.dropped;
+        return dropped;
+    }
+
+    /**
+     * Send the current state of a game to every viewer. Returns immediately if nobody watches.
+     * Pipes with zero width (already passed) are skipped; at most MAX_PIPES are sent.
+     */
+    public void publish(int score, Rectangle bird, int birdVelocityY, byte state, boolean turbo,
+                        List<Rectangle> topPipes, List<Rectangle> bottomPipes) {
+        if (subscribers.isEmpty()) return;
+        long start = System.nanoTime();
+
+        frame.clear();
+        frame.putInt(++seq);
+        frame.putShort((short) score);
+        frame.putShort((short) bird.x);
+        frame.putShort((short) bird.y);
+        frame.putShort((short) birdVelocityY);
+        frame.put(state);
+        frame.put((byte) (turbo ? 1 : 0));
+        int countAt = frame.position();
+        frame.put((byte) 0);
+        frame.put((byte) 0);
+        int pipes = 0;
+        for (int i = 0; i < topPipes.size() && pipes < MAX_PIPES; i++) {
+            Rectangle top = topPipes.get(i);
+            if (top.width == 0) continue;
+            frame.putShort((short) top.x);
+            frame.putShort((short) top.height);
+            frame.putShort((short) bottomPipes.get(i).y);
+            pipes++;
+        }
+        frame.put(countAt, (byte) pipes);
+        byte[] bytes = frame.array();
+
+        for (Subscriber subscriber : subscribers) {
+            long written = subscriber.written;
+            if (written - subscriber.sent >= RING_FRAMES) {
+                subscriber.dropped++;
+                continue;
+            }
+            System.arraycopy(bytes, 0, subscriber.ring, (int) (written % RING_FRAMES) * FRAME_BYTES, FRAME_BYTES);
+            subscriber.written = written + 1;
+        }
+        selector.wakeup();
+        publishTimes.record(System.nanoTime() - start);
+    }
+
+    private void sendLoop() {
+        try {
+            while (running) {
+                selector.select();
+                Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    if (key.isValid() && key.isAcceptable()) accept();
+                }
+                for (Subscriber subscriber : subscribers) {
+                    try {
+                        drain(subscriber);
+                    } catch (IOException e) {
+                        subscribers.remove(subscriber);
+                        subscriber.channel.close();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Spectator publisher stopped: " + e.getMessage());
+        } finally {
+            try {
+                selector.close();
+            } catch (IOException e) {
+                // Shutting down anyway
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            // Keep the kernel's share of a stalled viewer small too, so drops start within seconds
+            channel.socket().setSendBufferSize(SEND_BUFFER_BYTES);
+            subscribers.add(new Subscriber(channel));
+        }
+    }
+
+    /**
+     * Send the subscriber's queued frames, up to the end of the ring per write
+     */
+    private void drain(Subscriber subscriber) throws IOException {
+        long written = subscriber.written;
+        while (subscriber.sent < written) {
+            int slot = (int) (subscriber.sent % RING_FRAMES);
+            int frames = (int) Math.min(written - subscriber.sent, RING_FRAMES - slot);
+            ByteBuffer view = subscriber.view;
+            view.limit(slot * FRAME_BYTES + frames * FRAME_BYTES);
+            view.position(slot * FRAME_BYTES + subscriber.partial);
+            int bytes = subscriber.channel.write(view);
+            if (bytes < 0) throw new IOException("Viewer closed");
+            int done = subscriber.partial + bytes;
+            subscriber.partial = done % FRAME_BYTES;
+            subscriber.sent += done / FRAME_BYTES;
+            if (view.hasRemaining()) return; // Socket full; the viewer is slow and frames will drop
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        selector.wakeup();
+        serverChannel.close();
+        for (Subscriber subscriber : subscribers) subscriber.channel.close();
+        subscribers.clear();
+    }
+}
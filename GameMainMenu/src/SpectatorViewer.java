@@ -0,0 +1,153 @@
+import java.awt.*;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import javax.swing.*;
+
+/**
+ * Live view of a Flappy Bird run streamed by SpectatorPublisher.
+ *
+ * A reader thread decodes each fixed-size frame into the fields below and repaints; frames the
+ * publisher dropped for this viewer show up as gaps in the sequence number.
+ */
+public class SpectatorViewer extends JPanel {
+    private static final Color PIPE_COLOR = Color.GREEN.darker();
+    private static final Font SCORE_FONT = new Font("Arial", Font.BOLD, 48);
+    private static final Font INFO_FONT = new Font("Arial", Font.BOLD, 16);
+
+    private final SocketChannel channel;
+
+    // Latest frame, guarded by this
+    private int score;
+    private int birdX;
+    private int birdY;
+    private byte state = SpectatorPublisher.WAITING;
+    private boolean turbo;
+    private int pipes;
+    private final int[] pipeX = new int[SpectatorPublisher.MAX_PIPES];
+    private final int[] gapTop = new int[SpectatorPublisher.MAX_PIPES];
+    private final int[] gapBottom = new int[SpectatorPublisher.MAX_PIPES];
+
+    private long framesReceived;
+    private long framesMissed;
+    private int lastSeq;
+    private volatile boolean connected = true;
+    private Image birdImage;
+
+    public SpectatorViewer(String host, int port) throws IOException {
+        channel = SocketChannel.open(new InetSocketAddress(host, port));
+        setPreferredSize(new Dimension(FlappyBird.SCREEN_WIDTH, FlappyBird.SCREEN_HEIGHT));
+        setBackground(Color.CYAN);
+        Thread reader = new Thread(this::readLoop, "spectator-viewer");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    private void readLoop() {
+        ByteBuffer frame = ByteBuffer.allocate(SpectatorPublisher.FRAME_BYTES);
+        try {
+            while (true) {
+                frame.clear();
+                while (frame.hasRemaining()) {
+                    if (channel.read(frame) < 0) throw new EOFException();
+                }
+                frame.flip();
+                decode(frame);
+                repaint();
+            }
+        } catch (IOException e) {
+            connected = false;
+            repaint();
+        }
+    }
+
+    private synchronized void decode(ByteBuffer frame) {
+        int seq = frame.getInt();
+        if (lastSeq != 0 && seq - lastSeq > 1) framesMissed += seq - lastSeq - 1;
+        lastSeq = seq;
+        framesReceived++;
+
+        score = frame.getShort();
+        birdX = frame.getShort();
+        birdY = frame.getShort();
+        frame.getShort(); // Velocity: not drawn, but part of the frame for other consumers
+        state = frame.get();
+        turbo = frame.get() != 0;
+        pipes = frame.get();
+        frame.get();
+        for (int i = 0; i < pipes; i++) {
+            pipeX[i] = frame.getShort();
+            gapTop[i] = frame.getShort();
+            gapBottom[i] = frame.getShort();
+        }
+    }
+
+    @Override
+    protected synchronized void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        int height = FlappyBird.SCREEN_HEIGHT;
+
+        g.setColor(PIPE_COLOR);
+        for (int i = 0; i < pipes; i++) {
+            g.fillRect(pipeX[i], 0, FlappyBird.PIPE_WIDTH, gapTop[i]);
+            g.fillRect(pipeX[i], gapBottom[i], FlappyBird.PIPE_WIDTH, height - gapBottom[i]);
+        }
+
+        if (birdImage == null) {
+            birdImage = AssetManager.getImage(FlappyBird.BIRD_IMAGE, FlappyBird.BIRD_WIDTH, FlappyBird.BIRD_HEIGHT);
+        }
+        if (birdImage != null) {
+            g.drawImage(birdImage, birdX, birdY, this);
+        } else {
+            g.setColor(Color.YELLOW);
+            g.fillRect(birdX, birdY, FlappyBird.BIRD_WIDTH, FlappyBird.BIRD_HEIGHT);
+        }
+
+        g.setColor(Color.WHITE);
+        g.setFont(SCORE_FONT);
+        if (state == SpectatorPublisher.OVER) {
+            g.drawString("Game Over! Score: " + score, FlappyBird.SCREEN_WIDTH / 2 - 260, height / 2);
+        } else if (state == SpectatorPublisher.WAITING) {
+            g.drawString("Waiting for player...", FlappyBird.SCREEN_WIDTH / 2 - 240, height / 2);
+        } else {
+            g.drawString(String.valueOf(score), FlappyBird.SCREEN_WIDTH / 2 - 20, 100);
+        }
+
+        g.setFont(INFO_FONT);
+        String status = connected ? "LIVE" + (turbo ? "  TURBO" : "") : "DISCONNECTED";
+        g.drawString(status + "   frames " + framesReceived + "   missed " + framesMissed, 10, height - 10);
+    }
+
+    @Override
+    public void removeNotify() {
+        super.removeNotify();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Closing anyway
+        }
+    }
+
+    /**
+     * Open a viewer window for the given address, or show why it couldn't connect.
+     */
+    public static void open(Component parent, String host, int port) {
+        try {
+            SpectatorViewer viewer = new SpectatorViewer(host, port);
+            JFrame frame = new JFrame("Flappy Bird - Spectating " + host + ":" + port);
+            frame.add(viewer);
+            frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+            frame.setResizable(false);
+            frame.pack();
+            frame.setLocationRelativeTo(null);
+            frame.setVisible(true);
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(parent,
+                "No Flappy Bird game to watch at " + host + ":" + port + "\n" + e.getMessage(),
+                "Spectate",
+                JOptionPane.WARNING_MESSAGE);
+        }
+    }
+}
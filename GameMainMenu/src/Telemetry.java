@@ -0,0 +1,269 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gameplay telemetry: apples and deaths in Snake, flaps and deaths in Flappy Bird, moves in
+ * 2048, each as one fixed-size binary record. TelemetryAggregator summarizes the logs.
+ *
+ * record only copies four longs into the calling thread's own ring buffer and publishes
+ * them with a release store: no lock, no allocation, no clock read. A daemon thread drains
+ * every buffer FLUSH_MILLIS, encodes the records into one direct buffer and writes the batch
+ * through a FileChannel. When a thread outruns the flusher its buffer fills up and further
+ * records are dropped; the flusher then logs a DROPPED record with the count.
+ *
+ * Logs go to telemetry/telemetry-&lt;millis&gt;-&lt;session&gt;-&lt;n&gt;.bin. A file is closed
+ * at MAX_FILE_BYTES and a new one started; only the newest MAX_FILES are kept.
+ *
+ * File layout, big-endian: a RECORD_BYTES header (magic "GTEL", version, record size,
+ * session id, creation time in epoch ms, 0), then records of
+ * time (long), run (int), game (short), type (short), a, b, c, d (ints).
+ * time is the game's own clock (Snake and Flappy Bird ticks, 2048 moves), except for
+ * RUN_START, RUN_END and DROPPED, which carry the wall clock in epoch milliseconds.
+ */
+public final class Telemetry {
+    // Games
+    public static final int SNAKE = 1;
+    public static final int FLAPPY_BIRD = 2;
+    public static final int GAME_2048 = 3;
+
+    // Record types. Their a, b, c, d:
+    //   RUN_START  -
+    //   RUN_END    score, ticks (2048: moves), 2048 max exponent, 2048 won (1 or 0)
+    //   APPLE      head x, head y (cells), length, apples eaten
+    //   DEATH      cause, x, y, score; Snake: head cell, Flappy Bird: pixels flown, bird height
+    //   FLAP       bird y, vertical speed before the flap
+    //   MOVE       direction, max exponent, score
+    //   DROPPED    records lost since the last DROPPED (run 0, game 0)
+    public static final int RUN_START = 1;
+    public static final int RUN_END = 2;
+    public static final int APPLE = 3;
+    public static final int DEATH = 4;
+    public static final int FLAP = 5;
+    public static final int MOVE = 6;
+    public static final int DROPPED = 7;
+
+    // Death causes
+    public static final int WALL = 1;
+    public static final int BODY = 2;
+    public static final int GROUND = 3;
+    public static final int PIPE = 4;
+
+    static final int MAGIC = 0x4754454C; // "GTEL"
+    static final int VERSION = 1;
+    static final int RECORD_BYTES = 32;
+    static final String DIRECTORY = "telemetry";
+    static final long MAX_FILE_BYTES = 4L * 1024 * 1024;
+    static final int MAX_FILES = 16;
+
+    private static final int BUFFER_RECORDS = 4096; // per thread, a power of two
+    private static final long FLUSH_MILLIS = 250;
+    private static final int BATCH_RECORDS = 2048;
+
+    private static final long SESSION = new Random().nextLong();
+    private static final AtomicInteger RUNS = new AtomicInteger();
+    private static final List<Buffer> BUFFERS = new CopyOnWriteArrayList<>();
+    private static final ThreadLocal<Buffer> LOCAL = ThreadLocal.withInitial(Telemetry::register);
+
+    // Flusher state, guarded by the Telemetry class
+    private static final ByteBuffer BATCH = ByteBuffer.allocateDirect(BATCH_RECORDS * RECORD_BYTES);
+    private static FileChannel file;
+    private static long fileBytes;
+    private static int fileNumber;
+    private static boolean failed;
+
+    static {
+        Thread flusher = new Thread(Telemetry::flushLoop, "telemetry-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        // Standalone games exit right after their window closes; keep the end of the last run
+        Runtime.getRuntime().addShutdownHook(new Thread(Telemetry::flush, "telemetry-flush"));
+    }
+
+    /**
+     * One thread's records, four longs each, written only by that thread and read only by
+     * the flusher.
+     */
+    private static final class Buffer {
+        private static final int MASK = BUFFER_RECORDS - 1;
+
+        final long[] records = new long[BUFFER_RECORDS * 4];
+        final Thread owner = Thread.currentThread();
+        final AtomicLong written = new AtomicLong();
+        volatile long read;
+        volatile long dropped;
+        long reported; // dropped count already logged; flusher only
+        private long next; // owner only
+
+        void add(long time, long head, long ab, long cd) {
+            long slot = next;
+            if (slot - read >= BUFFER_RECORDS) {
+                dropped++;
+                return;
+            }
+            int base = ((int) slot & MASK) * 4;
+            records[base] = time;
+            records[base + 1] = head;
+            records[base + 2] = ab;
+            records[base + 3] = cd;
+            next = slot + 1;
+            written.lazySet(next);
+        }
+    }
+
+    private Telemetry() {
+    }
+
+    private static Buffer register() {
+        Buffer buffer = new Buffer();
+        BUFFERS.add(buffer);
+        return buffer;
+    }
+
+    /**
+     * Start a run of the given game and return its number, for the run's other records.
+     */
+    public static int startRun(int game) {
+        int run = RUNS.incrementAndGet();
+        record(run, game, RUN_START, System.currentTimeMillis(), 0, 0, 0, 0);
+        return run;
+    }
+
+    public static void endRun(int run, int game, int score, int b, int c, int d) {
+        record(run, game, RUN_END, System.currentTimeMillis(), score, b, c, d);
+    }
+
+    /**
+     * Record one event. Never blocks, allocates or reads the clock.
+     */
+    public static void record(int run, int game, int type, long time, int a, int b, int c, int d) {
+        LOCAL.get().add(time,
+            (long) run << 32 | (game & 0xFFFF) << 16 | (type & 0xFFFF),
+            (long) a << 32 | (b & 0xFFFFFFFFL),
+            (long) c << 32 | (d & 0xFFFFFFFFL));
+    }
+
+    /**
+     * Write out everything recorded so far, on the calling thread.
+     */
+    public static synchronized void flush() {
+        drain();
+        if (file != null) {
+            try {
+                file.force(false);
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+    }
+
+    private static void flushLoop() {
+        while (true) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(FLUSH_MILLIS));
+            synchronized (Telemetry.class) {
+                drain();
+            }
+        }
+    }
+
+    /** Move every buffer's published records to the log. Call with the class lock held */
+    private static void drain() {
+        for (Buffer buffer : BUFFERS) {
+            long end = buffer.written.get();
+            for (long slot = buffer.read; slot < end; slot++) {
+                int base = ((int) slot & Buffer.MASK) * 4;
+                BATCH.putLong(buffer.records[base])
+                    .putLong(buffer.records[base + 1])
+                    .putLong(buffer.records[base + 2])
+                    .putLong(buffer.records[base + 3]);
+                if (!BATCH.hasRemaining()) writeBatch();
+            }
+            // The records are copied out; the owner may overwrite them now
+            buffer.read = end;
+
+            long dropped = buffer.dropped;
+            if (dropped != buffer.reported) {
+                BATCH.putLong(System.currentTimeMillis())
+                    .putLong((long) DROPPED & 0xFFFF)
+                    .putLong((dropped - buffer.reported) << 32)
+                    .putLong(0);
+                buffer.reported = dropped;
+                if (!BATCH.hasRemaining()) writeBatch();
+            }
+            if (!buffer.owner.isAlive() && buffer.read == buffer.written.get()) BUFFERS.remove(buffer);
+        }
+        if (BATCH.position() > 0) writeBatch();
+    }
+
+    private static void writeBatch() {
+        BATCH.flip();
+        try {
+            if (!failed) {
+                if (file == null || fileBytes + BATCH.remaining() > MAX_FILE_BYTES) rotate();
+                while (BATCH.hasRemaining()) fileBytes += file.write(BATCH);
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
+        BATCH.clear();
+    }
+
+    /** Close the current log, open the next one with its header and prune old ones */
+    private static void rotate() throws IOException {
+        if (file != null) {
+            file.force(false);
+            file.close();
+        }
+        Path directory = Paths.get(DIRECTORY);
+        Files.createDirectories(directory);
+        long now = System.currentTimeMillis();
+        Path path = directory.resolve(String.format("telemetry-%013d-%016x-%04d.bin", now, SESSION, fileNumber++));
+        file = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(RECORD_BYTES);
+        header.putInt(MAGIC).putShort((short) VERSION).putShort((short) RECORD_BYTES)
+            .putLong(SESSION).putLong(now).putLong(0).flip();
+        while (header.hasRemaining()) file.write(header);
+        fileBytes = RECORD_BYTES;
+        prune(directory);
+    }
+
+    private static void prune(Path directory) throws IOException {
+        List<Path> logs = logFiles(directory);
+        for (int i = 0; i < logs.size() - MAX_FILES; i++) {
+            Files.deleteIfExists(logs.get(i));
+        }
+    }
+
+    /**
+     * The telemetry logs in a directory, oldest first.
+     */
+    static List<Path> logFiles(Path directory) throws IOException {
+        List<Path> logs = new ArrayList<>();
+        if (!Files.isDirectory(directory)) return logs;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "telemetry-*.bin")) {
+            for (Path path : stream) logs.add(path);
+        }
+        Collections.sort(logs);
+        return logs;
+    }
+
+    private static void fail(IOException e) {
+        // Telemetry is optional; stop writing rather than report on every batch
+        System.err.println("Telemetry disabled: " + e.getMessage());
+        failed = true;
+    }
+}
@@ -0,0 +1,185 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Summarizes the Telemetry logs: runs per game, how Snake and Flappy Bird runs end, apples,
+ * flaps, 2048 moves and best tiles. Every log in the directory is read, oldest first,
+ * through one reused buffer and folded into counters, so any amount of logs is summarized
+ * in the same memory. A record cut off at the end of a log (the game was killed mid-write)
+ * is skipped.
+ *
+ * Usage: java TelemetryAggregator [--dir DIR]
+ */
+public class TelemetryAggregator {
+    private static final String[] GAME_NAMES = {"?", "Snake", "Flappy Bird", "2048"};
+    private static final String[] CAUSES = {"?", "wall", "body", "ground", "pipe"};
+    private static final int HEIGHT_BANDS = 6; // Flappy Bird deaths by height, 100 px each
+
+    private final long[] started = new long[GAME_NAMES.length];
+    private final long[] finished = new long[GAME_NAMES.length];
+    private final long[] totalScore = new long[GAME_NAMES.length];
+    private final int[] bestScore = new int[GAME_NAMES.length];
+    private final long[] totalTicks = new long[GAME_NAMES.length];
+    private final long[][] deaths = new long[GAME_NAMES.length][CAUSES.length];
+    private long apples;
+    private long flaps;
+    private long flappyDistance;
+    private final long[] deathHeights = new long[HEIGHT_BANDS];
+    private long moves;
+    private long wins;
+    private final long[] bestTiles = new long[32]; // finished 2048 runs by max exponent
+    private long records;
+    private long dropped;
+    private long unknown;
+    private final Set<Long> sessions = new HashSet<>();
+
+    public static void main(String[] args) throws IOException {
+        String directory = Telemetry.DIRECTORY;
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--dir": directory = value; i++; break;
+                default:
+                    System.err.println("Unknown argument: " + args[i]);
+                    System.err.println("Usage: java TelemetryAggregator [--dir DIR]");
+                    System.exit(1);
+            }
+        }
+
+        List<Path> logs = Telemetry.logFiles(Paths.get(directory));
+        if (logs.isEmpty()) {
+            System.err.println("No telemetry logs in " + directory);
+            System.exit(1);
+        }
+        TelemetryAggregator aggregator = new TelemetryAggregator();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(2048 * Telemetry.RECORD_BYTES);
+        long bytes = 0;
+        long start = System.nanoTime();
+        for (Path log : logs) {
+            bytes += aggregator.read(log, buffer);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf(Locale.ROOT, "%d logs, %.1f MB, %d records from %d sessions in %.2f s%n",
+            logs.size(), bytes / 1e6, aggregator.records, aggregator.sessions.size(), seconds);
+        aggregator.print();
+    }
+
+    /** Fold one log into the counters; returns its size in bytes */
+    private long read(Path log, ByteBuffer buffer) throws IOException {
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.READ)) {
+            buffer.clear().limit(Telemetry.RECORD_BYTES);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) { }
+            buffer.flip();
+            if (buffer.remaining() < Telemetry.RECORD_BYTES || buffer.getInt() != Telemetry.MAGIC
+                    || buffer.getShort() != Telemetry.VERSION || buffer.getShort() != Telemetry.RECORD_BYTES) {
+                System.err.println("Skipping " + log + ": not a telemetry log");
+                return 0;
+            }
+            sessions.add(buffer.getLong());
+
+            buffer.clear();
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                while (buffer.remaining() >= Telemetry.RECORD_BYTES) {
+                    add(buffer.getLong(), buffer.getInt(), buffer.getShort(), buffer.getShort(),
+                        buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt());
+                }
+                buffer.compact();
+            }
+            return channel.size();
+        }
+    }
+
+    private void add(long time, int run, int game, int type, int a, int b, int c, int d) {
+        records++;
+        if (type == Telemetry.DROPPED) {
+            dropped += a;
+            return;
+        }
+        if (game <= 0 || game >= GAME_NAMES.length) {
+            unknown++;
+            return;
+        }
+        switch (type) {
+            case Telemetry.RUN_START:
+                started[game]++;
+                break;
+            case Telemetry.RUN_END:
+                finished[game]++;
+                totalScore[game] += a;
+                bestScore[game] = Math.max(bestScore[game], a);
+                totalTicks[game] += b;
+                if (game == Telemetry.GAME_2048) {
+                    bestTiles[Math.min(c, bestTiles.length - 1)]++;
+                    wins += d;
+                }
+                break;
+            case Telemetry.APPLE:
+                apples++;
+                break;
+            case Telemetry.DEATH:
+                deaths[game][a > 0 && a < CAUSES.length ? a : 0]++;
+                if (game == Telemetry.FLAPPY_BIRD) {
+                    flappyDistance += b;
+                    deathHeights[Math.max(0, Math.min(HEIGHT_BANDS - 1, c / 100))]++;
+                }
+                break;
+            case Telemetry.FLAP:
+                flaps++;
+                break;
+            case Telemetry.MOVE:
+                moves++;
+                break;
+            default:
+                unknown++;
+        }
+    }
+
+    private void print() {
+        for (int game = 1; game < GAME_NAMES.length; game++) {
+            if (started[game] == 0 && finished[game] == 0) continue;
+            long runs = Math.max(1, finished[game]);
+            System.out.printf(Locale.ROOT, "%n%s: %d runs started, %d finished, avg score %.1f, best %d, avg %.0f %s per run%n",
+                GAME_NAMES[game], started[game], finished[game], (double) totalScore[game] / runs, bestScore[game],
+                (double) totalTicks[game] / runs, game == Telemetry.GAME_2048 ? "moves" : "ticks");
+            switch (game) {
+                case Telemetry.SNAKE:
+                    System.out.printf(Locale.ROOT, "  %d apples; deaths: %d wall, %d body%n",
+                        apples, deaths[game][Telemetry.WALL], deaths[game][Telemetry.BODY]);
+                    break;
+                case Telemetry.FLAPPY_BIRD:
+                    long died = Math.max(1, deaths[game][Telemetry.GROUND] + deaths[game][Telemetry.PIPE]);
+                    System.out.printf(Locale.ROOT, "  %d flaps, one every %.1f ticks; deaths: %d ground, %d pipe, avg %.0f px flown%n",
+                        flaps, flaps == 0 ? 0.0 : (double) totalTicks[game] / flaps,
+                        deaths[game][Telemetry.GROUND], deaths[game][Telemetry.PIPE], (double) flappyDistance / died);
+                    StringBuilder heights = new StringBuilder("  deaths by height:");
+                    for (int band = 0; band < HEIGHT_BANDS; band++) {
+                        heights.append(' ').append(band * 100).append(band == HEIGHT_BANDS - 1 ? "+" : "-" + (band * 100 + 99))
+                            .append(" px ").append(deathHeights[band]).append(band == HEIGHT_BANDS - 1 ? "" : ",");
+                    }
+                    System.out.println(heights);
+                    break;
+                case Telemetry.GAME_2048:
+                    System.out.printf(Locale.ROOT, "  %d moves, %d wins%n", moves, wins);
+                    StringBuilder tiles = new StringBuilder("  best tile per finished run:");
+                    for (int exponent = 1; exponent < bestTiles.length; exponent++) {
+                        if (bestTiles[exponent] > 0) tiles.append(' ').append(1L << exponent).append(" x").append(bestTiles[exponent]);
+                    }
+                    System.out.println(tiles);
+                    break;
+            }
+        }
+        if (dropped > 0 || unknown > 0) {
+            System.out.printf(Locale.ROOT, "%n%d records dropped by busy threads, %d unknown records skipped%n", dropped, unknown);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+import java.util.Arrays;
+
+/**
+ * Where every tile of a 2048 board went in one move, for Game2048_GUI to animate. Filled by
+ * Board2048.move(direction, moves) from the board as it was before the move; cells are
+ * numbered row * size + col.
+ *
+ * The arrays are sized for the largest board and reused from move to move, so recording a
+ * move allocates nothing.
+ */
+public final class TileMoves {
+    static final int MAX_CELLS = Board2048.MAX_SIZE * Board2048.MAX_SIZE;
+
+    // One entry per tile on the board before the move, including tiles that stay put
+    final int[] fromCell = new int[MAX_CELLS];
+    final int[] toCell = new int[MAX_CELLS];
+    final int[] exponent = new int[MAX_CELLS];
+    int count;
+
+    // By cell: two tiles merged into this cell
+    final boolean[] merged = new boolean[MAX_CELLS];
+
+    // Cell of the tile added after the move, or -1
+    int spawnCell = -1;
+
+    void clear() {
+        count = 0;
+        Arrays.fill(merged, false);
+        spawnCell = -1;
+    }
+
+    void add(int from, int to, int tileExponent) {
+        fromCell[count] = from;
+        toCell[count] = to;
+        exponent[count] = tileExponent;
+        count++;
+    }
+}
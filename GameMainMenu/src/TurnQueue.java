@@ -0,0 +1,79 @@
+/**
+ * Turns typed by the player, waiting for the game tick that applies them.
+ *
+ * The key listener offers each turn with the time it was pressed; every tick takes at most
+ * one turn, so two keys pressed inside one tick steer the snake on two consecutive ticks
+ * instead of the second overwriting the first. A turn is checked against the direction the
+ * snake is actually moving when it is taken, which is what stops a quick U-then-L (while
+ * moving right) from ever reversing the snake into itself.
+ *
+ * Single producer, single consumer, lock-free: each side only writes its own index.
+ * Bounded at CAPACITY turns; a full queue drops the newest key.
+ */
+final class TurnQueue {
+    static final int CAPACITY = 8;
+    private static final int MASK = CAPACITY - 1;
+
+    private final char[] turns = new char[CAPACITY];
+    private final long[] pressedAt = new long[CAPACITY];
+    private volatile long written;
+    private volatile long read;
+    private long lastPressedAt;
+    private long dropped;
+
+    /**
+     * Queue a turn ('U', 'D', 'L' or 'R') pressed at the given System.nanoTime.
+     * Returns false if the queue was full and the turn was dropped.
+     */
+    boolean offer(char turn, long nanos) {
+        long slot = written;
+        if (slot - read >= CAPACITY) {
+            dropped++;
+            return false;
+        }
+        turns[(int) slot & MASK] = turn;
+        pressedAt[(int) slot & MASK] = nanos;
+        written = slot + 1;
+        return true;
+    }
+
+    /**
+     * The next queued turn that changes the given direction, or 0 if there is none.
+     * Repeats and reversals of the current direction are discarded on the way.
+     */
+    char next(char direction) {
+        long slot = read;
+        long end = written;
+        char turn = 0;
+        while (slot < end && turn == 0) {
+            char candidate = turns[(int) slot & MASK];
+            if (candidate != direction && candidate != opposite(direction)) {
+                turn = candidate;
+                lastPressedAt = pressedAt[(int) slot & MASK];
+            }
+            slot++;
+        }
+        read = slot;
+        return turn;
+    }
+
+    /** When the turn last returned by next was pressed, in System.nanoTime */
+    long lastPressedAt() {
+        return lastPressedAt;
+    }
+
+    /** Turns dropped because the queue was full */
+    long getDropped() {
+        return dropped;
+    }
+
+    static char opposite(char direction) {
+        switch (direction) {
+            case 'U': return 'D';
+            case 'D': return 'U';
+            case 'L': return 'R';
+            case 'R': return 'L';
+            default: return 0;
+        }
+    }
+}
@@ -0,0 +1,296 @@
+import java.awt.*;
+import java.awt.event.*;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import javax.swing.*;
+
+/**
+ * Snake on a SnakeWorld far bigger than the window, with a camera that follows the head.
+ * Uses the same speed, controls and growth rules as GamePanel.
+ */
+class WorldPanel extends JPanel implements ActionListener {
+    static final int WORLD_SIZE = 2000;
+    static final int APPLES_PER_CHUNK = 32;
+    static final int VIEW_CELLS = SnakeSimulation.SCREEN_WIDTH / SnakeSimulation.UNIT_SIZE;
+    private static final int UNIT_SIZE = SnakeSimulation.UNIT_SIZE;
+    private static final Color GRID_COLOR = new Color(40, 40, 40);
+    private static final Color BODY_COLOR = new Color(45, 180, 0);
+    private static final Font SCORE_FONT = new Font("Arial", Font.BOLD, 40);
+    private static final Font POSITION_FONT = new Font("Arial", Font.PLAIN, 14);
+
+    private final SnakeWorld world = new SnakeWorld(WORLD_SIZE, WORLD_SIZE);
+
+    // Body as a ring buffer of cell indices, head at bodyHead, tail bodyParts - 1 slots behind
+    private int[] body = new int[1024];
+    private int bodyHead;
+    int bodyParts = 6;
+    int applesEaten = 0;
+    char direction = 'R';
+    boolean running = false;
+    private int cameraX;
+    private int cameraY;
+    Timer timer;
+    Random random;
+    private final TurnQueue turns = new TurnQueue();
+    private final GameMetrics metrics = GameMetrics.forGame("Snake");
+    private long lastTickStart;
+    private final PerfOverlay overlay = new PerfOverlay();
+    private final Renderer renderer = new Renderer();
+
+    WorldPanel() {
+        random = new Random();
+        this.setPreferredSize(new Dimension(SnakeSimulation.SCREEN_WIDTH, SnakeSimulation.SCREEN_HEIGHT));
+        this.setBackground(Color.black);
+        this.setFocusable(true);
+        this.addKeyListener(new MyKeyAdapter());
+        overlay.installToggle(this, this);
+        startGame();
+    }
+
+    public void startGame() {
+        for (int chunkY = 0; chunkY < world.getChunksY(); chunkY++) {
+            for (int chunkX = 0; chunkX < world.getChunksX(); chunkX++) {
+                for (int i = 0; i < APPLES_PER_CHUNK; i++) {
+                    world.placeApple(chunkX, chunkY, random);
+                }
+            }
+        }
+
+        // Start in the middle of the world, body trailing to the left
+        int startX = WORLD_SIZE / 2;
+        int startY = WORLD_SIZE / 2;
+        for (int i = bodyParts - 1; i >= 0; i--) {
+            int x = startX - i;
+            world.set(x, startY, SnakeWorld.SNAKE);
+            bodyHead = (bodyHead + 1) & (body.length - 1);
+            body[bodyHead] = startY * WORLD_SIZE + x;
+        }
+        updateCamera();
+
+        running = true;
+        GameEventBus.runStarted("Snake");
+        timer = new Timer(GamePanel.DELAY, this);
+        timer.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        super.removeNotify();
+        // A disposed window's timer keeps firing; stop it so the abandoned run never ends as a score
+        timer.stop();
+    }
+
+    private int segment(int i) {
+        return body[(bodyHead - i) & (body.length - 1)];
+    }
+
+    private void growBody() {
+        int[] grown = new int[body.length * 2];
+        for (int i = 0; i < bodyParts; i++) {
+            grown[(bodyParts - 1 - i)] = segment(i);
+        }
+        body = grown;
+        bodyHead = bodyParts - 1;
+    }
+
+    public void move() {
+        int head = segment(0);
+        int x = head % WORLD_SIZE;
+        int y = head / WORLD_SIZE;
+        switch (direction) {
+            case 'U': y--; break;
+            case 'D': y++; break;
+            case 'L': x--; break;
+            case 'R': x++; break;
+        }
+
+        if (!world.contains(x, y)) {
+            gameOver();
+            return;
+        }
+
+        byte target = world.get(x, y);
+        if (target == SnakeWorld.APPLE) {
+            if (bodyParts == body.length) growBody();
+            bodyParts++;
+            applesEaten++;
+            world.placeApple(x >> SnakeWorld.CHUNK_SHIFT, y >> SnakeWorld.CHUNK_SHIFT, random);
+        } else {
+            // As in GamePanel, the cell the tail is leaving still counts as body
+            if (target == SnakeWorld.SNAKE) {
+                gameOver();
+                return;
+            }
+            int tail = segment(bodyParts - 1);
+            world.set(tail % WORLD_SIZE, tail / WORLD_SIZE, SnakeWorld.EMPTY);
+        }
+
+        world.set(x, y, SnakeWorld.SNAKE);
+        bodyHead = (bodyHead + 1) & (body.length - 1);
+        body[bodyHead] = y * WORLD_SIZE + x;
+        updateCamera();
+    }
+
+    private void gameOver() {
+        running = false;
+        timer.stop();
+        GameEventBus.runFinished("Snake", applesEaten);
+    }
+
+    private void updateCamera() {
+        int head = segment(0);
+        cameraX = camera(head % WORLD_SIZE);
+        cameraY = camera(head / WORLD_SIZE);
+    }
+
+    /** The first column (or row) in view, putting the head in the middle where the world allows */
+    static int camera(int head) {
+        return clamp(head - VIEW_CELLS / 2, 0, WORLD_SIZE - VIEW_CELLS);
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    public void paintComponent(Graphics g) {
+        long paintStart = metrics.beginPaint(g);
+        super.paintComponent(g);
+        draw(g);
+        overlay.onFrame();
+        overlay.draw(g, 5, 5);
+        metrics.endPaint(paintStart);
+    }
+
+    public void draw(Graphics g) {
+        renderer.draw((Graphics2D) g, world, cameraX, cameraY, segment(0), applesEaten, running);
+    }
+
+    /**
+     * Draws the view of a SnakeWorld around the camera. Like GamePanel.Renderer it keeps
+     * colors, fonts, the apple and text pictures, so a frame allocates nothing;
+     * RenderAllocationCheck holds it to that.
+     */
+    static final class Renderer {
+        private static final Font GAME_OVER_FONT = new Font("Arial", Font.BOLD, 75);
+        private static final String GAME_OVER = "Game Over";
+
+        private final NumberText score = new NumberText(SCORE_FONT, "Score: ");
+        // The position is in a second font, so it is drawn from pictures: "(x", ", y" and ")"
+        private final NumberText positionX = new NumberText(POSITION_FONT, "(");
+        private final NumberText positionY = new NumberText(POSITION_FONT, ", ");
+        private BufferedImage positionEnd;
+        private BufferedImage apple;
+        private BufferedImage gameOver;
+
+        /**
+         * @param head the head's cell, y * world width + x
+         */
+        void draw(Graphics2D g, SnakeWorld world, int cameraX, int cameraY, int head, int applesEaten, boolean running) {
+            if (!running) {
+                gameOver(g, applesEaten);
+                return;
+            }
+
+            // Grid lines
+            g.setColor(GRID_COLOR);
+            for (int i = 0; i < VIEW_CELLS; i++) {
+                g.drawLine(i * UNIT_SIZE, 0, i * UNIT_SIZE, SnakeSimulation.SCREEN_HEIGHT);
+                g.drawLine(0, i * UNIT_SIZE, SnakeSimulation.SCREEN_WIDTH, i * UNIT_SIZE);
+            }
+
+            if (apple == null) apple = GamePanel.Renderer.appleImage(g, UNIT_SIZE);
+            // Only the chunks overlapping the viewport are visited
+            int lastX = cameraX + VIEW_CELLS - 1;
+            int lastY = cameraY + VIEW_CELLS - 1;
+            g.setColor(BODY_COLOR);
+            for (int chunkY = cameraY >> SnakeWorld.CHUNK_SHIFT; chunkY <= lastY >> SnakeWorld.CHUNK_SHIFT; chunkY++) {
+                for (int chunkX = cameraX >> SnakeWorld.CHUNK_SHIFT; chunkX <= lastX >> SnakeWorld.CHUNK_SHIFT; chunkX++) {
+                    byte[] cells = world.chunk(chunkX, chunkY);
+                    int originX = chunkX << SnakeWorld.CHUNK_SHIFT;
+                    int originY = chunkY << SnakeWorld.CHUNK_SHIFT;
+                    int fromX = Math.max(cameraX, originX);
+                    int toX = Math.min(lastX, originX + SnakeWorld.CHUNK_SIZE - 1);
+                    int fromY = Math.max(cameraY, originY);
+                    int toY = Math.min(lastY, originY + SnakeWorld.CHUNK_SIZE - 1);
+
+                    for (int y = fromY; y <= toY; y++) {
+                        int rowStart = (y - originY) << SnakeWorld.CHUNK_SHIFT;
+                        for (int x = fromX; x <= toX; x++) {
+                            byte cell = cells[rowStart + (x - originX)];
+                            if (cell == SnakeWorld.EMPTY) continue;
+                            int screenX = (x - cameraX) * UNIT_SIZE;
+                            int screenY = (y - cameraY) * UNIT_SIZE;
+                            if (cell == SnakeWorld.APPLE) {
+                                // An image, since fillOval allocates a shape on every call
+                                g.drawImage(apple, screenX, screenY, null);
+                            } else {
+                                g.fillRect(screenX, screenY, UNIT_SIZE, UNIT_SIZE);
+                            }
+                        }
+                    }
+                }
+            }
+
+            // Head on top of the body
+            int width = world.getWidth();
+            int headX = head % width;
+            int headY = head / width;
+            g.setColor(Color.green);
+            g.fillRect((headX - cameraX) * UNIT_SIZE, (headY - cameraY) * UNIT_SIZE, UNIT_SIZE, UNIT_SIZE);
+
+            // World border when the camera reaches it
+            g.setColor(Color.gray);
+            if (cameraX == 0) g.fillRect(0, 0, 3, SnakeSimulation.SCREEN_HEIGHT);
+            if (cameraY == 0) g.fillRect(0, 0, SnakeSimulation.SCREEN_WIDTH, 3);
+            if (cameraX == width - VIEW_CELLS) g.fillRect(SnakeSimulation.SCREEN_WIDTH - 3, 0, 3, SnakeSimulation.SCREEN_HEIGHT);
+            if (cameraY == world.getHeight() - VIEW_CELLS) g.fillRect(0, SnakeSimulation.SCREEN_HEIGHT - 3, SnakeSimulation.SCREEN_WIDTH, 3);
+
+            // Score and position
+            g.setColor(Color.red);
+            score.drawCentered(g, applesEaten, SnakeSimulation.SCREEN_WIDTH / 2, SCORE_FONT.getSize());
+            g.setColor(Color.white);
+            int x = 10;
+            int baseline = SnakeSimulation.SCREEN_HEIGHT - 10;
+            positionX.drawAsImage(g, headX, x, baseline);
+            x += positionX.width(g, headX);
+            positionY.drawAsImage(g, headY, x, baseline);
+            x += positionY.width(g, headY);
+            if (positionEnd == null) positionEnd = GamePanel.Renderer.textImage(g, POSITION_FONT, ")");
+            g.drawImage(positionEnd, x, baseline - g.getFontMetrics(POSITION_FONT).getAscent(), null);
+        }
+
+        private void gameOver(Graphics2D g, int applesEaten) {
+            g.setColor(Color.red);
+            if (gameOver == null) gameOver = GamePanel.Renderer.textImage(g, GAME_OVER_FONT, GAME_OVER);
+            g.drawImage(gameOver, (SnakeSimulation.SCREEN_WIDTH - gameOver.getWidth()) / 2,
+                SnakeSimulation.SCREEN_HEIGHT / 2 - g.getFontMetrics(GAME_OVER_FONT).getAscent(), null);
+
+            score.drawCentered(g, applesEaten, SnakeSimulation.SCREEN_WIDTH / 2, SCORE_FONT.getSize() * 2);
+        }
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        long tickStart = metrics.beginTick(lastTickStart, GamePanel.DELAY);
+        lastTickStart = tickStart;
+        overlay.onTick();
+        if (running) {
+            char turn = turns.next(direction);
+            if (turn != 0) {
+                direction = turn;
+                metrics.recordInput(turns.lastPressedAt());
+            }
+            move();
+        }
+        repaint();
+        metrics.endTick(tickStart);
+    }
+
+    public class MyKeyAdapter extends KeyAdapter {
+        @Override
+        public void keyPressed(KeyEvent e) {
+            char turn = GamePanel.turnFor(e.getKeyCode());
+            if (turn != 0) turns.offer(turn, System.nanoTime());
+        }
+    }
+}